@@ -1,6 +1,7 @@
 package com.github.nidorx.jia.ga;
 
-import com.github.nidorx.jia.ga.decoder.DecoderDnaLayers;
+import com.github.nidorx.jia.ga.remote.RemoteMaster;
+import com.github.nidorx.jia.ga.remote.RemoteWorker;
 import com.github.nidorx.jia.ga.selection.SelectionElite;
 import com.github.nidorx.jia.ga.selection.SelectionStochasticUniversalSampling;
 import com.github.nidorx.jia.ga.storage.Info;
@@ -13,11 +14,19 @@ import com.github.nidorx.jia.mlp.Network;
 import com.github.nidorx.jia.mlp.Output;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -62,6 +71,11 @@ public abstract class Algorithm {
      */
     private int countExecuted;
 
+    /**
+     * Indica que a triagem (screening) da geração atual já foi finalizada e os melhores indivíduos foram promovidos
+     */
+    private boolean screened;
+
     /**
      * Lista de erros ocorridos durante a execução do algoritmo
      */
@@ -72,6 +86,51 @@ public abstract class Algorithm {
      */
     private final List<Callback> stopCallbacks = new ArrayList<>();
 
+    /**
+     * Lista de listeners que serão invocados sempre que finalizar a execução de uma geração
+     */
+    private final List<Consumer<Population>> generationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Indivíduos recebidos de outro GA (ex. {@link Islands}), serão adicionados na próxima geração
+     */
+    private final Queue<Chromosome> immigrants = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Cache da aptidão dos cromossomos já executados, criado somente quando {@link #getFitnessCacheSize()} > 0
+     */
+    private FitnessCache fitnessCache;
+
+    /**
+     * Modelo substituto da função de aptidão, criado somente quando {@link #getSurrogateSelection()} < 1
+     */
+    private FitnessSurrogate surrogate;
+
+    /**
+     * Indivíduos já executados, usados na reprodução do modo steady-state
+     */
+    private List<Individual> steadyPool;
+
+    /**
+     * Geração atual do modo steady-state. Uma geração equivale a execução de {@link #getPopulationSize()} indivíduos
+     */
+    private int steadyGeneration;
+
+    /**
+     * Quantidade de indivíduos executados na geração atual do modo steady-state
+     */
+    private int steadyExecuted;
+
+    /**
+     * Quantidade de indivíduos em execução no modo steady-state
+     */
+    private int steadyRunning;
+
+    /**
+     * Racing da geração atual, null quando desabilitado
+     */
+    private volatile Racing racing;
+
     /**
      * O mapeamento das entradas da Rede Neural
      *
@@ -103,6 +162,23 @@ public abstract class Algorithm {
      */
     public abstract double run(Input input, Output output) throws Throwable;
 
+    /**
+     * A execução do algoritmo, com suporte a informação do fitness parcial via
+     * {@link Evaluation#report(double, double)}, usado no racing ({@link #getRacingQuantile()})
+     *
+     * A implementação padrão executa o {@link #run(Input, Output)}, deve ser sobrescrito pelos algoritmos que usam o
+     * contexto da execução
+     *
+     * @param input Input da Rede Neural do Cromossomo sendo executado
+     * @param output Output da Rede Neural do Cromossomo sendo executado
+     * @param evaluation Contexto da execução
+     * @return O fitness (aptidão) do Cromossomo executado
+     * @throws java.lang.Throwable
+     */
+    public double run(Input input, Output output, Evaluation evaluation) throws Throwable {
+        return run(input, output);
+    }
+
     /**
      * A probabilidade de cruzamento dos individuos do GA
      *
@@ -121,6 +197,188 @@ public abstract class Algorithm {
         return Mutation.PM;
     }
 
+    /**
+     * Quantidade máxima de cromossomos mantidos no cache de aptidão (fitness), 0 para desabilitar (padrão)
+     *
+     * Com o cache habilitado, cromossomos já executados (ex. selecionados por elitismo) não são executados novamente,
+     * recebendo a aptidão obtida anteriormente. Só deve ser habilitado quando a função de aptidão
+     * {@link #run(Input, Output)} é determinística.
+     *
+     * O cache é persistido via {@link Storage#saveFitnessCache(Info)}, quando suportado pelo Storage.
+     *
+     * @return
+     */
+    public int getFitnessCacheSize() {
+        return 0;
+    }
+
+    /**
+     * Habilita o modo de execução steady-state (sem barreira entre gerações)
+     *
+     * No modo padrão (geracional) a nova população só é gerada após a execução de todos os indivíduos da população
+     * atual. No modo steady-state, assim que a execução de qualquer indivíduo finaliza, um novo descendente é gerado
+     * (via {@link #getOffspring(List)}) a partir dos indivíduos já executados e enviado para execução, mantendo todas as
+     * threads ocupadas. O pior indivíduo é removido sempre que o tamanho da população é ultrapassado.
+     *
+     * Os dados são persistidos a cada {@link #getPopulationSize()} indivíduos executados. Indivíduos com erro de
+     * execução são descartados (e registrados no log), sem interromper a reprodução.
+     *
+     * @return
+     */
+    public boolean isSteadyState() {
+        return false;
+    }
+
+    /**
+     * Quantil mínimo do fitness parcial para que um indivíduo continue em execução (racing), 0 para desabilitar
+     * (padrão)
+     *
+     * Com o racing habilitado, o fitness parcial informado via {@link Evaluation#report(double, double)} é comparado
+     * com o dos últimos {@link #getPopulationSize()} indivíduos que atingiram o mesmo progresso. O indivíduo é abortado
+     * quando o seu fitness parcial é menor que o quantil definido (ex. 0.5 mantém somente a metade superior, similar ao
+     * successive halving), recebendo o último fitness parcial como fitness.
+     *
+     * @return
+     */
+    public double getRacingQuantile() {
+        return 0;
+    }
+
+    /**
+     * Quantidade mínima de indivíduos que devem atingir um mesmo progresso antes que o racing possa abortar algum
+     * indivíduo
+     *
+     * @return
+     */
+    public int getRacingMinSamples() {
+        return 5;
+    }
+
+    /**
+     * Fidelidade da execução dos indivíduos da geração informada, entre 0 e 1 (padrão 1 = conjunto de dados completo)
+     *
+     * Permite uma avaliação progressiva (multi-fidelidade), onde as primeiras gerações são executadas sobre uma
+     * amostra do conjunto de dados e a fidelidade aumenta com o avanço do GA. O valor é repassado ao
+     * {@link #run(Input, Output, Evaluation)} via {@link Evaluation#getFidelity()}, cabe ao algoritmo usar a fração
+     * correspondente dos dados e retornar o fitness na mesma escala em qualquer fidelidade.
+     *
+     * Somente os resultados com fidelidade 1 são armazenados no cache de aptidão.
+     *
+     * @param generation
+     * @return
+     */
+    public double getFidelity(int generation) {
+        return 1.0;
+    }
+
+    /**
+     * Fidelidade usada na triagem (screening) dos indivíduos, 1 para desabilitar (padrão)
+     *
+     * Quando menor que 1, no modo geracional, todos os indivíduos são executados primeiro nesta fidelidade e somente
+     * a fração {@link #getScreeningPromotion()} com os melhores resultados é executada novamente na fidelidade
+     * {@link #getFidelity(int)}. Os demais indivíduos mantém o fitness obtido na triagem.
+     *
+     * @return
+     */
+    public double getScreeningFidelity() {
+        return 1.0;
+    }
+
+    /**
+     * Fração dos indivíduos com melhor resultado na triagem que são promovidos para a execução na fidelidade da
+     * geração
+     *
+     * @see #getScreeningFidelity()
+     * @return
+     */
+    public double getScreeningPromotion() {
+        return 0.2;
+    }
+
+    /**
+     * Fração dos novos descendentes que são executados, de acordo com a aptidão estimada pelo
+     * {@link FitnessSurrogate}, 1 para desabilitar (padrão)
+     *
+     * Quando menor que 1, um modelo substituto é treinado com todos os indivíduos executados. No modo geracional, após
+     * {@link #getSurrogateMinSamples()} amostras, somente os descendentes com melhor aptidão estimada (e a cota de
+     * exploração {@link #getSurrogateExploration()}) são executados, os demais recebem a aptidão estimada
+     * ({@link Individual#isPredicted()}).
+     *
+     * @return
+     */
+    public double getSurrogateSelection() {
+        return 1.0;
+    }
+
+    /**
+     * Fração dos descendentes descartados pelo surrogate que são executados mesmo assim, escolhidos aleatoriamente,
+     * evitando que o modelo fique restrito às regiões que já conhece
+     *
+     * @return
+     */
+    public double getSurrogateExploration() {
+        return 0.1;
+    }
+
+    /**
+     * Quantidade mínima de indivíduos executados antes que o surrogate seja usado para descartar descendentes
+     *
+     * @return
+     */
+    public int getSurrogateMinSamples() {
+        return getPopulationSize() * 2;
+    }
+
+    /**
+     * Permite distribuir a execução dos indivíduos entre várias JVMs/máquinas
+     *
+     * Quando informado, os cromossomos são enviados aos {@link RemoteWorker} conectados ao master, que executam o
+     * {@link #run(Input, Output)} e devolvem o fitness. Quando null (padrão), os indivíduos são executados localmente.
+     *
+     * @return
+     */
+    public RemoteMaster getRemoteMaster() {
+        return null;
+    }
+
+    /**
+     * Semente dos geradores aleatórios usados na criação das populações, null para não reproduzível (padrão)
+     *
+     * Quando definida, a população inicial e os descendentes gerados a partir de uma mesma população são sempre os
+     * mesmos, independente da quantidade de threads. No modo steady-state a ordem de finalização das execuções também
+     * define os descendentes, portanto o resultado não é reproduzível.
+     *
+     * @return
+     */
+    public Long getSeed() {
+        return null;
+    }
+
+    /**
+     * Topologia fixa da Rede Neural, null para evoluir também a estrutura da rede (padrão)
+     *
+     * Quando definida, todos os indivíduos possuem a mesma topologia e somente os pesos e bias são evoluídos. A
+     * topologia deve possuir a mesma quantidade de entradas e saídas do {@link #getInputNames()} e
+     * {@link #getOutputNames()}.
+     *
+     * @return
+     */
+    public Topology getTopology() {
+        return null;
+    }
+
+    /**
+     * Semente derivada do {@link #getSeed()} para uma etapa da criação da geração informada
+     *
+     * @param generation
+     * @param stage
+     * @return A semente, ou null quando não definida
+     */
+    private Long seedOf(int generation, int stage) {
+        final Long seed = getSeed();
+        return seed == null ? null : JiaUtils.seed(JiaUtils.seed(seed, generation), stage);
+    }
+
     /**
      * Obtém o tamanho da população definida para execução do algoritmo.
      *
@@ -166,6 +424,10 @@ public abstract class Algorithm {
      *
      * IMPORTATE! Os itens duplicados serão substituidos pelo GA
      *
+     * Os descendentes (cruzamento e mutação) são gerados em paralelo, cada um com um gerador aleatório próprio derivado
+     * do {@link #getSeed()}, quando definido. A seleção também usa um gerador próprio, o gerador aleatório da thread
+     * atual não é alterado.
+     *
      * @param actualPopulation A população atual
      * @return Os genes da proxima geração
      */
@@ -173,11 +435,59 @@ public abstract class Algorithm {
 
         final int size = getPopulationSize();
         final int selectionSize = (int) (size * 0.7);
-        final List<Individual> selection = new ArrayList<>();
+        final int generation = population == null ? 0 : population.generation + 1;
 
         // ------------------------------- 
         // [Seleção]
         // -------------------------------
+        final Long seed = seedOf(generation, 1);
+        final List<Individual> selection = seed == null
+                ? select(actualPopulation, selectionSize)
+                : JiaUtils.with(new Random(seed), () -> select(actualPopulation, selectionSize));
+
+        final String[] inputNames = getInputNames();
+        final String[] outputNames = getOutputNames();
+
+        // -------------------------------
+        //  [Cruzamento]
+        // -------------------------------
+        // efetuar 6 ou 20% cruzamento de pais aleatórios
+        final List<Individual> parents = new ArrayList<>(selection);
+        selection.addAll(JiaUtils.parallel((int) Math.max(4, selectionSize * 0.2), seedOf(generation, 2), i -> {
+            final Individual dad = parents.get(JiaUtils.between(0, parents.size() - 1));
+            final Individual mom = parents.get(JiaUtils.between(0, parents.size() - 1));
+            return new Individual(Crossover.random(dad.chromosome, mom.chromosome), inputNames, outputNames);
+        }));
+
+        // -------------------------------
+        //  [Mutação]
+        // -------------------------------
+        //  gerar 2 clones mutantes dos 2 mais bem adaptados e, até obter o tamanho esperado, mutantes de indivíduos
+        //  aleatórios
+        final Chromosome firstChromosome = selection.get(0).chromosome;
+        final Chromosome secondChromosome = selection.get(1).chromosome;
+        final List<Individual> breeders = new ArrayList<>(selection);
+        final int mutants = Math.max(4, selectionSize - selection.size());
+        selection.addAll(JiaUtils.parallel(mutants, seedOf(generation, 3), i -> {
+            final Chromosome chromosome = i < 2
+                    ? firstChromosome
+                    : i < 4 ? secondChromosome : breeders.get(JiaUtils.between(0, breeders.size() - 1)).chromosome;
+            return new Individual(Mutation.mutate(chromosome), inputNames, outputNames);
+        }));
+
+        return selection;
+    }
+
+    /**
+     * Seleciona os indivíduos da população atual que irão compor a geração seguinte
+     *
+     * @param actualPopulation
+     * @param selectionSize
+     * @return
+     */
+    private List<Individual> select(List<Individual> actualPopulation, int selectionSize) {
+        final List<Individual> selection = new ArrayList<>();
+
         // Elitismo
         selection.addAll(// Seleciona 2 ou 5% melhores para compor nova população
                 new SelectionElite()
@@ -192,38 +502,43 @@ public abstract class Algorithm {
                 .stream()
                 .collect(Collectors.toList())
         );
+        return selection;
+    }
 
+    /**
+     * Gera um novo indivíduo a partir dos indivíduos já executados, usado no modo steady-state
+     *
+     * Seleciona dois pais (usando Stochastic Universal Sampling), efetua o cruzamento conforme a
+     * {@link #getProbabilityCrossover()} e a mutação conforme a {@link #getProbabilityMutation()}. Quando não ocorre o
+     * cruzamento o descendente sempre sofre mutação, evitando clones.
+     *
+     * @param pool Os indivíduos já executados
+     * @return
+     */
+    public Individual getOffspring(List<Individual> pool) {
         final String[] inputNames = getInputNames();
         final String[] outputNames = getOutputNames();
-
-        // -------------------------------
-        //  [Cruzamento]
-        // -------------------------------
-        // efetuar 6 ou 20% cruzamento de pais aleatórios
-        for (int i = 0, j = selection.size() - 1, k = (int) Math.max(4, selectionSize * 0.2); i < k; i++) {
-            final Individual dad = selection.get(JiaUtils.between(0, j));
-            final Individual mom = selection.get(JiaUtils.between(0, j));
-            selection.add(new Individual(Crossover.random(dad.chromosome, mom.chromosome), inputNames, outputNames));
+        if (pool.size() < 2) {
+            final Topology topology = getTopology();
+            final Chromosome chromosome = topology == null
+                    ? Chromosome.random(inputNames.length, outputNames.length)
+                    : topology.random();
+            return new Individual(chromosome, inputNames, outputNames);
         }
 
-        // -------------------------------
-        //  [Mutação]
-        // -------------------------------
-        //  gerar 2 clones mutantes dos 2 mais bem adaptados
-        final Chromosome firstChromosome = selection.get(0).chromosome;
-        final Chromosome secondChromosome = selection.get(1).chromosome;
-        selection.add(new Individual(Mutation.mutate(firstChromosome), inputNames, outputNames));
-        selection.add(new Individual(Mutation.mutate(firstChromosome), inputNames, outputNames));
-        selection.add(new Individual(Mutation.mutate(secondChromosome), inputNames, outputNames));
-        selection.add(new Individual(Mutation.mutate(secondChromosome), inputNames, outputNames));
+        final List<Individual> parents = new SelectionStochasticUniversalSampling().select(2, pool);
+        final Chromosome dad = parents.get(0).chromosome;
+        final Chromosome mom = parents.get(1).chromosome;
 
-        // Até obter o tamanho esperado, adiciona individuos mutantes na população
-        while (selection.size() < selectionSize) {
-            final Individual individual = selection.get(JiaUtils.between(0, selection.size() - 1));
-            selection.add(new Individual(Mutation.mutate(individual.chromosome), inputNames, outputNames));
+        Chromosome child = dad;
+        if (JiaUtils.coin(getProbabilityCrossover())) {
+            child = Crossover.random(dad, mom);
+        }
+        if (child == dad || JiaUtils.coin(getProbabilityMutation())) {
+            child = Mutation.mutate(child);
         }
 
-        return selection;
+        return new Individual(child, inputNames, outputNames);
     }
 
     /**
@@ -236,12 +551,21 @@ public abstract class Algorithm {
             throw new Exception("O estado do GA não permite o carregamento de dados.");
         }
 
+        final FitnessCache cache = getFitnessCache();
+        if (cache != null) {
+            final Info cached = this.getStorage().loadFitnessCache();
+            if (cached != null) {
+                cache.load(cached, getTopology());
+            }
+        }
+
         final Info info = this.getStorage().load();
         if (info == null) {
             return;
         }
 
         final List<Individual> individuals = new ArrayList<>();
+        final Topology topology = getTopology();
 
         for (int i = 0, j = info.fitness.length; i < j; i++) {
 
@@ -249,8 +573,19 @@ public abstract class Algorithm {
             double[] dna = info.population[i];
             final double fitnes = info.fitness[i];
 
-            final Individual individual = new Individual(new Chromosome(dna), getInputNames(), getOutputNames());
-            individual.setFitness(fitnes);
+            if (topology != null && !topology.equals(Topology.of(dna))) {
+                throw new IllegalArgumentException("A população persistida não possui a topologia fixa informada");
+            }
+            final Chromosome chromosome = topology == null
+                    ? new Chromosome(dna)
+                    : topology.chromosome(topology.params(dna));
+            final Individual individual = new Individual(chromosome, getInputNames(), getOutputNames());
+            if (info.fidelity[i] == 0.0) {
+                // Aptidão estimada pelo surrogate
+                individual.predict(fitnes);
+            } else {
+                individual.setFitness(fitnes, info.fidelity[i]);
+            }
 
             individuals.add(individual);
         }
@@ -261,7 +596,9 @@ public abstract class Algorithm {
                 this.getPopulationSize(),
                 individuals,
                 this.getInputNames(),
-                this.getOutputNames()
+                this.getOutputNames(),
+                null,
+                topology
         );
     }
 
@@ -282,7 +619,11 @@ public abstract class Algorithm {
 
         state = State.RUNNING;
 
-        executeGeneration();
+        if (isSteadyState()) {
+            executeSteadyState();
+        } else {
+            executeGeneration();
+        }
     }
 
     /**
@@ -301,6 +642,56 @@ public abstract class Algorithm {
 
     }
 
+    /**
+     * Adiciona um listener que será invocado sempre que finalizar a execução (e persistência) de uma geração
+     *
+     * O listener é executado na thread que finalizou a geração, não deve executar processamento demorado
+     *
+     * @param listener
+     */
+    public void onGeneration(Consumer<Population> listener) {
+        generationListeners.add(listener);
+    }
+
+    /**
+     * Recebe indivíduos de outro GA (migração), que serão executados e adicionados na próxima geração
+     *
+     * @param individuals
+     */
+    public void immigrate(List<Individual> individuals) {
+        for (Individual individual : individuals) {
+            immigrants.add(individual.chromosome);
+        }
+    }
+
+    /**
+     * Remove os imigrantes da fila, criando os respectivos indivíduos
+     *
+     * @return
+     */
+    private List<Individual> drainImmigrants() {
+        final List<Individual> out = new ArrayList<>();
+        for (Chromosome chromosome = immigrants.poll(); chromosome != null; chromosome = immigrants.poll()) {
+            out.add(new Individual(chromosome, getInputNames(), getOutputNames()));
+        }
+        return out;
+    }
+
+    /**
+     * Notifica os listeners sobre a finalização de uma geração
+     *
+     * @param population
+     */
+    private void notifyGeneration(Population population) {
+        for (Consumer<Population> listener : generationListeners) {
+            try {
+                listener.accept(population);
+            } catch (Exception ex) {
+                LOG.log(Level.WARNING, "Erro inesperado no listener de geração do GA", ex);
+            }
+        }
+    }
+
     /**
      * Executa uma nova população
      */
@@ -319,6 +710,7 @@ public abstract class Algorithm {
         // Zera o contador de finalizados
         this.countExecuted = 0;
         this.errors = new ArrayList<>();
+        this.racing = newRacing();
 
         // Se não existe população inicial:
         if (population == null) {
@@ -328,54 +720,328 @@ public abstract class Algorithm {
                     this.getPopulationSize(),
                     this.getInitialPopulation(),
                     this.getInputNames(),
-                    this.getOutputNames()
+                    this.getOutputNames(),
+                    seedOf(0, 0),
+                    this.getTopology()
             );
         } else {
             // Gera a nova população para testes
             // Cosidera que a população existente já está salva, portanto, já foi testada
+            final List<Individual> individuals = new ArrayList<>(getNewGeneration(Arrays.asList(population.individuals)));
+            individuals.addAll(drainImmigrants());
             population = new Population(
                     population.generation + 1,
                     this.getPopulationSize(),
-                    this.getNewGeneration(Arrays.asList(population.individuals)),
+                    individuals,
                     this.getInputNames(),
-                    this.getOutputNames()
+                    this.getOutputNames(),
+                    seedOf(population.generation + 1, 0),
+                    this.getTopology()
             );
         }
 
-        for (final Individual individual : population.individuals) {
+        // Com a triagem habilitada, executa primeiro todos os indivíduos na fidelidade de triagem
+        final double fidelity = getFidelity(population.generation);
+        this.screened = getScreeningFidelity() >= 1;
+        final double current = screened ? fidelity : Math.min(fidelity, getScreeningFidelity());
+
+        // Os descendentes descartados pelo surrogate não são executados
+        final List<Individual> pending = prescreen(population.individuals);
+        this.countExecuted = population.individuals.length - pending.size();
+
+        for (final Individual individual : pending) {
             // Executa os individuos, em paraleleo (~1 individuo por CPU)
-            CompletableFuture
-                    .supplyAsync(new IndividualRunner(this, individual), POOL)
-                    .whenComplete((updated, error) -> {
+            submitGeneration(individual, current);
+
+            // Após finalizar a execução de todos os itens, gera uma nova população
+        }
+    }
 
-                        this.countExecuted++;
+    /**
+     * Envia um indivíduo da geração atual para execução
+     *
+     * @param individual
+     * @param fidelity
+     */
+    private void submitGeneration(Individual individual, double fidelity) {
+        evaluate(individual, population.generation, fidelity)
+                .whenComplete((updated, error) -> whenExecuteIndividualComplete(updated, error));
+    }
 
-                        if (error != null) {
+    /**
+     * Seleciona, a partir da aptidão estimada pelo surrogate, os indivíduos que devem ser executados
+     *
+     * Os descendentes que não forem selecionados recebem a aptidão estimada.
+     *
+     * @param individuals
+     * @return Os indivíduos que devem ser executados
+     */
+    private List<Individual> prescreen(Individual[] individuals) {
+        final List<Individual> pending = new ArrayList<>(Arrays.asList(individuals));
+        final FitnessSurrogate model = getSurrogate();
+        if (model == null || model.getSamples() < getSurrogateMinSamples()) {
+            return pending;
+        }
 
-                            this.errors.add(error);
-                            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", error);
+        // Somente os novos descendentes, os indivíduos que já possuem aptidão são mantidos
+        final List<Individual> candidates = new ArrayList<>();
+        for (Individual individual : individuals) {
+            if (!individual.hasFitness()) {
+                candidates.add(individual);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return pending;
+        }
 
-                        } else if (updated.getError() != null) {
+        final Map<Individual, Double> predicted = new HashMap<>();
+        for (Individual individual : candidates) {
+            predicted.put(individual, model.predict(individual.chromosome));
+        }
+        candidates.sort((a, b) -> Double.compare(predicted.get(b), predicted.get(a)));
 
-                            this.errors.add(updated.getError());
-                            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", updated.getError());
+        final int selected = Math.max(1, (int) Math.ceil(candidates.size() * getSurrogateSelection()));
+        final List<Individual> rejected = new ArrayList<>(
+                candidates.subList(Math.min(selected, candidates.size()), candidates.size())
+        );
 
-                        } else {
+        // Cota de exploração, escolhida aleatoriamente entre os descartados
+        Collections.shuffle(rejected, JiaUtils.random());
+        final int explored = (int) Math.round(rejected.size() * Math.max(0, Math.min(1, getSurrogateExploration())));
 
-                            LOG.log(Level.INFO, String.format("Indivíduo do GA executado com sucesso: %s | fitness %.10f | tempo %s",
-                                    updated,
-                                    updated.getFitness(),
-                                    JiaUtils.time(updated.getEnd() - updated.getStart())
-                            ));
-                        }
+        int skipped = 0;
+        for (int i = explored, l = rejected.size(); i < l; i++) {
+            final Individual individual = rejected.get(i);
+            if (loadCached(individual)) {
+                // Já executado anteriormente, usa a aptidão real
+                continue;
+            }
+            individual.predict(predicted.get(individual));
+            pending.remove(individual);
+            skipped++;
+        }
 
-                        whenExecuteGenerationComplete();
-                    });
+        LOG.log(Level.INFO, String.format("Surrogate: %d de %d descendentes não serão executados", skipped, candidates.size()));
 
-            // Após finalizar a execução de todos os itens, gera uma nova população
+        return pending;
+    }
+
+    /**
+     * Treina o surrogate com a aptidão real do indivíduo
+     *
+     * @param individual
+     */
+    private void learn(Individual individual) {
+        final FitnessSurrogate model = getSurrogate();
+        if (model != null && !individual.isAborted() && individual.getFidelity() >= 1) {
+            model.learn(individual.chromosome, individual.getFitness());
         }
     }
 
+    private synchronized void whenExecuteIndividualComplete(Individual updated, Throwable error) {
+        this.countExecuted++;
+
+        if (error != null) {
+
+            this.errors.add(error);
+            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", error);
+
+        } else if (updated.getError() != null) {
+
+            this.errors.add(updated.getError());
+            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", updated.getError());
+
+        } else {
+
+            LOG.log(Level.INFO, String.format("Indivíduo do GA executado com sucesso: %s | fitness %.10f%s | tempo %s",
+                    updated,
+                    updated.getFitness(),
+                    updated.isAborted() ? " (abortado)" : "",
+                    JiaUtils.time(updated.getEnd() - updated.getStart())
+            ));
+
+            learn(updated);
+        }
+
+        whenExecuteGenerationComplete();
+    }
+
+    /**
+     * Finaliza a triagem da geração atual, enviando os melhores indivíduos para execução na fidelidade da geração
+     *
+     * @return true quando algum indivíduo foi promovido
+     */
+    private boolean promote() {
+        this.screened = true;
+
+        final Individual[] individuals = population.individuals;
+        final double fidelity = getFidelity(population.generation);
+
+        // Candidatos: indivíduos ainda não executados na fidelidade da geração, do melhor para o pior
+        final List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < individuals.length; i++) {
+            if (!individuals[i].isPredicted() && individuals[i].getFidelity() < fidelity) {
+                candidates.add(i);
+            }
+        }
+        candidates.sort((a, b) -> Double.compare(individuals[b].getFitness(), individuals[a].getFitness()));
+
+        final int count = Math.min(
+                candidates.size(),
+                (int) Math.ceil(individuals.length * Math.max(0, Math.min(1, getScreeningPromotion())))
+        );
+        if (count == 0) {
+            return false;
+        }
+
+        // Substitui os promovidos por novos indivíduos antes do envio, a execução pode finalizar imediatamente (cache)
+        final Individual[] promoted = new Individual[count];
+        for (int i = 0; i < count; i++) {
+            final int index = candidates.get(i);
+            promoted[i] = new Individual(individuals[index].chromosome, getInputNames(), getOutputNames());
+            individuals[index] = promoted[i];
+        }
+
+        this.countExecuted = individuals.length - count;
+        this.racing = newRacing();
+
+        for (Individual individual : promoted) {
+            submitGeneration(individual, fidelity);
+        }
+        return true;
+    }
+
+    /**
+     * Inicia a execução no modo steady-state
+     */
+    private synchronized void executeSteadyState() {
+        if (racing == null) {
+            racing = newRacing();
+        }
+
+        if (steadyPool == null) {
+            if (population == null) {
+                population = new Population(
+                        0,
+                        this.getPopulationSize(),
+                        this.getInitialPopulation(),
+                        this.getInputNames(),
+                        this.getOutputNames(),
+                        seedOf(0, 0),
+                        this.getTopology()
+                );
+            }
+
+            steadyPool = new ArrayList<>();
+            steadyGeneration = population.generation;
+            steadyExecuted = 0;
+
+            for (final Individual individual : population.individuals) {
+                if (individual.hasFitness()) {
+                    // Indivíduo carregado de uma execução anterior
+                    steadyPool.add(individual);
+                } else {
+                    submitSteadyState(individual);
+                }
+            }
+        }
+
+        // Mantém todas as threads ocupadas
+        while (steadyRunning < POOL_SIZE) {
+            submitSteadyState(getOffspring(steadyPool));
+        }
+    }
+
+    /**
+     * Envia um indivíduo para execução no modo steady-state
+     *
+     * @param individual
+     */
+    private void submitSteadyState(Individual individual) {
+        steadyRunning++;
+        evaluate(individual, steadyGeneration, getFidelity(steadyGeneration))
+                .whenComplete((updated, error) -> whenExecuteSteadyStateComplete(updated, error));
+    }
+
+    private synchronized void whenExecuteSteadyStateComplete(Individual updated, Throwable error) {
+        steadyRunning--;
+
+        if (error != null) {
+
+            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", error);
+
+        } else if (updated.getError() != null) {
+
+            LOG.log(Level.WARNING, "Erro inesperado na execução do indivídio do GA", updated.getError());
+
+        } else {
+
+            LOG.log(Level.INFO, String.format("Indivíduo do GA executado com sucesso: %s | fitness %.10f%s | tempo %s",
+                    updated,
+                    updated.getFitness(),
+                    updated.isAborted() ? " (abortado)" : "",
+                    JiaUtils.time(updated.getEnd() - updated.getStart())
+            ));
+
+            learn(updated);
+
+            // Substitui o pior indivíduo
+            steadyPool.add(updated);
+            if (steadyPool.size() > getPopulationSize()) {
+                Individual worst = steadyPool.get(0);
+                for (Individual current : steadyPool) {
+                    worst = current.getFitness() < worst.getFitness() ? current : worst;
+                }
+                steadyPool.remove(worst);
+            }
+
+            if (++steadyExecuted >= getPopulationSize()) {
+                steadyExecuted = 0;
+                steadyGeneration++;
+                notifyGeneration(new Population(steadyGeneration, persistSteadyState()));
+            }
+        }
+
+        if (state.equals(State.RUNNING)) {
+            for (Individual immigrant : drainImmigrants()) {
+                submitSteadyState(immigrant);
+            }
+            while (steadyRunning < POOL_SIZE) {
+                submitSteadyState(getOffspring(steadyPool));
+            }
+        } else if (steadyRunning == 0) {
+            // Persiste os indivíduos executados após a última geração
+            if (steadyExecuted > 0) {
+                steadyExecuted = 0;
+                persistSteadyState();
+            }
+
+            state = State.STOPPED;
+
+            stopCallbacks.forEach(callback -> {
+                callback.call();
+            });
+
+            // Remove os callbacks
+            stopCallbacks.clear();
+        }
+    }
+
+    /**
+     * Persiste o pool atual do modo steady-state
+     *
+     * @return Os indivíduos persistidos
+     */
+    private Individual[] persistSteadyState() {
+        final Individual[] individuals = steadyPool.toArray(new Individual[steadyPool.size()]);
+        try {
+            persist(steadyGeneration, individuals);
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Erro inesperado ao persistir os dados da geração testada", ex);
+        }
+        return individuals;
+    }
+
     private void whenExecuteGenerationComplete() throws CompletionException {
         if (this.countExecuted == this.population.individuals.length) {
             // Todos os individuos dessa população já foram processados
@@ -392,6 +1058,11 @@ public abstract class Algorithm {
                 }
             }
 
+            if (!screened && promote()) {
+                // Aguarda a execução dos indivíduos promovidos
+                return;
+            }
+
             try {
                 persist();
             } catch (Exception ex) {
@@ -399,6 +1070,8 @@ public abstract class Algorithm {
                 ex.printStackTrace();
             } 
 
+            notifyGeneration(population);
+
             if (state.equals(State.STOPPING)) {
                 // Informar sobre a solicitação de parada de execução
                 state = State.STOPPED;
@@ -421,17 +1094,135 @@ public abstract class Algorithm {
      * Solicita a persistencia da execução
      */
     private void persist() throws Exception {
+        persist(population.generation, population.individuals);
+    }
+
+    /**
+     * Persiste os indivíduos informados
+     *
+     * @param generation
+     * @param individuals
+     * @throws Exception
+     */
+    private void persist(int generation, Individual[] individuals) throws Exception {
 
         // Periste a população testada
-        double[] fitness = new double[population.individuals.length];
-        double[][] dnas = new double[population.individuals.length][];
-        for (int i = 0, j = population.individuals.length; i < j; i++) {
-            Individual individual = population.individuals[i];
+        double[] fitness = new double[individuals.length];
+        double[] fidelity = new double[individuals.length];
+        double[][] dnas = new double[individuals.length][];
+        for (int i = 0, j = individuals.length; i < j; i++) {
+            Individual individual = individuals[i];
             dnas[i] = individual.chromosome.getDna();
             fitness[i] = individual.getFitness() == null ? Double.NEGATIVE_INFINITY : individual.getFitness();
+            fidelity[i] = individual.getFidelity();
+        }
+
+        this.getStorage().save(new Info(generation, dnas, fitness, fidelity));
+
+        if (fitnessCache != null) {
+            this.getStorage().saveFitnessCache(fitnessCache.toInfo(generation));
+        }
+    }
+
+    /**
+     * Cria o racing, quando habilitado
+     *
+     * @return
+     */
+    private Racing newRacing() {
+        final double quantile = getRacingQuantile();
+        if (quantile <= 0) {
+            return null;
         }
+        if (quantile >= 1) {
+            throw new IllegalArgumentException("O quantil do racing deve estar no intervalo [0, 1)");
+        }
+        return new Racing(quantile, Math.max(1, getRacingMinSamples()), getPopulationSize());
+    }
+
+    /**
+     * Executa um indivíduo, localmente ou nos workers remotos
+     *
+     * @param individual
+     * @param generation
+     * @param fidelity
+     * @return
+     */
+    private CompletableFuture<Individual> evaluate(Individual individual, int generation, double fidelity) {
+        final RemoteMaster remote = getRemoteMaster();
+        if (remote == null) {
+            return CompletableFuture.supplyAsync(new IndividualRunner(this, individual, fidelity), POOL);
+        }
+
+        if (loadCached(individual)) {
+            // Sempre assíncrono, assim como a execução local, os handlers não são executados na thread que submeteu
+            return CompletableFuture.supplyAsync(() -> individual, POOL);
+        }
+
+        individual.setStart(System.currentTimeMillis());
+        return remote.submit(generation, fidelity, individual.chromosome.getDna())
+                .handleAsync((fitness, error) -> {
+                    individual.setEnd(System.currentTimeMillis());
+                    if (error != null) {
+                        individual.setError(error instanceof CompletionException ? error.getCause() : error);
+                    } else {
+                        individual.setFitness(fitness, fidelity);
+                        final FitnessCache cache = getFitnessCache();
+                        if (cache != null && fidelity >= 1) {
+                            cache.put(individual.chromosome, fitness);
+                        }
+                    }
+                    return individual;
+                }, POOL);
+    }
 
-        this.getStorage().save(new Info(population.generation, dnas, fitness));
+    /**
+     * Obtém a aptidão do indivíduo a partir do cache, quando existir
+     *
+     * @param individual
+     * @return true quando o indivíduo foi encontrado no cache
+     */
+    private boolean loadCached(Individual individual) {
+        final FitnessCache cache = getFitnessCache();
+        if (cache == null) {
+            return false;
+        }
+        final Double cached = cache.get(individual.chromosome);
+        if (cached == null) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        individual.setStart(now);
+        individual.setEnd(now);
+        individual.setFitness(cached);
+        return true;
+    }
+
+    /**
+     * Obtém o cache de aptidão, criando-o na primeira chamada
+     *
+     * @return O cache, ou null quando desabilitado
+     */
+    private synchronized FitnessCache getFitnessCache() {
+        if (fitnessCache == null) {
+            final int size = getFitnessCacheSize();
+            if (size > 0) {
+                fitnessCache = new FitnessCache(size);
+            }
+        }
+        return fitnessCache;
+    }
+
+    /**
+     * Obtém o surrogate, criando-o na primeira chamada
+     *
+     * @return O surrogate, ou null quando desabilitado
+     */
+    synchronized FitnessSurrogate getSurrogate() {
+        if (surrogate == null && getSurrogateSelection() < 1) {
+            surrogate = new FitnessSurrogate();
+        }
+        return surrogate;
     }
 
     /**
@@ -441,7 +1232,24 @@ public abstract class Algorithm {
      * @return 
      */
     public Individual execute(Chromosome chromosome) {
+        return execute(chromosome, 1.0);
+    }
+
+    /**
+     * Executa a rede neural de um cromossomo na fidelidade informada, retornando a informação do indivíduo
+     *
+     * @see #getFidelity(int)
+     * @param chromosome
+     * @param fidelity
+     * @return
+     */
+    public Individual execute(Chromosome chromosome, double fidelity) {
         final Individual individual = new Individual(chromosome, getInputNames(), getOutputNames());
+        if (loadCached(individual)) {
+            return individual;
+        }
+        final FitnessCache cache = fidelity >= 1 ? getFitnessCache() : null;
+        final Evaluation evaluation = new Evaluation(racing, fidelity);
         try {
             // Transforma o cromossomo do indivíduo na Rede Neural
             final Network network = individual.getNetwork();
@@ -449,11 +1257,18 @@ public abstract class Algorithm {
             individual.setStart(System.currentTimeMillis());
 
             // Resultado da execução do algoritmo
-            final double fitness = run(network.input(), network.output());
+            final double fitness = run(network.input(), network.output(), evaluation);
 
             individual.setEnd(System.currentTimeMillis());
 
-            individual.setFitness(fitness);
+            individual.setFitness(fitness, fidelity);
+
+            if (cache != null) {
+                cache.put(chromosome, fitness);
+            }
+        } catch (Evaluation.Aborted ex) {
+            individual.setEnd(System.currentTimeMillis());
+            individual.abort(evaluation.getFitness(), fidelity);
         } catch (Throwable ex) {
             // Adicionar o erro no log de execução
             individual.setError(ex);
@@ -471,17 +1286,28 @@ public abstract class Algorithm {
 
         private final Individual individual;
 
-        public IndividualRunner(Algorithm algorithm, Individual individual) {
+        private final double fidelity;
+
+        public IndividualRunner(Algorithm algorithm, Individual individual, double fidelity) {
             this.algorithm = algorithm;
             this.individual = individual;
+            this.fidelity = fidelity;
         }
 
         @Override
         public Individual get() {
+            if (algorithm.loadCached(individual)) {
+                // Cromossomo já executado, reaproveita a aptidão
+                return individual;
+            }
+            // Somente os resultados no conjunto de dados completo são armazenados no cache
+            final FitnessCache cache = fidelity >= 1 ? algorithm.getFitnessCache() : null;
+            final Evaluation evaluation = new Evaluation(algorithm.racing, fidelity);
+
             try {
                 // Transforma o cromossomo do indivíduo na Rede Neural
                 final Network network = new Network(
-                        DecoderDnaLayers.getInstance().decode(individual.chromosome.getDna()),
+                        Individual.layers(individual.chromosome),
                         Arrays.asList(algorithm.getInputNames()),
                         Arrays.asList(algorithm.getOutputNames())
                 );
@@ -489,11 +1315,19 @@ public abstract class Algorithm {
                 individual.setStart(System.currentTimeMillis());
 
                 // Resultado da execução do algoritmo
-                final double fitness = algorithm.run(network.input(), network.output());
+                final double fitness = algorithm.run(network.input(), network.output(), evaluation);
 
                 individual.setEnd(System.currentTimeMillis());
 
-                individual.setFitness(fitness);
+                individual.setFitness(fitness, fidelity);
+
+                if (cache != null) {
+                    cache.put(individual.chromosome, fitness);
+                }
+            } catch (Evaluation.Aborted ex) {
+                // Abortado pelo racing, não é armazenado no cache
+                individual.setEnd(System.currentTimeMillis());
+                individual.abort(evaluation.getFitness(), fidelity);
             } catch (Throwable ex) {
                 // Adicionar o erro no log de execução
                 individual.setError(ex);
@@ -6,10 +6,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.DoubleStream;
 
 /**
  * Representação de uma Rede Neural dentro de um GA
@@ -70,8 +68,20 @@ public class Chromosome {
     // [ 1]    <BIAS>
     // [ 2]    <WEIGHT> -- Peso para entrada [0...PREV]
     // ------------------------------------
+    //
+    // Com topologia fixa (ver Topology), possui somente os pesos e bias da rede, no layout do Model
     private final double[] dna;
 
+    /**
+     * Topologia fixa da rede, ou null quando o DNA possui a estrutura completa
+     */
+    private final Topology topology;
+
+    /**
+     * DNA completo de um cromossomo de topologia fixa, gerado somente quando necessário
+     */
+    private double[] cachedStructure;
+
     private String cachedToString;
 
     private int[] cachedLayersSizes;
@@ -80,44 +90,125 @@ public class Chromosome {
 
     private List<double[]> cachedExtractedLayers;
 
+    private GenomeIndex cachedIndex;
+
     /**
      * Cache do hashcode, evida processamento desnecessário
      */
     private int hash = -1;
 
+    /**
+     * Cache do digest de 64 bits do DNA
+     */
+    private long digest;
+
+    private boolean digested;
+
     public Chromosome(double[] dna) {
-        this.dna = dna;
+        this(null, dna);
+    }
+
+    /**
+     * Cromossomo de topologia fixa, ver {@link Topology#chromosome(double[])}
+     *
+     * @param topology
+     * @param params
+     */
+    Chromosome(Topology topology, double[] params) {
+        this.topology = topology;
+        this.dna = params;
     }
 
+    /**
+     * Obtém uma cópia do DNA completo, inclusive dos cromossomos de topologia fixa
+     *
+     * @return
+     */
     public double[] getDna() {
-        double[] out = new double[dna.length];
-        System.arraycopy(dna, 0, out, 0, dna.length);
-        return out;
+        return dna().clone();
+    }
+
+    /**
+     * Acesso direto ao DNA completo, sem cópia. NÃO DEVE SER ALTERADO
+     *
+     * @return
+     */
+    double[] dna() {
+        if (topology == null) {
+            return dna;
+        }
+        if (cachedStructure == null) {
+            cachedStructure = topology.dna(dna);
+        }
+        return cachedStructure;
+    }
+
+    /**
+     * Acesso direto aos pesos e bias de um cromossomo de topologia fixa, sem cópia. NÃO DEVE SER ALTERADO
+     *
+     * @return
+     */
+    double[] params() {
+        return dna;
+    }
+
+    /**
+     * Obtém a topologia fixa deste cromossomo
+     *
+     * @return A topologia, ou null quando o DNA possui a estrutura completa
+     */
+    public Topology getTopology() {
+        return topology;
     }
 
     /**
      * Permite acessar de forma sequencial todos os neurons do DNA do cromossomo atual
      *
+     * Sobre o reaproveitamento do {@link Neuron}, ver {@link #forEachNeuron(double[], Function, int, int)}
+     *
      * @param callback
      * @return
      */
     public double[] forEachNeuron(Function<Neuron, Boolean> callback) {
-        // @TODO: Usar cached
-        return forEachNeuron(dna, callback);
+        return forEachNeuron(dna(), index(), callback, 0, 0);
     }
 
     /**
      * Permite acessar de forma sequencial os neurons do DNA do cromossomo atual a partir do ponto determinado pelo
      * índice do layer e índice do neuron
      *
+     * Sobre o reaproveitamento do {@link Neuron}, ver {@link #forEachNeuron(double[], Function, int, int)}
+     *
      * @param callback
      * @param layerIdx
      * @param neuronIdx
      * @return
      */
     public double[] forEachNeuron(Function<Neuron, Boolean> callback, int layerIdx, int neuronIdx) {
-        // @TODO: Usar cached
-        return forEachNeuron(dna, callback, layerIdx, neuronIdx);
+        return forEachNeuron(dna(), index(), callback, layerIdx, neuronIdx);
+    }
+
+    /**
+     * Obtém o índice da estrutura do DNA deste cromossomo
+     *
+     * @return
+     */
+    public GenomeIndex index() {
+        if (cachedIndex == null) {
+            cachedIndex = new GenomeIndex(dna());
+        }
+        return cachedIndex;
+    }
+
+    /**
+     * Cria um cursor SOMENTE LEITURA sobre o DNA deste cromossomo, sem cópia
+     *
+     * Para alterar os neuronios, usar um cursor sobre uma cópia do DNA: <code>index().cursor(getDna())</code>
+     *
+     * @return
+     */
+    public GenomeIndex.Cursor cursor() {
+        return index().cursor(dna(), true);
     }
 
     /**
@@ -127,7 +218,12 @@ public class Chromosome {
      */
     public int[] countLayers() {
         if (cachedCountedLayers == null) {
-            cachedCountedLayers = countLayers(dna);
+            final GenomeIndex index = index();
+            final int[] layers = new int[index.layers()];
+            for (int i = 0; i < layers.length; i++) {
+                layers[i] = index.size(i);
+            }
+            cachedCountedLayers = layers;
         }
         return cachedCountedLayers;
     }
@@ -139,7 +235,7 @@ public class Chromosome {
      */
     public List<double[]> extractLayers() {
         if (cachedExtractedLayers == null) {
-            cachedExtractedLayers = extractLayers(dna);
+            cachedExtractedLayers = extractLayers(dna());
         }
         return cachedExtractedLayers;
     }
@@ -151,15 +247,13 @@ public class Chromosome {
      */
     public int[] getLayersSizes() {
         if (cachedLayersSizes == null) {
-            List<double[]> layers = extractLayers();
+            final GenomeIndex index = index();
             // (Hidden + Output) + Input
-            int[] sizes = new int[layers.size() + 1];
-            for (int i = 0, j = layers.size(); i < j; i++) {
-                if (i == 0) {
-                    // Input size
-                    sizes[0] = Double.valueOf(layers.get(i)[IDX_L_PREV]).intValue();
-                }
-                sizes[i + 1] = Double.valueOf(layers.get(i)[IDX_L_SIZE]).intValue();
+            int[] sizes = new int[index.layers() + 1];
+            // Input size
+            sizes[0] = index.inputs(0);
+            for (int i = 0, j = index.layers(); i < j; i++) {
+                sizes[i + 1] = index.size(i);
             }
             cachedLayersSizes = sizes;
         }
@@ -179,30 +273,27 @@ public class Chromosome {
             // [ 2]    <WEIGHT:> -- Peso para entrada [0...PREV]
             // ----------------------------
             StringBuilder sb = new StringBuilder();
-            AtomicInteger c = new AtomicInteger(0);
             final Locale L = java.util.Locale.US;
-            forEachNeuron(neuron -> {
-                int i = c.get();
-                if (neuron.index == 0) {
-                    if (neuron.layer > 0) {
+            final GenomeIndex.Cursor neuron = cursor();
+            int i = 0;
+            while (neuron.next()) {
+                if (neuron.index() == 0) {
+                    if (neuron.layer() > 0) {
                         sb.append(String.format(".................................\n\n"));
                     }
-                    sb.append(String.format(L, ".. layer %03d ....................\n", neuron.layer + 1));
+                    sb.append(String.format(L, ".. layer %03d ....................\n", neuron.layer() + 1));
                     // Primeiro neuron da camada
-                    sb.append(String.format(L, " [%04d]  <SIZE: %d>\n", i++, neuron.layerSize));
-                    sb.append(String.format(L, " [%04d]  <PREV: %d>\n", i++, neuron.weights.length));
+                    sb.append(String.format(L, " [%04d]  <SIZE: %d>\n", i++, neuron.layerSize()));
+                    sb.append(String.format(L, " [%04d]  <PREV: %d>\n", i++, neuron.inputs()));
                 }
-                sb.append(String.format(L, "           ......................\n", neuron.index + 1));
-                sb.append(String.format(L, "           .......... neuron %03d\n", neuron.index + 1));
-                sb.append(String.format(L, " [%04d]    <TYPE  : %d>\n", i++, neuron.type));
-                sb.append(String.format(L, " [%04d]    <BIAS  : %.10f>\n", i++, neuron.bias));
-                for (double weight : neuron.weights) {
-                    sb.append(String.format(L, " [%04d]    <WEIGHT: %.10f>\n", i++, weight));
+                sb.append(String.format(L, "           ......................\n"));
+                sb.append(String.format(L, "           .......... neuron %03d\n", neuron.index() + 1));
+                sb.append(String.format(L, " [%04d]    <TYPE  : %d>\n", i++, (int) neuron.type()));
+                sb.append(String.format(L, " [%04d]    <BIAS  : %.10f>\n", i++, neuron.bias()));
+                for (int w = 0, l = neuron.inputs(); w < l; w++) {
+                    sb.append(String.format(L, " [%04d]    <WEIGHT: %.10f>\n", i++, neuron.weight(w)));
                 }
-
-                c.set(i);
-                return true;
-            });
+            }
 
             sb.append(String.format(".................................\n"));
             cachedToString = sb.toString();
@@ -211,11 +302,40 @@ public class Chromosome {
         return cachedToString;
     }
 
+    /**
+     * Obtém um hash de 64 bits do DNA, usado como chave em caches (ex. {@link FitnessCache})
+     *
+     * Possui uma probabilidade de colisão muito menor que o {@link #hashCode()}, mas não é livre de colisões, a
+     * igualdade deve ser confirmada via {@link #equals(java.lang.Object)}
+     *
+     * @return
+     */
+    public long digest() {
+        if (!digested) {
+            long h = 0x9E3779B97F4A7C15L ^ dna.length ^ (topology == null ? 0 : (long) topology.hashCode() << 32);
+            for (double value : dna) {
+                h ^= Double.doubleToLongBits(value);
+                h *= 0xBF58476D1CE4E5B9L;
+                h = Long.rotateLeft(h, 31);
+            }
+            // Finalização (MurmurHash3 fmix64)
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            digest = h;
+            digested = true;
+        }
+        return digest;
+    }
+
     @Override
     public int hashCode() {
         if (hash == -1) {
             hash = 7;
             hash = 97 * hash + Arrays.hashCode(this.dna);
+            hash = 97 * hash + Objects.hashCode(this.topology);
         }
         return hash;
     }
@@ -232,7 +352,7 @@ public class Chromosome {
             return false;
         }
         final Chromosome other = (Chromosome) obj;
-        return Arrays.equals(this.dna, other.dna);
+        return Objects.equals(this.topology, other.topology) && Arrays.equals(this.dna, other.dna);
     }
 
     /**
@@ -255,87 +375,46 @@ public class Chromosome {
             return dna;
         }
 
-        final List<double[]> newLayers = new ArrayList<>();
-        final List<double[]> layers = extractLayers(dna);
-
-        int oldSize = 0;
-
-        // ----------------
-        // [ 0]  (2.0)  <SIZE>
-        // [ 1]  (3.0)  <PREV>
-        //                 -- Neuron [0]
-        // [ 2]  (1.0)      <TYPE>
-        // [ 3]  (1.0)      <BIAS>
-        // [ 4]  (1.0)      <WEIGHT> [0]
-        // [ 5]  (1.0)      <WEIGHT> [1]
-        // [ 6]  (1.0)      <WEIGHT> [PREV]
-        //                 -- Neuron [SIZE]
-        // [ 7]  (1.0)      <TYPE>
-        // [ 8]  (1.0)      <BIAS>
-        // [ 9]  (1.0)      <WEIGHT> [0]
-        // [10]  (1.0)      <WEIGHT> [1]
-        // [11]  (1.0)      <WEIGHT> [PREV]
-        // ----------------
-        for (int actualIndex = 0, total = layers.size(); actualIndex < total; actualIndex++) {
-            double[] layer = layers.get(actualIndex);
-
-            // Alteração aleatoria de todos os <TYPE>, <SLOPE>, <BIAS> e <WEIGHT>
-            // Numero de neurons na camada
-            int size = ((Double) layer[IDX_L_SIZE]).intValue();
-
-            // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron)
-            int inputs = ((Double) layer[IDX_L_PREV]).intValue();
-
-            if (layerIndex == actualIndex) {
+        final int[] offsets = offsets(dna);
+        final int total = offsets.length - 1;
+        if (layerIndex < 0 || layerIndex >= total - 1) {
+            // Não permite modificar o output layer (ultima camada)
+            return dna;
+        }
 
-                if (actualIndex == total - 1) {
-                    // Não permite modificar o output layer (ultima camada)
-                    return dna;
-                }
+        final int offset = offsets[layerIndex];
+        final int oldSize = (int) dna[offset + IDX_L_SIZE];
+        final int inputs = (int) dna[offset + IDX_L_PREV];
+        if (oldSize == newSize) {
+            // A camada já possui a quantidade de neuros solicitada, não é necessário processamento
+            return dna;
+        }
 
-                oldSize = size;
+        final int next = offsets[layerIndex + 1];
+        final int nextSize = (int) dna[next + IDX_L_SIZE];
+        final int end = offsets[layerIndex + 2];
 
-                if (oldSize == newSize) {
-                    // A camada já possui a quantidade de neuros solicitada, não é necessário processamento
-                    return dna;
-                }
+        final DnaBuilder builder = new DnaBuilder(
+                offset + DnaBuilder.length(newSize, inputs) + DnaBuilder.length(nextSize, newSize) + dna.length - end
+        );
 
-                final List<Double> newLayer = DoubleStream.of(layer).boxed().collect(Collectors.toList());
-                // Novo <SIZE>
-                newLayer.set(0, Double.valueOf(newSize));
-
-                if (newSize > oldSize) {
-                    // Se a nova quantidade for maior que a atual, cria neuronios aleatórios NO FINAL DA CAMADA ATUAL
-                    int diff = newSize - oldSize;
-                    for (int c = 0, d = diff; c < d; c++) {
-                        // <TYPE>, <BIAS>
-                        newLayer.add(Neuron.TYPE.random());
-                        newLayer.add(JiaUtils.between(BIAS_MIN, BIAS_MAX));
-                        for (int e = 0; e < inputs; e++) {
-                            // <WEIGHT>
-                            newLayer.add(JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX));
-                        }
-                    }
-                } else {
-                    // Se a nova quantidade é menor, REMOVE NEURONIOS FINAIS DA CAMADA ATUAL
-                    int diff = oldSize - newSize;
-                    int itensToRemove = diff * NEURON_FIELDS + diff * inputs;
-                    for (int c = itensToRemove, d = newLayer.size() - 1; c > 0; c--, d--) {
-                        newLayer.remove(d);
-                    }
-                }
+        // Camadas anteriores
+        builder.copy(dna, 0, offset);
 
-                // Salva referencia
-                layer = newLayer.stream().mapToDouble(d -> d).toArray();
+        // Camada alterada, mantém os neuronios iniciais e cria neuronios aleatórios NO FINAL DA CAMADA ATUAL
+        builder.layer(newSize, inputs);
+        builder.copy(dna, offset + LAYER_FIELDS, Math.min(oldSize, newSize) * (NEURON_FIELDS + inputs));
+        if (newSize > oldSize) {
+            builder.randomNeurons(newSize - oldSize, inputs);
+        }
 
-            } else if (layerIndex + 1 == actualIndex) {
-                layer = updateNextLayer(layer, oldSize, newSize);
-            }
+        // Camada seguinte
+        updateNextLayer(builder, dna, next, newSize);
 
-            newLayers.add(layer);
-        }
+        // Camadas posteriores
+        builder.copy(dna, end, dna.length - end);
 
-        return newLayers.stream().flatMapToDouble(Arrays::stream).toArray();
+        return builder.build();
     }
 
     /**
@@ -351,27 +430,29 @@ public class Chromosome {
             throw new IllegalArgumentException("Não é permitido remover a camada Iput Layer");
         }
 
-        List<double[]> layers = extractLayers(dna);
+        final int[] offsets = offsets(dna);
+        final int total = offsets.length - 1;
+        if (index == total - 1) {
+            throw new IllegalArgumentException("Não é permitido remover a camada output Layer");
+        }
+        if (index < 0 || index >= total) {
+            return dna;
+        }
 
-        for (int actualIndex = 0, total = layers.size(); actualIndex < total; actualIndex++) {
-            double[] actual = layers.get(actualIndex);
-            if (index == actualIndex) {
-                if (actualIndex == total - 1) {
-                    throw new IllegalArgumentException("Não é permitido remover a camada output Layer");
-                }
+        final int offset = offsets[index];
+        final int next = offsets[index + 1];
+        final int end = offsets[index + 2];
 
-                // Remove a camada
-                layers.remove(index);
+        // A camada seguinte passa a receber a saída da camada anterior à removida
+        final int prevSize = (int) dna[offsets[index - 1] + IDX_L_SIZE];
+        final int nextSize = (int) dna[next + IDX_L_SIZE];
 
-                // Atualiza o layer seguinte                
-                int oldSize = ((Double) actual[IDX_L_SIZE]).intValue();
-                int size = ((Double) layers.get(index - 1)[IDX_L_SIZE]).intValue();
-                layers.set(index, updateNextLayer(layers.get(index), oldSize, size));
-                break;
-            }
-        }
+        final DnaBuilder builder = new DnaBuilder(offset + DnaBuilder.length(nextSize, prevSize) + dna.length - end);
+        builder.copy(dna, 0, offset);
+        updateNextLayer(builder, dna, next, prevSize);
+        builder.copy(dna, end, dna.length - end);
 
-        return layers.stream().flatMapToDouble(Arrays::stream).toArray();
+        return builder.build();
     }
 
     /**
@@ -388,107 +469,73 @@ public class Chromosome {
             throw new IllegalArgumentException("Não é permitido a criação de camadas sem neuronios");
         }
 
-        List<double[]> layers = extractLayers(dna);
-
-        for (int actualIndex = 0, total = layers.size(); actualIndex < total; actualIndex++) {
-            double[] actual = layers.get(actualIndex);
-            if (index == actualIndex) {
-                if (actualIndex == total - 1) {
-                    throw new IllegalArgumentException("Não é permitido inserir camada após o Output Layer");
-                }
-
-                final List<Double> newLayer = new ArrayList<>();
-                // <SIZE>
-                newLayer.add(Double.valueOf(size));
-                // <PREV> com o <SIZE> do layer modificado
-                newLayer.add(actual[IDX_L_SIZE]);
-
-                // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron
-                int inputs = ((Double) actual[IDX_L_SIZE]).intValue();
-                for (int c = 0; c < size; c++) {
-                    // <TYPE>, <BIAS>
-                    newLayer.add(Neuron.TYPE.random());
-                    newLayer.add(JiaUtils.between(BIAS_MIN, BIAS_MAX));
-                    for (int e = 0; e < inputs; e++) {
-                        // <WEIGHT>
-                        newLayer.add(JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX));
-                    }
-                }
-
-                // Insere o novo layer
-                layers.add(index + 1, newLayer.stream().mapToDouble(d -> d).toArray());
-
-                // Atualiza o layer seguinte                
-                int oldSize = ((Double) actual[IDX_L_SIZE]).intValue();
-                layers.set(index + 2, updateNextLayer(layers.get(index + 2), oldSize, size));
-                break;
-            }
+        final int[] offsets = offsets(dna);
+        final int total = offsets.length - 1;
+        if (index == total - 1) {
+            throw new IllegalArgumentException("Não é permitido inserir camada após o Output Layer");
+        }
+        if (index < 0 || index >= total) {
+            return dna;
         }
 
-        return layers.stream().flatMapToDouble(Arrays::stream).toArray();
+        // A nova camada é inserida após a camada informada, recebendo a sua saída
+        final int inputs = (int) dna[offsets[index] + IDX_L_SIZE];
+        final int next = offsets[index + 1];
+        final int nextSize = (int) dna[next + IDX_L_SIZE];
+        final int end = offsets[index + 2];
+
+        final DnaBuilder builder = new DnaBuilder(
+                next + DnaBuilder.length(size, inputs) + DnaBuilder.length(nextSize, size) + dna.length - end
+        );
+        builder.copy(dna, 0, next);
+        builder.layer(size, inputs).randomNeurons(size, inputs);
+        updateNextLayer(builder, dna, next, size);
+        builder.copy(dna, end, dna.length - end);
+
+        return builder.build();
     }
 
     /**
-     * Atualiza os neuronios de uma camada quando a camada anterior sofrer alteração
+     * Escreve a camada do offset informado, atualizando os neuronios quando a camada anterior sofrer alteração
      *
-     * @param nextLayer
-     * @param previousLayer
-     * @param prevLayerOldSize
-     * @return
+     * Se a nova quantidade de entradas for maior, adiciona pesos aleatórios no final de cada neuronio. Se for menor,
+     * remove os pesos finais de cada neuronio.
+     *
+     * @param builder
+     * @param dna
+     * @param offset Início da camada no dna
+     * @param prevLayerNewSize
      */
-    private static double[] updateNextLayer(double[] nextLayer, int prevLayerOldSize, int prevLayerNewSize) {
-        // Camada SEGUINTE a camada modificada
-
+    private static void updateNextLayer(DnaBuilder builder, double[] dna, int offset, int prevLayerNewSize) {
         // Numero de neurons na camada
-        int size = ((Double) nextLayer[IDX_L_SIZE]).intValue();
+        final int size = (int) dna[offset + IDX_L_SIZE];
 
         // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron)
-        int inputs = ((Double) nextLayer[IDX_L_PREV]).intValue();
-
-        final List<Double> newLayer = new ArrayList<>();
-
-        // <SIZE>
-        newLayer.add(nextLayer[IDX_L_SIZE]);
+        final int inputs = (int) dna[offset + IDX_L_PREV];
 
-        // <PREV> com o <SIZE> do layer modificado
-        newLayer.add(Double.valueOf(prevLayerNewSize));
+        // <SIZE> e <PREV> com o <SIZE> do layer modificado
+        builder.layer(size, prevLayerNewSize);
 
-        // Inicia o neuron com o índice do <TYPE>
-        int startIndex = LAYER_FIELDS + IDX_N_TYPE;
-
-        // Fator de incremento de neuron, representa o número de valores disponiveis para cópia, incluindo
-        // os fields do neuron e os pesos das entradas
-        int numValues = inputs + NEURON_FIELDS;
-
-        // Para cada neuronio desta camada
-        for (int c = 0; c < size; startIndex += numValues, c++) {
-            for (int d = startIndex, k = startIndex + numValues; d < k; d++) {
-                // <TYPE>, <BIAS> e <WEIGHT> do layer atual
-                newLayer.add(nextLayer[d]);
-            }
-
-            if (prevLayerNewSize > prevLayerOldSize) {
-                // Se a nova quantidade for maior que a atual, atualiza os pesos dos neuronios da camada seguinte
+        final int kept = NEURON_FIELDS + Math.min(inputs, prevLayerNewSize);
+        for (int c = 0, i = offset + LAYER_FIELDS; c < size; c++, i += NEURON_FIELDS + inputs) {
+            // <TYPE>, <BIAS> e <WEIGHT> mantidos
+            builder.copy(dna, i, kept);
+            if (prevLayerNewSize > inputs) {
                 // Adicionar os novos pesos para os novos neuronios
-                int diff = prevLayerNewSize - prevLayerOldSize;
-                for (int e = 0, f = diff; e < f; e++) {
-                    // <WEIGHT>
-                    newLayer.add(JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX));
-                }
-            } else {
-                // Se a nova quantidade é menor, remove os respectivos pesos dos neuronios da camada seguinte
-                // Remover os pesos dos neuronios removidos
-                int diff = prevLayerOldSize - prevLayerNewSize;
-                for (int g = diff, h = newLayer.size() - 1; g > 0; g--, h--) {
-                    newLayer.remove(h);
-                }
+                builder.randomWeights(prevLayerNewSize - inputs);
             }
         }
-
-        // Retorna o layer atualizado
-        return newLayer.stream().mapToDouble(d -> d).toArray();
     }
 
+    /**
+     * Permite acessar de forma sequencial e mapeada todos os neurons do DNA informado
+     *
+     * Sobre o reaproveitamento do {@link Neuron}, ver {@link #forEachNeuron(double[], Function, int, int)}
+     *
+     * @param dna A cadeia de DNA a ser percorrida
+     * @param callback
+     * @return
+     */
     public static double[] forEachNeuron(double[] dna, Function<Neuron, Boolean> callback) {
         return forEachNeuron(dna, callback, 0, 0);
     }
@@ -496,6 +543,9 @@ public class Chromosome {
     /**
      * Permite acessar de forma sequencial e mapeada todos os neurons do DNA informado
      *
+     * O {@link Neuron} e o seu array de pesos são reaproveitados entre as chamadas do callback, para manter os valores
+     * após o retorno o callback deve copiá-los
+     *
      * @param dna A cadeia de DNA a ser percorrida
      * @param callback
      * @param layerIdx
@@ -503,10 +553,24 @@ public class Chromosome {
      * @return
      */
     public static double[] forEachNeuron(double[] dna, Function<Neuron, Boolean> callback, int layerIdx, int neuronIdx) {
+        return forEachNeuron(dna, new GenomeIndex(dna), callback, layerIdx, neuronIdx);
+    }
 
+    /**
+     * Percorre os neurons do DNA informado a partir do índice da sua estrutura, o início é localizado em O(1)
+     *
+     * @param dna A cadeia de DNA a ser percorrida
+     * @param index O índice da estrutura do DNA
+     * @param callback
+     * @param layerIdx
+     * @param neuronIdx
+     * @return
+     */
+    private static double[] forEachNeuron(
+            double[] dna, GenomeIndex index, Function<Neuron, Boolean> callback, int layerIdx, int neuronIdx
+    ) {
         final Neuron neuron = new Neuron();
-        final List<double[]> layers = extractLayers(dna);
-        boolean stop = false;
+        final double[] out = dna.clone();
         // ----------------
         // [ 0]  (2.0)  <SIZE>
         // [ 1]  (3.0)  <PREV>
@@ -523,67 +587,60 @@ public class Chromosome {
         // [10]  (1.0)      <WEIGHT> [1]
         // [11]  (1.0)      <WEIGHT> [PREV]
         // ----------------
-        for (int li = 0, lsz = layers.size(); li < lsz; li++) {
-            if (stop) {
-                break;
+        if (layerIdx >= index.layers()) {
+            return out;
+        }
+        if (layerIdx < 0) {
+            layerIdx = 0;
+            neuronIdx = 0;
+        }
+        final int first = Math.max(0, Math.min(neuronIdx, index.size(layerIdx)));
+        final int start = first < index.size(layerIdx)
+                ? index.neuron(layerIdx, first)
+                : index.neuron(layerIdx, first - 1) + 1;
+
+        // Buffer dos pesos, reaproveitado entre os neuronios
+        double[] weights = new double[0];
+        final GenomeIndex.Cursor cursor = index.cursor(out);
+        for (int n = start, l = index.neurons(); n < l; n++) {
+            cursor.moveTo(n);
+            final int inputs = cursor.inputs();
+            final int weightStart = cursor.offset() + IDX_N_WEIGHT;
+            if (weights.length != inputs) {
+                weights = new double[inputs];
             }
-            if (li < layerIdx) {
-                continue;
+
+            // Transfere os valores para a representaçao
+            neuron.layer = cursor.layer();
+            neuron.layerSize = cursor.layerSize();
+            neuron.index = cursor.index();
+            neuron.type = (int) cursor.type();
+            neuron.bias = cursor.bias();
+            System.arraycopy(out, weightStart, weights, 0, inputs);
+            neuron.weights = weights;
+
+            // Executa o callback
+            final boolean stop = !callback.apply(neuron);
+
+            // Transfere o valor da representação para o gene original
+            if (Neuron.TYPE.getById(neuron.type) != null) {
+                cursor.type(neuron.type);
+            } else {
+                // Qualquer valor inválido é substituido pelo SIGMOID
+                cursor.type(Neuron.TYPE.SIGMOID.id);
             }
-            double[] layer = layers.get(li);
+            cursor.bias(neuron.bias);
 
-            // Alteração aleatoria de todos os <TYPE>, <SLOPE>, <BIAS> e <WEIGHT>
-            // Numero de neurons na camada
-            int size = ((Double) layer[0]).intValue();
-
-            // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron)
-            int inputs = ((Double) layer[1]).intValue();
-
-            // <TYPE>
-            int type = LAYER_FIELDS + IDX_N_TYPE;
-            // <BIAS>
-            int bias = LAYER_FIELDS + IDX_N_BIAS;
-            // <WEIGHT>
-            int weightStart = LAYER_FIELDS + IDX_N_WEIGHT;
-            // Fator de incremento de fields do neuron
-            int inc = inputs + NEURON_FIELDS;
-            for (int ni = 0; ni < size; type += inc, bias += inc, weightStart += inc, ni++) {
-                if (stop) {
-                    break;
-                }
-                if (layerIdx == li && ni < neuronIdx) {
-                    continue;
-                }
-                // Transfere os valores para a representaçao
-                neuron.layer = li;
-                neuron.layerSize = size;
-                neuron.index = ni;
-                neuron.type = Double.valueOf(layer[type]).intValue();
-                neuron.bias = layer[bias];
-                neuron.weights = new double[inputs];
-                System.arraycopy(layer, weightStart, neuron.weights, 0, inputs);
-
-                // Executa o callback
-                stop = !callback.apply(neuron);
-
-                // Transfere o valor da representação para o gene original
-                if (Neuron.TYPE.getById(neuron.type) != null) {
-                    layer[type] = (double) neuron.type;
-                } else {
-                    // Qualquer valor inválido é substituido pelo SIGMOID
-                    layer[type] = Neuron.TYPE.SIGMOID.id;
-                }
-                layer[bias] = neuron.bias;
+            // Se o novo neuron.weights for maior que o original, a mudança é descartada
+            // Se o novo neuron.weights é menor que o original, o valor original é mantido
+            System.arraycopy(neuron.weights, 0, out, weightStart, Math.min(neuron.weights.length, inputs));
 
-                // Se o novo neuron.weights for maior que o original, a mudança é descartada
-                // Se o novo neuron.weights é menor que o original, o valor original é mantido
-                for (int i = 0, l = neuron.weights.length, weight = weightStart; i < l && i < inputs; i++, weight++) {
-                    layer[weight] = neuron.weights[i];
-                }
+            if (stop) {
+                return out;
             }
         }
 
-        return layers.stream().flatMapToDouble(Arrays::stream).toArray();
+        return out;
     }
 
     /**
@@ -593,8 +650,21 @@ public class Chromosome {
      * @return
      */
     public static List<double[]> extractLayers(double[] dna) {
-        final List<double[]> layers = new ArrayList<>();
+        final int[] offsets = offsets(dna);
+        final List<double[]> layers = new ArrayList<>(offsets.length - 1);
+        for (int i = 0, l = offsets.length - 1; i < l; i++) {
+            layers.add(Arrays.copyOfRange(dna, offsets[i], offsets[i + 1]));
+        }
+        return layers;
+    }
 
+    /**
+     * Obtém a posição do início de cada layer no dna informado, o último item é o tamanho do dna
+     *
+     * @param dna
+     * @return
+     */
+    public static int[] offsets(double[] dna) {
         // ----------------
         // <SIZE>
         // <PREV>
@@ -603,26 +673,18 @@ public class Chromosome {
         //     <BIAS>
         //     <WEIGHT> -- Peso para entrada [0...PREV]
         // ----------------
-        for (int i = 0, l = dna.length; i < l;) {
-
-            // Numero de neurons na camada
-            int neurons = ((Double) dna[i]).intValue();
-
-            // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron)
-            int inputs = ((Double) dna[i + 1]).intValue();
-
-            // Quantidade de dados que pertencem a este layer
-            int length = LAYER_FIELDS + neurons * NEURON_FIELDS + neurons * inputs;
-
-            double[] layer = new double[length];
-            System.arraycopy(dna, i, layer, 0, length);
-            layers.add(layer);
-
-            // Incrementa até o proximo layer
-            i += length;
+        int count = 0;
+        for (int i = 0, l = dna.length; i < l; count++) {
+            i += DnaBuilder.length((int) dna[i + IDX_L_SIZE], (int) dna[i + IDX_L_PREV]);
         }
 
-        return layers;
+        final int[] offsets = new int[count + 1];
+        for (int i = 0, c = 0; c < count; c++) {
+            offsets[c] = i;
+            i += DnaBuilder.length((int) dna[i + IDX_L_SIZE], (int) dna[i + IDX_L_PREV]);
+        }
+        offsets[count] = dna.length;
+        return offsets;
     }
 
     /**
@@ -632,34 +694,13 @@ public class Chromosome {
      * @return
      */
     public static int[] countLayers(double[] dna) {
-        final List<Integer> layers = new ArrayList<>();
-
-        // ----------------
-        // <SIZE>
-        // <PREV>
-        //     -- Neuron [0...SIZE]
-        //     <TYPE>
-        //     <BIAS>
-        //     <WEIGHT> -- Peso para entrada [0...PREV]
-        // ----------------
-        for (int i = 0, l = dna.length; i < l;) {
-
+        final int[] offsets = offsets(dna);
+        final int[] layers = new int[offsets.length - 1];
+        for (int i = 0; i < layers.length; i++) {
             // Numero de neurons na camada
-            int neurons = ((Double) dna[i]).intValue();
-
-            // Numero de neurons na camada anterior (indica o numero de pesos para cada neuron)
-            int inputs = ((Double) dna[i + 1]).intValue();
-
-            // Quantidade de dados que pertencem a este layer
-            int length = LAYER_FIELDS + neurons * NEURON_FIELDS + neurons * inputs;
-
-            layers.add(neurons);
-
-            // Incrementa até o proximo layer
-            i += length;
+            layers[i] = (int) dna[offsets[i] + IDX_L_SIZE];
         }
-
-        return layers.stream().mapToInt(i -> i).toArray();
+        return layers;
     }
 
     /**
@@ -683,29 +724,22 @@ public class Chromosome {
         // Output layer
         layers[numLayers] = outputs;
 
+        // Tamanho do DNA
+        int length = 0;
+        for (int i = 0, j = layers.length; i < j; i++) {
+            length += DnaBuilder.length(layers[i], i == 0 ? inputs : layers[i - 1]);
+        }
+
         // Gera o DNA do cromossomo
-        final List<Double> dna = new ArrayList<>();
+        final DnaBuilder dna = new DnaBuilder(length);
         for (int i = 0, j = layers.length; i < j; i++) {
             int neurons = layers[i];
             int weights = i == 0 ? inputs : layers[i - 1];
-            // <SIZE>
-            dna.add(Double.valueOf(neurons));
-            // <PREV>
-            dna.add(Double.valueOf(weights));
-
-            for (int k = 0; k < neurons; k++) {
-                // <TYPE>
-                dna.add(Neuron.TYPE.random());
-                // <BIAS>
-                dna.add(JiaUtils.between(BIAS_MIN, BIAS_MAX));
-                for (int l = 0; l < weights; l++) {
-                    // <WEIGHT>
-                    dna.add(JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX));
-                }
-            }
+            // <SIZE>, <PREV>, e para cada neuron <TYPE>, <BIAS> e <WEIGHT>
+            dna.layer(neurons, weights).randomNeurons(neurons, weights);
         }
 
-        return new Chromosome(dna.stream().mapToDouble(i -> i).toArray());
+        return new Chromosome(dna.build());
     }
 
     /**
@@ -784,6 +818,9 @@ public class Chromosome {
 
         /**
          * Os pesos dos inputs deste neuronio
+         *
+         * Durante o {@link Chromosome#forEachNeuron(Function)} o mesmo array é reutilizado pelos neuronios seguintes
+         * com a mesma quantidade de inputs
          */
         public double[] weights;
 
@@ -1,19 +1,28 @@
 package com.github.nidorx.jia.ga;
 
-import com.github.nidorx.jia.ga.decoder.DecoderDnaList;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_BIAS;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_TYPE;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_WEIGHT;
+import static com.github.nidorx.jia.ga.Chromosome.LAYER_FIELDS;
+import static com.github.nidorx.jia.ga.Chromosome.NEURON_FIELDS;
 import com.github.nidorx.jia.util.JiaUtils;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
 /**
  * Algoritmos de cruzamento entre dois cromossomos
  *
+ * Os cruzamentos trabalham diretamente sobre o DNA dos pais, a partir do índice da estrutura de cada pai (ver
+ * {@link GenomeIndex}). O filho é construído em um único array, as camadas e neuronios são copiados
+ * em bloco e, quando a camada anterior do filho possui tamanho diferente do original, os pesos são ajustados: os que
+ * sobram são removidos e os que faltam repetem o último peso do neuronio.
+ *
+ * Quando os pais possuem a mesma topologia fixa (ver {@link Topology}), os cruzamentos são laços simples sobre os
+ * parâmetros (pesos e bias) dos pais.
+ *
  @author Alex Rodin <contato@alexrodin.info>
  */
 public class Crossover {
 
-    private static final DecoderDnaList DECODER_DNA_LIST = DecoderDnaList.getInstance();
-
     /**
      * Executa um cruzamento aleatório, entre os algoritmos disponíveis
      *
@@ -22,9 +31,7 @@ public class Crossover {
      * @return
      */
     public static Chromosome random(Chromosome dad, Chromosome mom) {
-        // int algorithm = Util.between(1, 4);
-        // Somente singlePoint e twoPoints estão implementados
-        int algorithm = JiaUtils.between(1, 2);
+        int algorithm = JiaUtils.between(1, 5);
         switch (algorithm) {
             case 1:
                 return singlePoint(dad, mom);
@@ -32,6 +39,8 @@ public class Crossover {
                 return twoPoints(dad, mom);
             case 3:
                 return uniform(dad, mom);
+            case 4:
+                return merge(dad, mom);
             default:
                 return arithmetic(dad, mom);
         }
@@ -42,25 +51,28 @@ public class Crossover {
      *
      * Um ponto de cruzamento é escolhido, a série binária desde o começo do cromossoma até o ponto de cruzamento é
      * copiada do primeiro pai e o resto copiado do outro pai
-     * 
+     *
      *
      * @param dad
      * @param mom
      * @return
      */
     public static Chromosome singlePoint(Chromosome dad, Chromosome mom) {
+        if (isFixed(dad, mom)) {
+            final double[] a = dad.params();
+            final double[] b = mom.params();
+            final double[] out = new double[a.length];
+            final int cut = JiaUtils.between(1, a.length - 1);
+            System.arraycopy(a, 0, out, 0, cut);
+            System.arraycopy(b, cut, out, cut, out.length - cut);
+            return dad.getTopology().chromosome(out);
+        }
 
-        // Layers and neurons
-        // [ 
-        //   [ [<TYPE>, <BIAS>, <WEIGHT 0...n>], [<TYPE>, <BIAS>, <WEIGHT 0...n>] ],
-        //   [ [<TYPE>, <BIAS>, <WEIGHT 0...n>], [<TYPE>, <BIAS>, <WEIGHT 0...n>] ],
-        // ]
-        List<List<List<Double>>> outData = new ArrayList<>();
-        List<List<List<Double>>> dadData = DECODER_DNA_LIST.decode(dad.getDna());
-        List<List<List<Double>>> momData = DECODER_DNA_LIST.decode(mom.getDna());
+        final double[][] dnas = {dad.dna(), mom.dna()};
+        final GenomeIndex[] indexes = {dad.index(), mom.index()};
 
-        int dadLayers = dadData.size();
-        int momLayers = momData.size();
+        int dadLayers = indexes[0].layers();
+        int momLayers = indexes[1].layers();
 
         // Escolhe o ponto de corte (um layer)
         final int ltLayers = Math.min(dadLayers, momLayers);
@@ -70,19 +82,13 @@ public class Crossover {
         }
 
         // O menor layer será a primeira parte, o maior a segunda parte
-        List<List<List<Double>>> ltData = dadLayers <= momLayers ? dadData : momData;
-        List<List<List<Double>>> gtData = dadLayers > momLayers ? dadData : momData;
-
-        for (int i = 0; i < idxLayer; i++) {
-            outData.add(ltData.get(i));
-        }
+        final int lt = dadLayers <= momLayers ? 0 : 1;
+        final int gt = 1 - lt;
 
-        for (int i = idxLayer, j = gtData.size(); i < j; i++) {
-            outData.add(gtData.get(i));
-        }
-
-        // Gera o novo DNA a partir das informações dos neurons
-        return new Chromosome(DECODER_DNA_LIST.encode(outData));
+        return splice(dnas, indexes,
+                new int[]{lt, 0, idxLayer},
+                new int[]{gt, idxLayer, indexes[gt].layers()}
+        );
     }
 
     /**
@@ -97,47 +103,38 @@ public class Crossover {
      * @return
      */
     public static Chromosome twoPoints(Chromosome dad, Chromosome mom) {
-        // Layers and neurons
-        // [ 
-        //   [ [<TYPE>, <BIAS>, <WEIGHT 0...n>], [<TYPE>, <BIAS>, <WEIGHT 0...n>] ],
-        //   [ [<TYPE>, <BIAS>, <WEIGHT 0...n>], [<TYPE>, <BIAS>, <WEIGHT 0...n>] ],
-        // ]
-        List<List<List<Double>>> outData = new ArrayList<>();
-        List<List<List<Double>>> dadData = DECODER_DNA_LIST.decode(dad.getDna());
-        List<List<List<Double>>> momData = DECODER_DNA_LIST.decode(mom.getDna());
-
-        List<List<List<Double>>> initData;
-        List<List<List<Double>>> midData;
-        if (JiaUtils.coin()) {
-            // Pai no inicio e fim
-            initData = dadData;
-            midData = momData;
-        } else {
-            // Mae no inicio e fim
-            initData = momData;
-            midData = dadData;
+        if (isFixed(dad, mom)) {
+            final boolean coin = JiaUtils.coin();
+            final double[] init = coin ? dad.params() : mom.params();
+            final double[] mid = coin ? mom.params() : dad.params();
+            final double[] out = init.clone();
+            final int start = JiaUtils.between(0, out.length - 1);
+            final int end = JiaUtils.between(start + 1, out.length);
+            System.arraycopy(mid, start, out, start, end - start);
+            return dad.getTopology().chromosome(out);
         }
 
-        int idxInitOne = Math.max((int) JiaUtils.between(initData.size() * .20, initData.size() * 0.50), 1);
-        int idxInitTwo = Math.min((int) JiaUtils.between(initData.size() * .50, initData.size() * 0.80), initData.size() - 1);
+        final double[][] dnas = {dad.dna(), mom.dna()};
+        final GenomeIndex[] indexes = {dad.index(), mom.index()};
 
-        int idxMidStart = (int) JiaUtils.between(0, midData.size() * 0.40);
-        int idxMidEnd = (int) JiaUtils.between(midData.size() * .60, midData.size());
+        // Pai ou mãe no inicio e fim
+        final int init = JiaUtils.coin() ? 0 : 1;
+        final int mid = 1 - init;
+        final int initLayers = indexes[init].layers();
+        final int midLayers = indexes[mid].layers();
 
-        for (int i = 0; i < idxInitOne; i++) {
-            outData.add(initData.get(i));
-        }
+        // O último layer (saída) sempre é copiado do primeiro pai
+        int idxInitTwo = Math.min((int) JiaUtils.between(initLayers * .50, initLayers * 0.80), initLayers - 1);
+        int idxInitOne = Math.min(Math.max((int) JiaUtils.between(initLayers * .20, initLayers * 0.50), 1), idxInitTwo);
 
-        for (int i = idxMidStart; i < idxMidEnd; i++) {
-            outData.add(midData.get(i));
-        }
+        int idxMidStart = (int) JiaUtils.between(0, midLayers * 0.40);
+        int idxMidEnd = (int) JiaUtils.between(midLayers * .60, midLayers);
 
-        for (int i = idxInitTwo, l = initData.size(); i < l; i++) {
-            outData.add(initData.get(i));
-        }
-
-        // Gera o novo DNA a partir das informações dos neurons
-        return new Chromosome(DECODER_DNA_LIST.encode(outData));
+        return splice(dnas, indexes,
+                new int[]{init, 0, idxInitOne},
+                new int[]{mid, idxMidStart, idxMidEnd},
+                new int[]{init, idxInitTwo, initLayers}
+        );
     }
 
     /**
@@ -145,13 +142,50 @@ public class Crossover {
      *
      * Os Neuron são copiados aleatóriamento do primeiro ou segundo pai
      *
+     * A estrutura do filho é a de um dos pais, escolhido aleatoriamente. Cada neuronio é copiado do neuronio de mesmo
+     * índice da camada correspondente do outro pai, quando existir, com 50% de chance.
+     *
      * @param dad
      * @param mom
      * @return
      */
     public static Chromosome uniform(Chromosome dad, Chromosome mom) {
-        
-        return null;
+        if (isFixed(dad, mom)) {
+            final double[] a = dad.params();
+            final double[] b = mom.params();
+            final double[] out = new double[a.length];
+            final Random random = JiaUtils.random();
+            for (int i = 0; i < out.length; i++) {
+                out[i] = random.nextBoolean() ? a[i] : b[i];
+            }
+            return dad.getTopology().chromosome(out);
+        }
+
+        final boolean coin = JiaUtils.coin();
+        final double[] base = coin ? dad.dna() : mom.dna();
+        final double[] other = coin ? mom.dna() : dad.dna();
+        final GenomeIndex baseIndex = coin ? dad.index() : mom.index();
+        final GenomeIndex otherIndex = coin ? mom.index() : dad.index();
+        final int baseLayers = baseIndex.layers();
+        final int otherLayers = otherIndex.layers();
+
+        final DnaBuilder builder = new DnaBuilder(base.length);
+        for (int l = 0; l < baseLayers; l++) {
+            final int size = baseIndex.size(l);
+            final int inputs = baseIndex.inputs(l);
+            final int o = corresponding(l, baseLayers, otherLayers);
+            final int otherSize = o < 0 ? 0 : otherIndex.size(o);
+
+            builder.layer(size, inputs);
+            for (int n = 0; n < size; n++) {
+                if (n < otherSize && JiaUtils.coin()) {
+                    neuron(builder, other, otherIndex, o, n, inputs);
+                } else {
+                    builder.copy(base, baseIndex.neuronOffset(l, n), NEURON_FIELDS + inputs);
+                }
+            }
+        }
+        return new Chromosome(builder.build());
     }
 
     /**
@@ -159,12 +193,65 @@ public class Crossover {
      *
      * Os cromossomos das camadas de mesmo índice são combinados
      *
+     * O filho possui a quantidade de camadas do maior pai. Quando as duas camadas existem, o tamanho da camada do filho é
+     * escolhido entre o tamanho das camadas dos pais e os neuronios são intercalados entre o pai e a mãe. As camadas
+     * existentes somente no maior pai são copiadas integralmente.
+     *
+     * Na topologia fixa as camadas de mesmo índice possuem o mesmo tamanho, sendo equivalente ao cruzamento uniforme.
+     *
      * @param dad
      * @param mom
      * @return
      */
     public static Chromosome merge(Chromosome dad, Chromosome mom) {
-        return null;
+        if (isFixed(dad, mom)) {
+            return uniform(dad, mom);
+        }
+
+        final double[][] dnas = {dad.dna(), mom.dna()};
+        final GenomeIndex[] indexes = {dad.index(), mom.index()};
+        final int dadLayers = indexes[0].layers();
+        final int momLayers = indexes[1].layers();
+        final int layers = Math.max(dadLayers, momLayers);
+
+        // Tamanho de cada camada do filho
+        final int[] sizes = new int[layers];
+        int length = 0;
+        int prev = indexes[0].inputs(0);
+        for (int l = 0; l < layers; l++) {
+            final int d = corresponding(l, layers, dadLayers);
+            final int m = corresponding(l, layers, momLayers);
+            final int dadSize = d < 0 ? 0 : indexes[0].size(d);
+            final int momSize = m < 0 ? 0 : indexes[1].size(m);
+            if (d < 0 || m < 0) {
+                sizes[l] = Math.max(dadSize, momSize);
+            } else {
+                sizes[l] = JiaUtils.between(Math.min(dadSize, momSize), Math.max(dadSize, momSize));
+            }
+            length += DnaBuilder.length(sizes[l], prev);
+            prev = sizes[l];
+        }
+
+        final DnaBuilder builder = new DnaBuilder(length);
+        prev = indexes[0].inputs(0);
+        for (int l = 0; l < layers; l++) {
+            final int d = corresponding(l, layers, dadLayers);
+            final int m = corresponding(l, layers, momLayers);
+            final int dadSize = d < 0 ? 0 : indexes[0].size(d);
+            final int momSize = m < 0 ? 0 : indexes[1].size(m);
+
+            builder.layer(sizes[l], prev);
+            for (int n = 0; n < sizes[l]; n++) {
+                // Neuronios pares do pai e ímpares da mãe, completando com o maior quando o outro não possuir
+                if (n < dadSize && (n % 2 == 0 || n >= momSize)) {
+                    neuron(builder, dnas[0], indexes[0], d, n, prev);
+                } else {
+                    neuron(builder, dnas[1], indexes[1], m, n, prev);
+                }
+            }
+            prev = sizes[l];
+        }
+        return new Chromosome(builder.build());
     }
 
     /**
@@ -172,11 +259,144 @@ public class Crossover {
      *
      * É realizada uma operação aritmética em cada Neuron para obter a nova geração
      *
+     * A estrutura do filho é a de um dos pais, escolhido aleatoriamente. O bias e os pesos dos neuronios presentes nos
+     * dois pais são a combinação linear <code>a * base + (1 - a) * outro</code>, com <code>a</code> sorteado para o
+     * cruzamento, e o tipo é herdado de um dos pais com 50% de chance.
+     *
      * @param dad
      * @param mom
      * @return
      */
     public static Chromosome arithmetic(Chromosome dad, Chromosome mom) {
-        return null;
+        if (isFixed(dad, mom)) {
+            final double[] x = dad.params();
+            final double[] y = mom.params();
+            final double[] out = new double[x.length];
+            final double a = JiaUtils.random().nextDouble();
+            for (int i = 0; i < out.length; i++) {
+                out[i] = a * x[i] + (1 - a) * y[i];
+            }
+            return dad.getTopology().chromosome(out);
+        }
+
+        final boolean coin = JiaUtils.coin();
+        final double[] dna = coin ? dad.getDna() : mom.getDna();
+        final double[] other = coin ? mom.dna() : dad.dna();
+        final GenomeIndex index = coin ? dad.index() : mom.index();
+        final GenomeIndex otherIndex = coin ? mom.index() : dad.index();
+        final int layers = index.layers();
+        final int otherLayers = otherIndex.layers();
+        final double a = JiaUtils.random().nextDouble();
+
+        for (int l = 0; l < layers; l++) {
+            final int o = corresponding(l, layers, otherLayers);
+            if (o < 0) {
+                continue;
+            }
+            final int size = Math.min(index.size(l), otherIndex.size(o));
+            final int weights = Math.min(index.inputs(l), otherIndex.inputs(o));
+
+            for (int n = 0; n < size; n++) {
+                final int i = index.neuronOffset(l, n);
+                final int j = otherIndex.neuronOffset(o, n);
+                if (JiaUtils.coin()) {
+                    dna[i + IDX_N_TYPE] = other[j + IDX_N_TYPE];
+                }
+                dna[i + IDX_N_BIAS] = a * dna[i + IDX_N_BIAS] + (1 - a) * other[j + IDX_N_BIAS];
+                for (int w = 0; w < weights; w++) {
+                    dna[i + IDX_N_WEIGHT + w] = a * dna[i + IDX_N_WEIGHT + w] + (1 - a) * other[j + IDX_N_WEIGHT + w];
+                }
+            }
+        }
+        return new Chromosome(dna);
+    }
+
+    /**
+     * Verifica se os pais possuem a mesma topologia fixa
+     */
+    private static boolean isFixed(Chromosome dad, Chromosome mom) {
+        return dad.getTopology() != null && dad.getTopology().equals(mom.getTopology());
+    }
+
+    /**
+     * Constrói o filho a partir de trechos de camadas dos pais
+     *
+     * @param dnas DNA dos pais
+     * @param indexes Índice da estrutura de cada DNA
+     * @param segments Trechos na forma [pai, primeira camada, última camada (exclusivo)]
+     * @return
+     */
+    private static Chromosome splice(double[][] dnas, GenomeIndex[] indexes, int[]... segments) {
+        // Os pais possuem a mesma quantidade de entradas
+        final int inputs = indexes[0].inputs(0);
+
+        int length = 0;
+        int prev = inputs;
+        for (int[] segment : segments) {
+            for (int l = segment[1]; l < segment[2]; l++) {
+                final int size = indexes[segment[0]].size(l);
+                length += DnaBuilder.length(size, prev);
+                prev = size;
+            }
+        }
+
+        final DnaBuilder builder = new DnaBuilder(length);
+        prev = inputs;
+        for (int[] segment : segments) {
+            final double[] dna = dnas[segment[0]];
+            final GenomeIndex index = indexes[segment[0]];
+            for (int l = segment[1]; l < segment[2]; l++) {
+                final int size = index.size(l);
+                builder.layer(size, prev);
+                if (index.inputs(l) == prev) {
+                    // Mesma quantidade de entradas, copia todos os neuronios de uma vez
+                    builder.copy(dna, index.layerOffset(l) + LAYER_FIELDS, size * (NEURON_FIELDS + prev));
+                } else {
+                    for (int n = 0; n < size; n++) {
+                        neuron(builder, dna, index, l, n, prev);
+                    }
+                }
+                prev = size;
+            }
+        }
+        return new Chromosome(builder.build());
+    }
+
+    /**
+     * Copia um neuronio, ajustando a quantidade de pesos para as entradas informadas. Os pesos que sobram são removidos
+     * e os que faltam repetem o último peso
+     *
+     * @param builder
+     * @param dna
+     * @param index Índice da estrutura do DNA
+     * @param layer Camada do neuronio
+     * @param neuron Índice do neuronio na camada
+     * @param inputs Quantidade de pesos do neuronio copiado
+     */
+    private static void neuron(DnaBuilder builder, double[] dna, GenomeIndex index, int layer, int neuron, int inputs) {
+        final int prev = index.inputs(layer);
+        final int at = index.neuronOffset(layer, neuron);
+        final int copy = Math.min(prev, inputs);
+        builder.copy(dna, at, NEURON_FIELDS + copy);
+        final double last = dna[at + IDX_N_WEIGHT + prev - 1];
+        for (int w = copy; w < inputs; w++) {
+            builder.weight(last);
+        }
+    }
+
+    /**
+     * Camada de outro DNA que corresponde à camada informada. A camada de saída corresponde à camada de saída e as
+     * camadas ocultas às camadas ocultas de mesmo índice
+     *
+     * @param layer Índice da camada
+     * @param layers Quantidade de camadas do DNA da camada informada
+     * @param target Quantidade de camadas do outro DNA
+     * @return O índice da camada no outro DNA, ou -1 quando não existir
+     */
+    private static int corresponding(int layer, int layers, int target) {
+        if (layer == layers - 1) {
+            return target - 1;
+        }
+        return layer < target - 1 ? layer : -1;
     }
 }
@@ -0,0 +1,146 @@
+package com.github.nidorx.jia.ga;
+
+import static com.github.nidorx.jia.ga.Chromosome.BIAS_MAX;
+import static com.github.nidorx.jia.ga.Chromosome.BIAS_MIN;
+import static com.github.nidorx.jia.ga.Chromosome.LAYER_FIELDS;
+import static com.github.nidorx.jia.ga.Chromosome.NEURON_FIELDS;
+import static com.github.nidorx.jia.ga.Chromosome.WEIGHT_MAX;
+import static com.github.nidorx.jia.ga.Chromosome.WEIGHT_MIN;
+import com.github.nidorx.jia.util.JiaUtils;
+
+/**
+ * Construtor de DNA sobre um único array primitivo
+ *
+ * O tamanho final do DNA deve ser calculado antes da construção (ver {@link #length(int, int)}), os valores são
+ * escritos sequencialmente no array e os trechos inalterados de outro DNA são copiados via System.arraycopy, sem
+ * conversões para List&lt;Double&gt;.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public final class DnaBuilder {
+
+    private final double[] dna;
+
+    private int position;
+
+    /**
+     *
+     * @param length O tamanho final do DNA
+     */
+    public DnaBuilder(int length) {
+        this.dna = new double[length];
+    }
+
+    /**
+     * Quantidade de valores ocupados no DNA por uma camada
+     *
+     * @param size Quantidade de neuronios da camada
+     * @param inputs Quantidade de neuronios da camada anterior
+     * @return
+     */
+    public static int length(int size, int inputs) {
+        return LAYER_FIELDS + size * (NEURON_FIELDS + inputs);
+    }
+
+    /**
+     * Escreve o cabeçalho de uma camada, &lt;SIZE&gt; e &lt;PREV&gt;
+     *
+     * @param size
+     * @param inputs
+     * @return
+     */
+    public DnaBuilder layer(int size, int inputs) {
+        dna[position++] = size;
+        dna[position++] = inputs;
+        return this;
+    }
+
+    /**
+     * Escreve o cabeçalho de um neuronio, &lt;TYPE&gt; e &lt;BIAS&gt;, os pesos devem ser escritos em seguida
+     *
+     * @param type
+     * @param bias
+     * @return
+     */
+    public DnaBuilder neuron(double type, double bias) {
+        dna[position++] = type;
+        dna[position++] = bias;
+        return this;
+    }
+
+    /**
+     * Escreve um &lt;WEIGHT&gt;
+     *
+     * @param weight
+     * @return
+     */
+    public DnaBuilder weight(double weight) {
+        dna[position++] = weight;
+        return this;
+    }
+
+    /**
+     * Escreve pesos aleatórios
+     *
+     * @param count
+     * @return
+     */
+    public DnaBuilder randomWeights(int count) {
+        for (int i = 0; i < count; i++) {
+            dna[position++] = JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX);
+        }
+        return this;
+    }
+
+    /**
+     * Escreve neuronios aleatórios (&lt;TYPE&gt;, &lt;BIAS&gt; e &lt;WEIGHT&gt;)
+     *
+     * @param count Quantidade de neuronios
+     * @param inputs Quantidade de pesos de cada neuronio
+     * @return
+     */
+    public DnaBuilder randomNeurons(int count, int inputs) {
+        for (int i = 0; i < count; i++) {
+            neuron(Chromosome.Neuron.TYPE.random(), JiaUtils.between(BIAS_MIN, BIAS_MAX));
+            randomWeights(inputs);
+        }
+        return this;
+    }
+
+    /**
+     * Copia um trecho de outro DNA
+     *
+     * @param source
+     * @param from
+     * @param length
+     * @return
+     */
+    public DnaBuilder copy(double[] source, int from, int length) {
+        System.arraycopy(source, from, dna, position, length);
+        position += length;
+        return this;
+    }
+
+    /**
+     * Posição atual de escrita
+     *
+     * @return
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Obtém o DNA construído
+     *
+     * @return
+     */
+    public double[] build() {
+        if (position != dna.length) {
+            throw new IllegalStateException(String.format(
+                    "O DNA possui %d valores, porém foram escritos %d", dna.length, position
+            ));
+        }
+        return dna;
+    }
+}
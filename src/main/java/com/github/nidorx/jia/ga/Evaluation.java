@@ -0,0 +1,119 @@
+package com.github.nidorx.jia.ga;
+
+/**
+ * Contexto de execução de um indivíduo, permite informar a aptidão (fitness) parcial durante a execução
+ *
+ * Quando o GA possui {@link Algorithm#getRacingQuantile()} > 0, cada fitness parcial informado é comparado com o dos
+ * demais indivíduos no mesmo ponto de progresso. Indivíduos sem chance de estar entre os melhores são abortados
+ * (racing), evitando desperdício de processamento.
+ *
+ * Exemplo:
+ *
+ * <pre>
+ * public double run(Input input, Output output, Evaluation evaluation) {
+ *     for (int i = 0; i &lt; chunks; i++) {
+ *         // Processa uma parte do backtest
+ *         evaluation.report((i + 1.0) / chunks, fitness);
+ *     }
+ *     return fitness;
+ * }
+ * </pre>
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class Evaluation {
+
+    private final Racing racing;
+
+    private final double fidelity;
+
+    private double progress;
+
+    private double fitness = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Última faixa de progresso comparada no racing
+     */
+    private int rung = -1;
+
+    Evaluation(Racing racing) {
+        this(racing, 1.0);
+    }
+
+    Evaluation(Racing racing, double fidelity) {
+        this.racing = racing;
+        this.fidelity = fidelity;
+    }
+
+    /**
+     * Fidelidade desejada para a execução, entre 0 e 1
+     *
+     * Indica a fração do conjunto de dados que deve ser usada na execução (ex. 0.1 para executar somente 10% do
+     * backtest), 1 indica o conjunto de dados completo. O fitness retornado deve estar na mesma escala em qualquer
+     * fidelidade (ex. normalizado pelo tamanho da amostra).
+     *
+     * @see Algorithm#getFidelity(int)
+     * @return
+     */
+    public double getFidelity() {
+        return fidelity;
+    }
+
+    /**
+     * Informa o fitness parcial da execução
+     *
+     * O fitness parcial deve estar na mesma escala do fitness final (ex. uma projeção), pois quando a execução é
+     * abortada o último fitness parcial é usado como fitness do indivíduo.
+     *
+     * @param progress Progresso da execução, entre 0 e 1
+     * @param fitness Fitness parcial
+     * @throws Aborted Quando o indivíduo deve ser abortado, não deve ser tratado pela implementação do run
+     */
+    public void report(double progress, double fitness) {
+        if (progress < 0 || progress > 1) {
+            throw new IllegalArgumentException("O progresso deve estar no intervalo [0, 1]");
+        }
+        this.progress = progress;
+        this.fitness = fitness;
+
+        if (racing != null) {
+            final int current = racing.rung(progress);
+            if (current > rung) {
+                rung = current;
+                if (!racing.accept(current, fitness)) {
+                    throw new Aborted(progress, fitness);
+                }
+            }
+        }
+    }
+
+    /**
+     * Progresso informado no último {@link #report(double, double)}
+     *
+     * @return
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Fitness informado no último {@link #report(double, double)}
+     *
+     * @return
+     */
+    public double getFitness() {
+        return fitness;
+    }
+
+    /**
+     * Lançado quando o indivíduo é abortado pelo racing
+     */
+    public static class Aborted extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public Aborted(double progress, double fitness) {
+            super(String.format("Execução abortada com %.1f%% de progresso, fitness parcial %.10f", progress * 100, fitness));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.ga.storage.Info;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache da aptidão (fitness) dos cromossomos já executados
+ *
+ * Evita que cromossomos inalterados (ex. selecionados por elitismo) sejam executados novamente nas gerações seguintes.
+ * Só deve ser usado quando a função de aptidão é determinística.
+ *
+ * A chave é o {@link Chromosome#digest()} do DNA, sendo a igualdade confirmada via
+ * {@link Chromosome#equals(java.lang.Object)}. Possui tamanho máximo, removendo os itens usados há mais tempo (LRU).
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class FitnessCache {
+
+    private final int capacity;
+
+    private final LinkedHashMap<Key, Double> entries;
+
+    /**
+     *
+     * @param capacity Quantidade máxima de cromossomos mantidos no cache
+     */
+    public FitnessCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser ao menos 1");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                return size() > FitnessCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Obtém a aptidão do cromossomo, se existir no cache
+     *
+     * @param chromosome
+     * @return A aptidão, ou null quando o cromossomo não existe no cache
+     */
+    public synchronized Double get(Chromosome chromosome) {
+        return entries.get(new Key(chromosome));
+    }
+
+    /**
+     * Adiciona a aptidão do cromossomo no cache
+     *
+     * @param chromosome
+     * @param fitness
+     */
+    public synchronized void put(Chromosome chromosome, double fitness) {
+        entries.put(new Key(chromosome), fitness);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtém o conteúdo do cache para persistência, do item usado há mais tempo para o mais recente
+     *
+     * @param generation Geração atual do GA
+     * @return
+     * @throws Exception
+     */
+    public synchronized Info toInfo(int generation) throws Exception {
+        final double[][] dnas = new double[entries.size()][];
+        final double[] fitness = new double[entries.size()];
+        int i = 0;
+        for (Map.Entry<Key, Double> entry : entries.entrySet()) {
+            dnas[i] = entry.getKey().chromosome.getDna();
+            fitness[i] = entry.getValue();
+            i++;
+        }
+        return new Info(generation, dnas, fitness);
+    }
+
+    /**
+     * Adiciona no cache os cromossomos persistidos
+     *
+     * @param info
+     */
+    public void load(Info info) {
+        load(info, null);
+    }
+
+    /**
+     * Adiciona no cache os cromossomos persistidos, convertidos para a topologia fixa informada
+     *
+     * Os cromossomos persistidos possuem o DNA completo, os que não possuem a topologia informada são ignorados
+     *
+     * @param info
+     * @param topology A topologia fixa dos cromossomos, ou null quando o DNA possui a estrutura completa
+     */
+    public synchronized void load(Info info, Topology topology) {
+        for (int i = 0, l = info.fitness.length; i < l; i++) {
+            final double[] dna = info.population[i];
+            final Chromosome chromosome;
+            if (topology == null) {
+                chromosome = new Chromosome(dna);
+            } else if (topology.equals(Topology.of(dna))) {
+                chromosome = topology.chromosome(topology.params(dna));
+            } else {
+                continue;
+            }
+            entries.put(new Key(chromosome), info.fitness[i]);
+        }
+    }
+
+    /**
+     * Chave do cache
+     */
+    private static final class Key {
+
+        private final long digest;
+
+        private final Chromosome chromosome;
+
+        Key(Chromosome chromosome) {
+            this.digest = chromosome.digest();
+            this.chromosome = chromosome;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (digest ^ (digest >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return digest == other.digest && chromosome.equals(other.chromosome);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.mlp.Layer;
+import com.github.nidorx.jia.mlp.Network;
+import com.github.nidorx.jia.mlp.Neuron;
+import com.github.nidorx.jia.mlp.Transfer;
+import java.util.Random;
+
+/**
+ * Modelo substituto (surrogate) da função de aptidão
+ *
+ * Uma MLP treinada de forma online com os indivíduos já executados, que estima a aptidão de um cromossomo a partir de
+ * características da sua estrutura (quantidade e tamanho das camadas, funções de transferência e estatísticas dos pesos
+ * e bias). Permite descartar, sem execução, os descendentes com pior aptidão estimada.
+ *
+ * A aptidão é normalizada pelo menor e maior valor já observado, a estimativa serve somente para ordenar os
+ * cromossomos.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class FitnessSurrogate {
+
+    /**
+     * Quantidade de características extraídas de cada cromossomo
+     */
+    public static final int FEATURES = 7 + Chromosome.Neuron.TYPE.values().length;
+
+    private static final String[] INPUT_NAMES = new String[FEATURES];
+
+    private static final String[] OUTPUT_NAMES = new String[]{"fitness"};
+
+    static {
+        for (int i = 0; i < FEATURES; i++) {
+            INPUT_NAMES[i] = "f" + i;
+        }
+    }
+
+    private final Network network;
+
+    private final double[] features = new double[FEATURES];
+
+    private final double[] expected = new double[1];
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private int samples;
+
+    public FitnessSurrogate() {
+        this(8, 0.05);
+    }
+
+    /**
+     *
+     * @param hidden Quantidade de neuronios da camada oculta
+     * @param learningRate Learning rate do treinamento online
+     */
+    public FitnessSurrogate(int hidden, double learningRate) {
+        if (hidden < 1) {
+            throw new IllegalArgumentException("O surrogate deve possuir ao menos um neuronio na camada oculta");
+        }
+        final Random random = new Random();
+        this.network = new Network(
+                new Layer[]{layer(random, hidden, FEATURES, Transfer.TANH), layer(random, 1, hidden, Transfer.SIGMOID)},
+                INPUT_NAMES,
+                OUTPUT_NAMES
+        );
+        this.network.setLearningRate(learningRate);
+    }
+
+    /**
+     * Cria uma camada com pesos pequenos e centrados em zero, evitando a saturação do TANH
+     */
+    private static Layer layer(Random random, int size, int inputs, Transfer transfer) {
+        final double scale = 1.0 / Math.sqrt(inputs);
+        final Neuron[] neurons = new Neuron[size];
+        for (int i = 0; i < size; i++) {
+            final double[] weights = new double[inputs];
+            for (int j = 0; j < inputs; j++) {
+                weights[j] = (random.nextDouble() * 2 - 1) * scale;
+            }
+            neurons[i] = new Neuron(weights, 0.0, transfer);
+        }
+        return new Layer(neurons);
+    }
+
+    /**
+     * Quantidade de indivíduos usados no treinamento
+     *
+     * @return
+     */
+    public synchronized int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Treina o modelo com a aptidão real de um cromossomo
+     *
+     * @param chromosome
+     * @param fitness
+     */
+    public synchronized void learn(Chromosome chromosome, double fitness) {
+        if (Double.isNaN(fitness) || Double.isInfinite(fitness)) {
+            return;
+        }
+        min = Math.min(min, fitness);
+        max = Math.max(max, fitness);
+        samples++;
+
+        expected[0] = normalize(fitness);
+        network.learn(features(chromosome, features), expected);
+    }
+
+    /**
+     * Estima a aptidão de um cromossomo
+     *
+     * @param chromosome
+     * @return A aptidão estimada, ou NaN quando o modelo ainda não foi treinado
+     */
+    public synchronized double predict(Chromosome chromosome) {
+        if (samples == 0) {
+            return Double.NaN;
+        }
+        final double value = network.input().set(features(chromosome, features)).get(0);
+        return max > min ? min + value * (max - min) : min;
+    }
+
+    private double normalize(double fitness) {
+        return max > min ? (fitness - min) / (max - min) : 0.5;
+    }
+
+    /**
+     * Extrai as características do cromossomo, todas no intervalo [0, 1] quando os pesos e bias estão nos limites do
+     * {@link Chromosome}
+     *
+     * @param chromosome
+     * @param out Array de tamanho {@link #FEATURES}
+     * @return O array informado
+     */
+    public static double[] features(Chromosome chromosome, double[] out) {
+        final GenomeIndex index = chromosome.index();
+        final Chromosome.Neuron.TYPE[] types = Chromosome.Neuron.TYPE.values();
+
+        int neurons = 0;
+        int largest = 0;
+        int weights = 0;
+        double weightSum = 0;
+        double weightSq = 0;
+        double biasSum = 0;
+        double biasSq = 0;
+        final int[] count = new int[types.length];
+
+        for (int l = 0; l < index.layers(); l++) {
+            largest = Math.max(largest, index.size(l));
+        }
+
+        final GenomeIndex.Cursor neuron = chromosome.cursor();
+        while (neuron.next()) {
+            final int inputs = neuron.inputs();
+            neurons++;
+            final int type = (int) neuron.type() - 1;
+            if (type >= 0 && type < types.length) {
+                count[type]++;
+            }
+            final double bias = neuron.bias();
+            biasSum += bias;
+            biasSq += bias * bias;
+            for (int w = 0; w < inputs; w++) {
+                final double weight = neuron.weight(w);
+                weightSum += weight;
+                weightSq += weight * weight;
+            }
+            weights += inputs;
+        }
+
+        final double weightMean = weights == 0 ? 0 : weightSum / weights;
+        final double biasMean = neurons == 0 ? 0 : biasSum / neurons;
+
+        // Tamanhos comprimidos para o intervalo [0, 1)
+        out[0] = index.layers() / (index.layers() + 2.0);
+        out[1] = neurons / (neurons + 10.0);
+        out[2] = largest / (largest + 5.0);
+        out[3] = weightMean;
+        out[4] = weights == 0 ? 0 : Math.sqrt(Math.max(0, weightSq / weights - weightMean * weightMean));
+        out[5] = biasMean;
+        out[6] = neurons == 0 ? 0 : Math.sqrt(Math.max(0, biasSq / neurons - biasMean * biasMean));
+        for (int i = 0; i < types.length; i++) {
+            out[7 + i] = neurons == 0 ? 0 : (double) count[i] / neurons;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,364 @@
+package com.github.nidorx.jia.ga;
+
+import static com.github.nidorx.jia.ga.Chromosome.IDX_L_PREV;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_L_SIZE;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_BIAS;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_TYPE;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_WEIGHT;
+import static com.github.nidorx.jia.ga.Chromosome.LAYER_FIELDS;
+import static com.github.nidorx.jia.ga.Chromosome.NEURON_FIELDS;
+
+/**
+ * Índice da estrutura de um DNA
+ *
+ * Calculado uma única vez, guarda a posição do início de cada camada e de cada neuronio, além do tamanho e quantidade
+ * de entradas (pesos) de cada camada. Permite acessar o neuronio <code>n</code> da camada <code>l</code> em O(1), sem
+ * percorrer o DNA.
+ *
+ * O mesmo índice pode ser usado para qualquer DNA com a mesma estrutura (ex. uma cópia do DNA indexado), os valores
+ * são lidos e alterados no próprio array através de um {@link Cursor}.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public final class GenomeIndex {
+
+    /**
+     * Início de cada camada, o último item é o tamanho do DNA
+     */
+    private final int[] layerOffsets;
+
+    /**
+     * Quantidade de neuronios de cada camada
+     */
+    private final int[] sizes;
+
+    /**
+     * Quantidade de entradas (pesos) dos neuronios de cada camada
+     */
+    private final int[] inputs;
+
+    /**
+     * Índice global do primeiro neuronio de cada camada, o último item é a quantidade total de neuronios
+     */
+    private final int[] firstNeurons;
+
+    /**
+     * Início de cada neuronio, pelo índice global
+     */
+    private final int[] neuronOffsets;
+
+    /**
+     * Camada de cada neuronio, pelo índice global
+     */
+    private final int[] neuronLayers;
+
+    public GenomeIndex(double[] dna) {
+        int layers = 0;
+        int neurons = 0;
+        for (int i = 0, l = dna.length; i < l; layers++) {
+            final int size = (int) dna[i + IDX_L_SIZE];
+            neurons += size;
+            i += DnaBuilder.length(size, (int) dna[i + IDX_L_PREV]);
+        }
+
+        layerOffsets = new int[layers + 1];
+        sizes = new int[layers];
+        inputs = new int[layers];
+        firstNeurons = new int[layers + 1];
+        neuronOffsets = new int[neurons];
+        neuronLayers = new int[neurons];
+
+        for (int li = 0, i = 0, n = 0; li < layers; li++) {
+            final int size = (int) dna[i + IDX_L_SIZE];
+            final int prev = (int) dna[i + IDX_L_PREV];
+            layerOffsets[li] = i;
+            sizes[li] = size;
+            inputs[li] = prev;
+            firstNeurons[li] = n;
+            for (int ni = 0, k = i + LAYER_FIELDS; ni < size; ni++, n++, k += NEURON_FIELDS + prev) {
+                neuronOffsets[n] = k;
+                neuronLayers[n] = li;
+            }
+            i += DnaBuilder.length(size, prev);
+        }
+        layerOffsets[layers] = dna.length;
+        firstNeurons[layers] = neurons;
+    }
+
+    /**
+     * Tamanho do DNA indexado
+     *
+     * @return
+     */
+    public int length() {
+        return layerOffsets[layerOffsets.length - 1];
+    }
+
+    /**
+     * Quantidade de camadas (hidden e output)
+     *
+     * @return
+     */
+    public int layers() {
+        return sizes.length;
+    }
+
+    /**
+     * Quantidade total de neuronios
+     *
+     * @return
+     */
+    public int neurons() {
+        return neuronOffsets.length;
+    }
+
+    /**
+     * Quantidade de neuronios da camada
+     *
+     * @param layer
+     * @return
+     */
+    public int size(int layer) {
+        return sizes[layer];
+    }
+
+    /**
+     * Quantidade de entradas (pesos) dos neuronios da camada
+     *
+     * @param layer
+     * @return
+     */
+    public int inputs(int layer) {
+        return inputs[layer];
+    }
+
+    /**
+     * Posição do início da camada no DNA (&lt;SIZE&gt;)
+     *
+     * @param layer
+     * @return
+     */
+    public int layerOffset(int layer) {
+        return layerOffsets[layer];
+    }
+
+    /**
+     * Posição do início do neuronio no DNA (&lt;TYPE&gt;)
+     *
+     * @param layer
+     * @param index Índice do neuronio na camada
+     * @return
+     */
+    public int neuronOffset(int layer, int index) {
+        return neuronOffsets[neuron(layer, index)];
+    }
+
+    /**
+     * Índice global do neuronio, entre 0 e {@link #neurons()}
+     *
+     * @param layer
+     * @param index Índice do neuronio na camada
+     * @return
+     */
+    public int neuron(int layer, int index) {
+        if (index < 0 || index >= sizes[layer]) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "A camada %d possui %d neuronios, índice informado %d", layer, sizes[layer], index
+            ));
+        }
+        return firstNeurons[layer] + index;
+    }
+
+    /**
+     * Cria um cursor para leitura e alteração dos neuronios do DNA informado
+     *
+     * @param dna DNA com a mesma estrutura do DNA indexado
+     * @return
+     */
+    public Cursor cursor(double[] dna) {
+        return cursor(dna, false);
+    }
+
+    Cursor cursor(double[] dna, boolean readOnly) {
+        if (dna.length != length()) {
+            throw new IllegalArgumentException(String.format(
+                    "O DNA informado possui %d valores, o índice foi criado para %d", dna.length, length()
+            ));
+        }
+        return new Cursor(this, dna, readOnly);
+    }
+
+    /**
+     * Flyweight de um neuronio, lê e altera os valores diretamente no DNA
+     *
+     * Inicialmente posicionado antes do primeiro neuronio, pode ser usado como:
+     *
+     * <pre>
+     * while (cursor.next()) {
+     *     cursor.bias(cursor.bias() * 2);
+     * }
+     * </pre>
+     */
+    public static final class Cursor {
+
+        private final GenomeIndex index;
+
+        private final double[] dna;
+
+        private final boolean readOnly;
+
+        private int neuron = -1;
+
+        private int layer;
+
+        private int offset;
+
+        private Cursor(GenomeIndex index, double[] dna, boolean readOnly) {
+            this.index = index;
+            this.dna = dna;
+            this.readOnly = readOnly;
+        }
+
+        /**
+         * Avança para o próximo neuronio
+         *
+         * @return false quando não existem mais neuronios
+         */
+        public boolean next() {
+            if (neuron + 1 >= index.neurons()) {
+                return false;
+            }
+            moveTo(neuron + 1);
+            return true;
+        }
+
+        /**
+         * Posiciona o cursor no neuronio da camada informada
+         *
+         * @param layer
+         * @param index Índice do neuronio na camada
+         * @return
+         */
+        public Cursor moveTo(int layer, int index) {
+            return moveTo(this.index.neuron(layer, index));
+        }
+
+        /**
+         * Posiciona o cursor no neuronio informado
+         *
+         * @param neuron Índice global do neuronio
+         * @return
+         */
+        public Cursor moveTo(int neuron) {
+            this.neuron = neuron;
+            this.layer = index.neuronLayers[neuron];
+            this.offset = index.neuronOffsets[neuron];
+            return this;
+        }
+
+        /**
+         * Posiciona o cursor antes do primeiro neuronio
+         *
+         * @return
+         */
+        public Cursor reset() {
+            neuron = -1;
+            return this;
+        }
+
+        /**
+         * Índice global do neuronio
+         *
+         * @return
+         */
+        public int neuron() {
+            return neuron;
+        }
+
+        /**
+         * O número do layer a que este neuronio pertence
+         *
+         * @return
+         */
+        public int layer() {
+            return layer;
+        }
+
+        /**
+         * O índice deste neuronio no layer
+         *
+         * @return
+         */
+        public int index() {
+            return neuron - index.firstNeurons[layer];
+        }
+
+        /**
+         * O tamanho (em neuronios) do layer a que este neuronio pertence
+         *
+         * @return
+         */
+        public int layerSize() {
+            return index.sizes[layer];
+        }
+
+        /**
+         * Quantidade de entradas (pesos) deste neuronio
+         *
+         * @return
+         */
+        public int inputs() {
+            return index.inputs[layer];
+        }
+
+        /**
+         * Posição do início deste neuronio no DNA
+         *
+         * @return
+         */
+        public int offset() {
+            return offset;
+        }
+
+        public double type() {
+            return dna[offset + IDX_N_TYPE];
+        }
+
+        public Cursor type(double type) {
+            return set(offset + IDX_N_TYPE, type);
+        }
+
+        public double bias() {
+            return dna[offset + IDX_N_BIAS];
+        }
+
+        public Cursor bias(double bias) {
+            return set(offset + IDX_N_BIAS, bias);
+        }
+
+        public double weight(int input) {
+            return dna[weightAt(input)];
+        }
+
+        public Cursor weight(int input, double weight) {
+            return set(weightAt(input), weight);
+        }
+
+        private int weightAt(int input) {
+            if (input < 0 || input >= index.inputs[layer]) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "O neuronio possui %d pesos, índice informado %d", index.inputs[layer], input
+                ));
+            }
+            return offset + IDX_N_WEIGHT + input;
+        }
+
+        private Cursor set(int position, double value) {
+            if (readOnly) {
+                throw new UnsupportedOperationException("O DNA de um cromossomo não pode ser alterado");
+            }
+            dna[position] = value;
+            return this;
+        }
+    }
+}
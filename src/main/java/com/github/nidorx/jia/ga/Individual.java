@@ -1,6 +1,9 @@
 package com.github.nidorx.jia.ga;
 
 import com.github.nidorx.jia.ga.decoder.DecoderDnaLayers;
+import com.github.nidorx.jia.ga.decoder.DecoderDnaModel;
+import com.github.nidorx.jia.mlp.Layer;
+import com.github.nidorx.jia.mlp.Model;
 import com.github.nidorx.jia.mlp.Network;
 import java.util.Objects;
 
@@ -21,6 +24,8 @@ public class Individual {
 
     private Network network;
 
+    private Model model;
+
     /**
      * A aptidão do inidividuo, calculado após a execução do mesmo na resolução do problem
      */
@@ -41,6 +46,21 @@ public class Individual {
      */
     private Throwable error;
 
+    /**
+     * Indica que a execução foi abortada pelo racing
+     */
+    private boolean aborted;
+
+    /**
+     * Fidelidade da execução que gerou a aptidão, entre 0 e 1 (1 = conjunto de dados completo)
+     */
+    private double fidelity = 1.0;
+
+    /**
+     * Indica que a aptidão foi estimada pelo {@link FitnessSurrogate}, sem execução
+     */
+    private boolean predicted;
+
     public Individual(Chromosome chromosome, String[] inputNames, String[] outputNames) {
         this.chromosome = chromosome;
         this.inputNames = inputNames;
@@ -54,15 +74,41 @@ public class Individual {
      */
     public Network getNetwork() {
         if (network == null) {
-            network = new Network(
-                    DecoderDnaLayers.getInstance().decode(chromosome.getDna()),
-                    inputNames,
-                    outputNames
-            );
+            network = new Network(layers(chromosome), inputNames, outputNames);
         }
         return network;
     }
 
+    /**
+     * Obtém o modelo imutável da RNA do cromossomo do indivíduo
+     *
+     * O modelo pode ser compartilhado entre várias threads, cada uma usando o seu próprio {@link Model.Context}
+     *
+     * @return
+     */
+    public synchronized Model getModel() {
+        if (model == null) {
+            final Topology topology = chromosome.getTopology();
+            model = topology == null
+                    ? DecoderDnaModel.getInstance().decode(chromosome.dna())
+                    : topology.model(chromosome.params());
+        }
+        return model;
+    }
+
+    /**
+     * Decodifica as camadas da RNA do cromossomo, diretamente dos parâmetros quando a topologia é fixa
+     *
+     * @param chromosome
+     * @return
+     */
+    static Layer[] layers(Chromosome chromosome) {
+        final Topology topology = chromosome.getTopology();
+        return topology == null
+                ? DecoderDnaLayers.getInstance().decode(chromosome.dna())
+                : topology.layers(chromosome.params());
+    }
+
     public Double getFitness() {
         if (fitness == null) {
             return Double.NEGATIVE_INFINITY;
@@ -70,12 +116,92 @@ public class Individual {
         return fitness;
     }
 
+    /**
+     * Verifica se a aptidão do indivíduo já foi definida
+     *
+     * @return
+     */
+    public boolean hasFitness() {
+        return fitness != null;
+    }
+
     public void setFitness(double fitness) {
+        setFitness(fitness, 1.0);
+    }
+
+    /**
+     * Define a aptidão do indivíduo e a fidelidade da execução que a gerou
+     *
+     * @param fitness
+     * @param fidelity
+     */
+    public void setFitness(double fitness, double fidelity) {
         if (this.fitness == null) {
             this.fitness = fitness;
+            this.fidelity = fidelity;
         }
     }
 
+    /**
+     * Fidelidade da execução que gerou a aptidão, entre 0 e 1 (1 = conjunto de dados completo)
+     *
+     * @see Algorithm#getFidelity(int)
+     * @return
+     */
+    public double getFidelity() {
+        return fidelity;
+    }
+
+    /**
+     * Finaliza o indivíduo abortado pelo racing, usando o fitness parcial como aptidão
+     *
+     * @param fitness
+     */
+    public void abort(double fitness) {
+        abort(fitness, 1.0);
+    }
+
+    /**
+     * Finaliza o indivíduo abortado pelo racing, usando o fitness parcial como aptidão, na fidelidade da execução
+     *
+     * @param fitness
+     * @param fidelity
+     */
+    public void abort(double fitness, double fidelity) {
+        this.aborted = true;
+        setFitness(fitness, fidelity);
+    }
+
+    /**
+     * Verifica se a execução do indivíduo foi abortada pelo racing, neste caso a aptidão é parcial
+     *
+     * @return
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Define a aptidão estimada pelo {@link FitnessSurrogate}, sem execução do indivíduo (fidelidade 0)
+     *
+     * @param fitness
+     */
+    public void predict(double fitness) {
+        if (this.fitness == null) {
+            this.predicted = true;
+            setFitness(fitness, 0.0);
+        }
+    }
+
+    /**
+     * Verifica se a aptidão do indivíduo foi estimada pelo {@link FitnessSurrogate}, sem execução
+     *
+     * @return
+     */
+    public boolean isPredicted() {
+        return predicted;
+    }
+
     public long getStart() {
         return start;
     }
@@ -0,0 +1,168 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.util.Callback;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modelo de ilhas (Island Model) para execução de vários GAs em paralelo
+ *
+ * Cada ilha é um {@link Algorithm} independente, com sua própria população e {@link Algorithm#getStorage()} (ex. um
+ * diretório por ilha no {@link com.github.nidorx.jia.ga.storage.StorageFile}). Todas as ilhas são executadas
+ * simultaneamente, compartilhando o pool de threads do GA, portanto a barreira de geração de uma ilha não deixa os
+ * processadores ociosos.
+ *
+ * A cada {@link #getInterval()} gerações de uma ilha, os {@link #getMigrants()} melhores indivíduos são enviados às
+ * ilhas vizinhas, de acordo com a {@link Migration}. A migração é assíncrona, os imigrantes são adicionados na próxima
+ * geração da ilha de destino.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class Islands {
+
+    /**
+     * Topologia de migração entre as ilhas
+     */
+    public static enum Migration {
+        /**
+         * Cada ilha envia seus migrantes somente para a ilha seguinte (a última envia para a primeira)
+         */
+        RING,
+        /**
+         * Cada ilha envia seus migrantes para todas as outras ilhas
+         */
+        FULL
+    }
+
+    private final List<Algorithm> islands;
+
+    private final Migration migration;
+
+    private final int interval;
+
+    private final int migrants;
+
+    /**
+     *
+     * @param islands Os GAs de cada ilha
+     * @param migration Topologia de migração
+     * @param interval Quantidade de gerações entre cada migração
+     * @param migrants Quantidade de indivíduos (os melhores) enviados em cada migração
+     */
+    public Islands(List<Algorithm> islands, Migration migration, int interval, int migrants) {
+        if (islands.size() < 2) {
+            throw new IllegalArgumentException("É necessário informar ao menos 2 ilhas");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("O intervalo de migração deve ser ao menos 1");
+        }
+        if (migrants < 1) {
+            throw new IllegalArgumentException("A quantidade de migrantes deve ser ao menos 1");
+        }
+        this.islands = Collections.unmodifiableList(new ArrayList<>(islands));
+        this.migration = migration;
+        this.interval = interval;
+        this.migrants = migrants;
+
+        for (int i = 0, l = this.islands.size(); i < l; i++) {
+            final int index = i;
+            this.islands.get(i).onGeneration(population -> migrate(index, population));
+        }
+    }
+
+    public Islands(Algorithm[] islands, Migration migration, int interval, int migrants) {
+        this(Arrays.asList(islands), migration, interval, migrants);
+    }
+
+    public List<Algorithm> getIslands() {
+        return islands;
+    }
+
+    public Migration getMigration() {
+        return migration;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getMigrants() {
+        return migrants;
+    }
+
+    /**
+     * Solicita o carregamento da ultima execução de todas as ilhas
+     *
+     * @throws Exception
+     */
+    public void load() throws Exception {
+        for (Algorithm island : islands) {
+            island.load();
+        }
+    }
+
+    /**
+     * Inicia o processamento de todas as ilhas
+     *
+     * @throws Exception
+     */
+    public void start() throws Exception {
+        for (Algorithm island : islands) {
+            island.start();
+        }
+    }
+
+    /**
+     * Pausa o processamento de todas as ilhas
+     *
+     * @param callback Executado quando a finalização de todas as ilhas ocorrer
+     */
+    public void stop(Callback callback) {
+        final AtomicInteger pending = new AtomicInteger(islands.size());
+        for (Algorithm island : islands) {
+            island.stop(() -> {
+                if (pending.decrementAndGet() == 0) {
+                    callback.call();
+                }
+            });
+        }
+    }
+
+    /**
+     * Envia os melhores indivíduos da população da ilha informada para as ilhas vizinhas
+     *
+     * @param index Índice da ilha de origem
+     * @param population População da ilha de origem
+     */
+    private void migrate(int index, Population population) {
+        if (population.generation == 0 || population.generation % interval != 0) {
+            return;
+        }
+
+        final List<Individual> best = new ArrayList<>();
+        for (Individual individual : population.individuals) {
+            if (individual.hasFitness() && individual.getError() == null) {
+                best.add(individual);
+            }
+        }
+        best.sort((a, b) -> b.getFitness().compareTo(a.getFitness()));
+        final List<Individual> selected = best.subList(0, Math.min(migrants, best.size()));
+        if (selected.isEmpty()) {
+            return;
+        }
+
+        final int size = islands.size();
+        if (migration == Migration.RING) {
+            islands.get((index + 1) % size).immigrate(selected);
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (i != index) {
+                    islands.get(i).immigrate(selected);
+                }
+            }
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.github.nidorx.jia.ga;
 
 import com.github.nidorx.jia.util.JiaUtils;
-import static com.github.nidorx.jia.ga.Chromosome.addLayer;
-import static com.github.nidorx.jia.ga.Chromosome.changeLayerSize;
-import static com.github.nidorx.jia.ga.Chromosome.countLayers;
-import static com.github.nidorx.jia.ga.Chromosome.removeLayer;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_BIAS;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_TYPE;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_WEIGHT;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Classe especializada na mutação de Cromossomos
@@ -28,63 +29,68 @@ public class Mutation {
      *
      * A função de transferencia [TYPE] dos neuronios nunca é alterada
      *
+     * Nos cromossomos de topologia fixa somente os pesos e bias são alterados, ver {@link #mutate(double[])}
+     *
      * @param parent
      * @return
      */
     public static Chromosome mutate(Chromosome parent) {
+        if (parent.getTopology() != null) {
+            return parent.getTopology().chromosome(mutate(parent.params()));
+        }
+
         // MUTAÇÕES
         // Mapeamento e Alteração aleatoria de todos os <SLOPE>, <BIAS> e <WEIGHT>
         // Remoção/Inclusão aleatória de NEURONS nas camadas (e respectivos ajustes)
         // Remoção/Inclusão aleatória de CAMADAS (e respectivos ajustes)
+        //
+        // As alterações estruturais são planejadas antes, o novo DNA é gerado em uma única passagem
 
-        double[] dnaNew = parent.forEachNeuron(neuron -> {
-            // Alteração aleatoria de todos os  <BIAS> e <WEIGHT>
-            neuron.bias = JiaUtils.coin(PM) ? hard(neuron.bias) : soft(neuron.bias);
-
-            // Mutação aleatória nos pesos
-            for (int i = 0, l = neuron.weights.length; i < l; i++) {
-                neuron.weights[i] = JiaUtils.coin(PM) ? hard(neuron.weights[i]) : soft(neuron.weights[i]);
-            }
-            return true;
-        });
+        final double[] dna = parent.dna();
+        final GenomeIndex index = parent.index();
+        final int total = index.layers();
 
-        // Obtém detalhes das camadas
-        int[] layers = countLayers(dnaNew);
+        // Plano: camada de origem (-1 para camadas novas) e tamanho de cada camada do novo DNA
+        final List<int[]> plan = new ArrayList<>(total + 1);
+        for (int i = 0; i < total; i++) {
+            plan.add(new int[]{i, index.size(i)});
+        }
 
         // Remoção/Inclusão aleatória de NEURONS nas camadas (e respectivos ajustes)
         // Ignora camada de saída
-        for (int i = 0, l = layers.length - 1; i < l; i++) {
+        for (int i = 0, l = total - 1; i < l; i++) {
             // Altera a quantidade de neurons da camada?
             if (!JiaUtils.coin(PM)) {
                 continue;
             }
 
-            int size = layers[i];
+            int size = plan.get(i)[1];
             int newSize = JiaUtils.between(size / 2, size + size / 2);
-            if (size != newSize) {
-                dnaNew = changeLayerSize(dnaNew, i, newSize);
+            if (newSize > 0) {
+                // Impede a remoção de todos os neuronios
+                plan.get(i)[1] = newSize;
             }
         }
 
         // obtém informação atualizada
-        layers = countLayers(dnaNew);
+        final int[] layers = new int[total];
+        for (int i = 0; i < total; i++) {
+            layers[i] = plan.get(i)[1];
+        }
 
         // Remoção/Inclusão aleatória de CAMADAS (e respectivos ajustes)
         for (int i = 1, idxActual = i, sizeActual = layers.length, l = layers.length - 1; i < l; i++, idxActual++) {
             // Adiciona ou remove camada?
 
             if (JiaUtils.coin(PM)) {
-                // Adiciona
+                // Adiciona, após a camada atual
 
                 // Aleatório entre a metade da menor e dobro da maior camada (ATUAL E SEGUINTE)
                 int min = Math.min(layers[i], layers[i + 1]);
                 int max = Math.max(layers[i], layers[i + 1]);
-                int size = JiaUtils.between(min / 2, max + max / 2);
-
-                dnaNew = addLayer(dnaNew, idxActual, size);
+                int size = Math.max(1, JiaUtils.between(min / 2, max + max / 2));
 
-                idxActual++;
-                sizeActual++;
+                plan.add(idxActual + 1, new int[]{-1, size});
                 break;
             }
 
@@ -94,13 +100,88 @@ public class Mutation {
                     // Deve existir no mínimo um Hidden e o Output Layer
                     continue;
                 }
-                dnaNew = removeLayer(dnaNew, idxActual);
+                plan.remove(idxActual);
                 sizeActual--;
                 idxActual--;
             }
         }
 
-        return new Chromosome(dnaNew);
+        // Tamanho do novo DNA, cada camada recebe a saída da camada anterior do plano
+        final int inputSize = index.inputs(0);
+        int length = 0;
+        for (int i = 0, inputs = inputSize; i < plan.size(); inputs = plan.get(i)[1], i++) {
+            length += DnaBuilder.length(plan.get(i)[1], inputs);
+        }
+
+        final DnaBuilder builder = new DnaBuilder(length);
+        for (int i = 0, inputs = inputSize; i < plan.size(); inputs = plan.get(i)[1], i++) {
+            final int source = plan.get(i)[0];
+            final int size = plan.get(i)[1];
+            builder.layer(size, inputs);
+
+            if (source < 0) {
+                // Nova camada, neuronios aleatórios
+                builder.randomNeurons(size, inputs);
+                continue;
+            }
+
+            final int oldSize = index.size(source);
+            final int kept = Math.min(inputs, index.inputs(source));
+
+            // Neuronios mantidos, com mutação do <BIAS> e <WEIGHT>. Os pesos das entradas removidas são descartados e
+            // as entradas novas recebem pesos aleatórios
+            for (int n = 0, m = Math.min(size, oldSize); n < m; n++) {
+                final int k = index.neuronOffset(source, n);
+                builder.neuron(type(dna[k + IDX_N_TYPE]), perturb(dna[k + IDX_N_BIAS]));
+                for (int w = k + IDX_N_WEIGHT, e = w + kept; w < e; w++) {
+                    builder.weight(perturb(dna[w]));
+                }
+                builder.randomWeights(inputs - kept);
+            }
+
+            // Neuronios aleatórios NO FINAL DA CAMADA
+            if (size > oldSize) {
+                builder.randomNeurons(size - oldSize, inputs);
+            }
+        }
+
+        return new Chromosome(builder.build());
+    }
+
+    /**
+     * Mutação dos parâmetros (pesos e bias) de um cromossomo de topologia fixa, todos os valores são alterados da
+     * mesma forma que os <BIAS> e <WEIGHT> do DNA completo
+     *
+     * @param params
+     * @return Um novo array com os parâmetros alterados
+     */
+    public static double[] mutate(double[] params) {
+        final double[] out = new double[params.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = perturb(params[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Alteração aleatoria de um <BIAS> ou <WEIGHT>
+     *
+     * @param value
+     * @return
+     */
+    private static double perturb(double value) {
+        return JiaUtils.coin(PM) ? hard(value) : soft(value);
+    }
+
+    /**
+     * Normaliza o <TYPE> do neuronio, qualquer valor inválido é substituido pelo SIGMOID
+     *
+     * @param value
+     * @return
+     */
+    private static double type(double value) {
+        final int type = (int) value;
+        return Chromosome.Neuron.TYPE.getById(type) != null ? type : Chromosome.Neuron.TYPE.SIGMOID.id;
     }
 
     /**
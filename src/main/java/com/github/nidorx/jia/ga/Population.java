@@ -1,8 +1,9 @@
 package com.github.nidorx.jia.ga;
 
-import java.util.Arrays;
+import com.github.nidorx.jia.util.JiaUtils;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 /**
@@ -18,57 +19,135 @@ public class Population {
 
     public final Individual[] individuals;
 
+    /**
+     * Cria uma população com os indivíduos informados, sem validação ou complemento aleatório
+     *
+     * @param generation
+     * @param individuals
+     */
+    public Population(int generation, Individual[] individuals) {
+        this.generation = generation;
+        this.individuals = individuals;
+    }
+
     public Population(int generation, int size, List<Individual> initial, String[] inputNames, String[] outputNames) {
+        this(generation, size, initial, inputNames, outputNames, null);
+    }
+
+    /**
+     * Cria a população, completando com indivíduos aleatórios
+     *
+     * Os indivíduos aleatórios são gerados em paralelo. Quando a semente é informada, a população gerada é sempre a
+     * mesma, independente da quantidade de threads.
+     *
+     * @param generation
+     * @param size
+     * @param initial
+     * @param inputNames
+     * @param outputNames
+     * @param seed Semente dos geradores aleatórios, ou null
+     */
+    public Population(
+            int generation, int size, List<Individual> initial, String[] inputNames, String[] outputNames, Long seed
+    ) {
+        this(generation, size, initial, inputNames, outputNames, seed, null);
+    }
+
+    /**
+     * Cria a população, completando com indivíduos aleatórios da topologia fixa informada
+     *
+     * Com a topologia fixa, os indivíduos iniciais com o DNA completo (ex. {@link Algorithm#getInitialPopulation()})
+     * são convertidos em cromossomos da topologia, sem aptidão. O DNA deve possuir a mesma topologia
+     *
+     * @param generation
+     * @param size
+     * @param initial
+     * @param inputNames
+     * @param outputNames
+     * @param seed Semente dos geradores aleatórios, ou null
+     * @param topology Topologia fixa dos indivíduos aleatórios, ou null para topologias aleatórias
+     */
+    public Population(
+            int generation, int size, List<Individual> initial, String[] inputNames, String[] outputNames, Long seed,
+            Topology topology
+    ) {
 
         final int inputSize = inputNames.length;
         final int outputSize = outputNames.length;
+        if (topology != null) {
+            final int[] sizes = topology.getLayersSizes();
+            if (sizes[0] != inputSize || sizes[sizes.length - 1] != outputSize) {
+                throw new IllegalArgumentException("A topologia possui número de entradas ou saídas diferente do esperado");
+            }
+        }
 
         // if (minSize < 2)throw new ArgumentOutOfRangeException("minSize", "The minimum size for a population is 2 chromosomes.");
         this.generation = generation;
-        if (initial == null || initial.isEmpty()) {
-            // Geração aleatória de todos os indivíduos
-            individuals = new Individual[size];
-            for (int i = 0; i < size; i++) {
-                individuals[i] = new Individual(Chromosome.random(inputSize, outputSize), inputNames, outputNames);
+        final int initialSize = initial == null ? 0 : initial.size();
+        final int numRandom = initialSize == 0 ? size : (int) Math.max(size - initialSize, size * 0.30);
+        individuals = new Individual[numRandom + initialSize];
+
+        for (int i = 0; i < initialSize; i++) {
+            final Individual individual = initial.get(i);
+
+            // Validar se o chromossomo possui o tamanho de entrada e saida iguais ao informado
+            int[] sizes = individual.chromosome.getLayersSizes();
+            if (sizes[0] != inputSize) {
+                throw new IllegalArgumentException("O cromossomo possui número de entradas diferente do esperado");
             }
-        } else {
-            int numRandom = (int) Math.max(size - initial.size(), size * 0.30);
-            int total = numRandom + initial.size();
-            individuals = new Individual[total];
-
-            for (int i = 0, j = initial.size(); i < j; i++) {
-                final Individual individual = initial.get(i);
-
-                // Validar se o chromossomo possui o tamanho de entrada e saida iguais ao informado
-                int[] sizes = individual.chromosome.getLayersSizes();
-                if (sizes[0] != inputSize) {
-                    throw new IllegalArgumentException("O cromossomo possui número de entradas diferente do esperado");
-                }
-
-                if (sizes[sizes.length - 1] != outputSize) {
-                    throw new IllegalArgumentException("O cromossomo possui número de saídas diferente do esperado");
-                }
-
-                // Mantém a referencia para os individuos já criados
-                individuals[i] = individual;
+
+            if (sizes[sizes.length - 1] != outputSize) {
+                throw new IllegalArgumentException("O cromossomo possui número de saídas diferente do esperado");
             }
 
-            // Finaliza a população com individuos aleatórios
-            for (int i = 0, j = initial.size(); i < numRandom; i++, j++) {
-                individuals[j] = new Individual(Chromosome.random(inputSize, outputSize), inputNames, outputNames);
+            if (topology != null && !topology.equals(individual.chromosome.getTopology())) {
+                individuals[i] = new Individual(fixed(topology, individual.chromosome), inputNames, outputNames);
+                continue;
             }
+
+            // Mantém a referencia para os individuos já criados
+            individuals[i] = individual;
+        }
+
+        // Finaliza a população com individuos aleatórios
+        final List<Individual> randoms = JiaUtils.parallel(numRandom, seed, i -> {
+            return new Individual(random(topology, inputSize, outputSize), inputNames, outputNames);
+        });
+        for (int i = 0; i < numRandom; i++) {
+            individuals[initialSize + i] = randoms.get(i);
         }
 
-        // Substitui qualquer duplicado por aleatório
-        final Set<Individual> uniques = new HashSet<>(Arrays.asList(individuals));
-        if (uniques.size() < individuals.length) {
-            while (uniques.size() < individuals.length) {
-                uniques.add(new Individual(Chromosome.random(inputSize, outputSize), inputNames, outputNames));
+        // Substitui qualquer duplicado por aleatório, mantendo a posição dos demais
+        final Set<Individual> uniques = new HashSet<>(individuals.length * 2);
+        long replacements = individuals.length;
+        for (int i = 0; i < individuals.length; i++) {
+            while (!uniques.add(individuals[i])) {
+                final Chromosome chromosome = seed == null
+                        ? random(topology, inputSize, outputSize)
+                        : JiaUtils.with(
+                                new Random(JiaUtils.seed(seed, replacements++)),
+                                () -> random(topology, inputSize, outputSize)
+                        );
+                individuals[i] = new Individual(chromosome, inputNames, outputNames);
             }
-            System.arraycopy(uniques.toArray(new Individual[]{}), 0, individuals, 0, individuals.length);
         }
     }
 
+    /**
+     * Converte o cromossomo para a topologia fixa informada
+     */
+    private static Chromosome fixed(Topology topology, Chromosome chromosome) {
+        final double[] dna = chromosome.getDna();
+        if (!topology.equals(Topology.of(dna))) {
+            throw new IllegalArgumentException("O cromossomo não possui a topologia fixa informada");
+        }
+        return topology.chromosome(topology.params(dna));
+    }
+
+    private static Chromosome random(Topology topology, int inputSize, int outputSize) {
+        return topology == null ? Chromosome.random(inputSize, outputSize) : topology.random();
+    }
+
     /**
      * Obtém o indivíduo com maior aptidão
      *
@@ -0,0 +1,79 @@
+package com.github.nidorx.jia.ga;
+
+import java.util.Arrays;
+
+/**
+ * Racing (successive halving) da execução dos indivíduos
+ *
+ * O progresso da execução é dividido em faixas (rungs). Em cada faixa são mantidos os fitness parciais dos últimos
+ * indivíduos que a atingiram, um indivíduo é abortado quando seu fitness parcial é menor que o quantil definido dos
+ * fitness da mesma faixa.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+class Racing {
+
+    /**
+     * Quantidade de faixas de progresso
+     */
+    static final int RUNGS = 10;
+
+    private final double quantile;
+
+    private final int minSamples;
+
+    /**
+     * Fitness parciais de cada faixa, buffer circular
+     */
+    private final double[][] scores;
+
+    private final int[] counts;
+
+    private final double[] sorted;
+
+    /**
+     *
+     * @param quantile Quantil mínimo para continuar a execução (ex. 0.5 mantém a metade superior)
+     * @param minSamples Quantidade mínima de fitness na faixa para permitir o abort
+     * @param window Quantidade de fitness mantidos em cada faixa
+     */
+    Racing(double quantile, int minSamples, int window) {
+        this.quantile = quantile;
+        this.minSamples = minSamples;
+        this.scores = new double[RUNGS][window];
+        this.counts = new int[RUNGS];
+        this.sorted = new double[window];
+    }
+
+    /**
+     * Obtém a faixa do progresso informado
+     *
+     * @param progress
+     * @return
+     */
+    int rung(double progress) {
+        return Math.min((int) (progress * RUNGS), RUNGS - 1);
+    }
+
+    /**
+     * Registra o fitness parcial na faixa informada
+     *
+     * @param rung
+     * @param fitness
+     * @return false quando o indivíduo deve ser abortado
+     */
+    synchronized boolean accept(int rung, double fitness) {
+        final double[] window = scores[rung];
+        window[counts[rung] % window.length] = fitness;
+        counts[rung]++;
+
+        final int size = Math.min(counts[rung], window.length);
+        if (size < minSamples) {
+            return true;
+        }
+
+        System.arraycopy(window, 0, sorted, 0, size);
+        Arrays.sort(sorted, 0, size);
+        return fitness >= sorted[(int) Math.min(size - 1, Math.floor(quantile * size))];
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.nidorx.jia.ga;
+
+import static com.github.nidorx.jia.ga.Chromosome.BIAS_MAX;
+import static com.github.nidorx.jia.ga.Chromosome.BIAS_MIN;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_BIAS;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_TYPE;
+import static com.github.nidorx.jia.ga.Chromosome.IDX_N_WEIGHT;
+import static com.github.nidorx.jia.ga.Chromosome.WEIGHT_MAX;
+import static com.github.nidorx.jia.ga.Chromosome.WEIGHT_MIN;
+import com.github.nidorx.jia.mlp.Layer;
+import com.github.nidorx.jia.mlp.Model;
+import com.github.nidorx.jia.mlp.Neuron;
+import com.github.nidorx.jia.mlp.Transfer;
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.Arrays;
+
+/**
+ * Topologia fixa de uma Rede Neural, compartilhada por todos os indivíduos da população
+ *
+ * Usada quando somente os pesos são evoluídos. O cromossomo de topologia fixa (ver {@link #chromosome(double[])})
+ * possui somente os parâmetros da rede (pesos e bias), no mesmo layout do {@link Model}:
+ *
+ * ----------------------------
+ * -- Camada [0...N]
+ * [ 0]  <WEIGHT> -- Neuron 0, peso para entrada [0...PREV]
+ * [..]  <WEIGHT> -- Neuron SIZE, peso para entrada [0...PREV]
+ * [..]  <BIAS>   -- Neuron [0...SIZE]
+ * ----------------------------
+ *
+ * Desta forma a mutação e o cruzamento são laços simples sobre o array e a decodificação em {@link Model} não exige
+ * nenhuma cópia. O &lt;SIZE&gt;, &lt;PREV&gt; e &lt;TYPE&gt; ficam somente na topologia.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public final class Topology {
+
+    /**
+     * Dimensão de todas as camadas, incluindo Input, Hidden e Output
+     */
+    private final int[] sizes;
+
+    /**
+     * Função de transferência de cada neuronio, por camada (Hidden e Output)
+     */
+    private final Transfer[][] transfers;
+
+    /**
+     * Índice, nos parâmetros, do início da matriz de pesos de cada camada, o último item é a quantidade de parâmetros
+     */
+    private final int[] offsets;
+
+    private final int hash;
+
+    /**
+     * Topologia com a mesma função de transferência em todos os neuronios
+     *
+     * @param sizes Dimensão de todas as camadas, incluindo Input, Hidden e Output
+     * @param transfer
+     */
+    public Topology(int[] sizes, Transfer transfer) {
+        this(sizes, uniform(sizes, transfer));
+    }
+
+    /**
+     *
+     * @param sizes Dimensão de todas as camadas, incluindo Input, Hidden e Output
+     * @param transfers Função de transferência de cada neuronio, por camada (Hidden e Output)
+     */
+    public Topology(int[] sizes, Transfer[][] transfers) {
+        if (sizes.length < 2) {
+            throw new IllegalArgumentException("É necessário informar ao menos a camada de entrada e a de saída");
+        }
+        if (transfers.length != sizes.length - 1) {
+            throw new IllegalArgumentException("A quantidade de camadas das funções de transferência é inválida");
+        }
+        this.sizes = sizes.clone();
+        this.transfers = new Transfer[transfers.length][];
+        this.offsets = new int[sizes.length];
+        for (int i = 0; i < transfers.length; i++) {
+            if (sizes[i] < 1 || sizes[i + 1] < 1) {
+                throw new IllegalArgumentException("Todas as camadas devem possuir ao menos um neuronio");
+            }
+            if (transfers[i].length != sizes[i + 1]) {
+                throw new IllegalArgumentException("A quantidade de funções de transferência da camada é inválida");
+            }
+            for (Transfer transfer : transfers[i]) {
+                if (Chromosome.Neuron.TYPE.getByFunction(transfer) == null) {
+                    throw new IllegalArgumentException("Função de transferência não suportada pelo cromossomo");
+                }
+            }
+            this.transfers[i] = transfers[i].clone();
+            this.offsets[i + 1] = offsets[i] + sizes[i + 1] * sizes[i] + sizes[i + 1];
+        }
+        this.hash = 31 * Arrays.hashCode(this.sizes) + Arrays.deepHashCode(this.transfers);
+    }
+
+    private static Transfer[][] uniform(int[] sizes, Transfer transfer) {
+        final Transfer[][] transfers = new Transfer[Math.max(0, sizes.length - 1)][];
+        for (int i = 0; i < transfers.length; i++) {
+            transfers[i] = new Transfer[sizes[i + 1]];
+            Arrays.fill(transfers[i], transfer);
+        }
+        return transfers;
+    }
+
+    /**
+     * Obtém a topologia de um DNA completo (com &lt;SIZE&gt;, &lt;PREV&gt; e &lt;TYPE&gt;)
+     *
+     * @param dna
+     * @return
+     */
+    public static Topology of(double[] dna) {
+        final GenomeIndex index = new GenomeIndex(dna);
+        final int[] sizes = new int[index.layers() + 1];
+        final Transfer[][] transfers = new Transfer[index.layers()][];
+        sizes[0] = index.inputs(0);
+        for (int i = 0; i < index.layers(); i++) {
+            sizes[i + 1] = index.size(i);
+            transfers[i] = new Transfer[sizes[i + 1]];
+            for (int j = 0; j < sizes[i + 1]; j++) {
+                final Chromosome.Neuron.TYPE type = Chromosome.Neuron.TYPE.getById(
+                        (int) dna[index.neuronOffset(i, j) + IDX_N_TYPE]
+                );
+                transfers[i][j] = type == null ? Transfer.SIGMOID : type.transfer;
+            }
+        }
+        return new Topology(sizes, transfers);
+    }
+
+    /**
+     * Obtém a dimensão de todas as camadas, incluindo Input, Hidden e Output
+     *
+     * @return
+     */
+    public int[] getLayersSizes() {
+        return sizes.clone();
+    }
+
+    /**
+     * Quantidade de parâmetros (pesos e bias) da rede
+     *
+     * @return
+     */
+    public int length() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Cria um cromossomo com os parâmetros informados, sem cópia
+     *
+     * @param params Pesos e bias, no layout do {@link Model}
+     * @return
+     */
+    public Chromosome chromosome(double[] params) {
+        if (params.length != length()) {
+            throw new IllegalArgumentException(String.format(
+                    "A topologia possui %d parâmetros, informado %d", length(), params.length
+            ));
+        }
+        return new Chromosome(this, params);
+    }
+
+    /**
+     * Cria um cromossomo com pesos e bias aleatórios
+     *
+     * @return
+     */
+    public Chromosome random() {
+        final double[] params = new double[length()];
+        for (int i = 1; i < sizes.length; i++) {
+            final int bias = offsets[i - 1] + sizes[i] * sizes[i - 1];
+            for (int w = offsets[i - 1]; w < bias; w++) {
+                params[w] = JiaUtils.between(WEIGHT_MIN, WEIGHT_MAX);
+            }
+            for (int b = bias; b < offsets[i]; b++) {
+                params[b] = JiaUtils.between(BIAS_MIN, BIAS_MAX);
+            }
+        }
+        return new Chromosome(this, params);
+    }
+
+    /**
+     * Obtém os parâmetros de um DNA completo que possui esta topologia
+     *
+     * @param dna
+     * @return
+     */
+    public double[] params(double[] dna) {
+        final GenomeIndex index = new GenomeIndex(dna);
+        if (index.layers() != sizes.length - 1 || index.inputs(0) != sizes[0]) {
+            throw new IllegalArgumentException("O DNA informado não possui a mesma topologia");
+        }
+        final double[] params = new double[length()];
+        for (int i = 0; i < index.layers(); i++) {
+            final int size = sizes[i + 1];
+            final int prev = sizes[i];
+            if (index.size(i) != size || index.inputs(i) != prev) {
+                throw new IllegalArgumentException("O DNA informado não possui a mesma topologia");
+            }
+            final int bias = offsets[i] + size * prev;
+            for (int j = 0; j < size; j++) {
+                final int neuron = index.neuronOffset(i, j);
+                System.arraycopy(dna, neuron + IDX_N_WEIGHT, params, offsets[i] + j * prev, prev);
+                params[bias + j] = dna[neuron + IDX_N_BIAS];
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Gera o DNA completo (com &lt;SIZE&gt;, &lt;PREV&gt; e &lt;TYPE&gt;) dos parâmetros informados
+     *
+     * @param params
+     * @return
+     */
+    public double[] dna(double[] params) {
+        int length = 0;
+        for (int i = 1; i < sizes.length; i++) {
+            length += DnaBuilder.length(sizes[i], sizes[i - 1]);
+        }
+
+        final DnaBuilder builder = new DnaBuilder(length);
+        for (int i = 0; i < transfers.length; i++) {
+            final int size = sizes[i + 1];
+            final int prev = sizes[i];
+            final int bias = offsets[i] + size * prev;
+            builder.layer(size, prev);
+            for (int j = 0; j < size; j++) {
+                builder.neuron(Chromosome.Neuron.TYPE.getByFunction(transfers[i][j]).id, params[bias + j])
+                        .copy(params, offsets[i] + j * prev, prev);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cria o {@link Model} dos parâmetros informados, sem cópia
+     *
+     * @param params
+     * @return
+     */
+    public Model model(double[] params) {
+        return Model.of(sizes, params, transfers);
+    }
+
+    /**
+     * Cria as camadas da Rede Neural dos parâmetros informados, os pesos de cada neuronio são copiados em bloco
+     *
+     * @param params
+     * @return
+     */
+    public Layer[] layers(double[] params) {
+        final Layer[] layers = new Layer[transfers.length];
+        for (int i = 0; i < layers.length; i++) {
+            final int size = sizes[i + 1];
+            final int prev = sizes[i];
+            final int bias = offsets[i] + size * prev;
+            final Neuron[] neurons = new Neuron[size];
+            for (int j = 0, w = offsets[i]; j < size; j++, w += prev) {
+                neurons[j] = new Neuron(Arrays.copyOfRange(params, w, w + prev), params[bias + j], transfers[i][j]);
+            }
+            layers[i] = new Layer(neurons);
+        }
+        return layers;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final Topology other = (Topology) obj;
+        return hash == other.hash
+                && Arrays.equals(sizes, other.sizes)
+                && Arrays.deepEquals(transfers, other.transfers);
+    }
+}
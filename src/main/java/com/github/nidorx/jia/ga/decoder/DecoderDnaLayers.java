@@ -1,10 +1,12 @@
 package com.github.nidorx.jia.ga.decoder;
 
 import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.DnaBuilder;
+import com.github.nidorx.jia.ga.GenomeIndex;
 import com.github.nidorx.jia.mlp.Layer;
 import com.github.nidorx.jia.mlp.Neuron;
-import java.util.ArrayList;
-import java.util.List;
+import com.github.nidorx.jia.mlp.Transfer;
+import java.util.Arrays;
 
 /**
  * Decodificador de DNA para lista de camdas de uma MLP
@@ -25,64 +27,72 @@ public class DecoderDnaLayers implements Decoder<Layer[], double[]> {
     private DecoderDnaLayers() {
     }
 
+    /**
+     * Converte as camadas em DNA, escrevendo diretamente no array
+     *
+     * A quantidade de entradas da primeira camada é a quantidade de pesos do seu primeiro neuronio, as demais recebem
+     * a saída da camada anterior. Os pesos que sobram são removidos e os que faltam repetem o último peso.
+     *
+     * @param layers
+     * @return
+     */
     @Override
     public double[] encode(Layer[] layers) {
-        final List<List<List<Double>>> encLayers = new ArrayList<>();
+        final int inputSize = layers[0].neurons[0].weights.length;
 
-        for (Layer layer : layers) {
-            List<List<Double>> encLayer = new ArrayList<>();
-
-            layer.each((neuron, ni) -> {
-                final List<Double> encNeuron = new ArrayList<>();
+        int length = 0;
+        for (int i = 0, inputs = inputSize; i < layers.length; inputs = layers[i].size, i++) {
+            length += DnaBuilder.length(layers[i].size, inputs);
+        }
 
+        final DnaBuilder builder = new DnaBuilder(length);
+        for (int i = 0, inputs = inputSize; i < layers.length; inputs = layers[i].size, i++) {
+            builder.layer(layers[i].size, inputs);
+            for (Neuron neuron : layers[i].neurons) {
                 Chromosome.Neuron.TYPE type = Chromosome.Neuron.TYPE.getByFunction(neuron.transfer);
                 if (type == null) {
                     type = Chromosome.Neuron.TYPE.SIGMOID;
                 }
-
-                encNeuron.add(type.id);
-                encNeuron.add(neuron.bias);
-
-                for (double weight : neuron.weights) {
-                    encNeuron.add(weight);
+                builder.neuron(type.id, neuron.bias);
+
+                final double[] weights = neuron.weights;
+                final int kept = Math.min(weights.length, inputs);
+                builder.copy(weights, 0, kept);
+                if (kept < inputs) {
+                    // Repete o ultimo peso para todas as entradas
+                    final double last = weights.length > 0 ? weights[weights.length - 1] : neuron.bias;
+                    for (int w = kept; w < inputs; w++) {
+                        builder.weight(last);
+                    }
                 }
-
-                encLayer.add(encNeuron);
-            });
-
-            encLayers.add(encLayer);
+            }
         }
-
-        return DecoderDnaList.getInstance().encode(encLayers);
+        return builder.build();
     }
 
+    /**
+     * Converte o DNA em camadas, os pesos de cada neuronio são copiados diretamente do DNA
+     *
+     * @param dna
+     * @return
+     */
     @Override
     public Layer[] decode(double[] dna) {
-
-        List<List<List<Double>>> encLayers = DecoderDnaList.getInstance().decode(dna);
-        Layer[] layers = new Layer[encLayers.size()];
-
-        for (int i = 0, j = encLayers.size(); i < j; i++) {
-            List<List<Double>> encNeurons = encLayers.get(i);
-            Neuron[] neurons = new Neuron[encNeurons.size()];
-
-            for (int k = 0, l = encNeurons.size(); k < l; k++) {
-                List<Double> encNeuron = encNeurons.get(k);
-
-                Chromosome.Neuron.TYPE type = Chromosome.Neuron.TYPE.getById(encNeuron.get(Chromosome.IDX_N_TYPE));
-                if (type == null) {
-                    type = Chromosome.Neuron.TYPE.SIGMOID;
-                }
-
-                int prevSize = encNeuron.size() - Chromosome.NEURON_FIELDS;
-
-                final Neuron neuron = new Neuron(prevSize, type.transfer);
-                neuron.bias = encNeuron.get(Chromosome.IDX_N_BIAS);
-                for (int m = 0, n = Chromosome.IDX_N_WEIGHT, o = encNeuron.size(); n < o; m++, n++) {
-                    neuron.weights[m] = encNeuron.get(n);
-                }
-
-                neurons[k] = neuron;
+        final GenomeIndex index = new GenomeIndex(dna);
+        final Layer[] layers = new Layer[index.layers()];
+
+        for (int i = 0; i < layers.length; i++) {
+            final int inputs = index.inputs(i);
+            final Neuron[] neurons = new Neuron[index.size(i)];
+
+            for (int j = 0; j < neurons.length; j++) {
+                final int offset = index.neuronOffset(i, j);
+                final int weights = offset + Chromosome.IDX_N_WEIGHT;
+                neurons[j] = new Neuron(
+                        Arrays.copyOfRange(dna, weights, weights + inputs),
+                        dna[offset + Chromosome.IDX_N_BIAS],
+                        transfer(dna[offset + Chromosome.IDX_N_TYPE])
+                );
             }
             layers[i] = new Layer(neurons);
         }
@@ -90,4 +100,16 @@ public class DecoderDnaLayers implements Decoder<Layer[], double[]> {
         return layers;
     }
 
+    /**
+     * Função de transferência do &lt;TYPE&gt; informado, a parte decimal é descartada e qualquer valor inválido é
+     * substituido pelo SIGMOID
+     *
+     * @param type
+     * @return
+     */
+    static Transfer transfer(double type) {
+        final Chromosome.Neuron.TYPE value = Chromosome.Neuron.TYPE.getById((int) type);
+        return value == null ? Transfer.SIGMOID : value.transfer;
+    }
+
 }
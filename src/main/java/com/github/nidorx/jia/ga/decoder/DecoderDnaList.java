@@ -1,6 +1,7 @@
 package com.github.nidorx.jia.ga.decoder;
 
 import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.GenomeIndex;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -91,32 +92,27 @@ public class DecoderDnaList implements Decoder<List<List<List<Double>>>, double[
      */
     @Override
     public List<List<List<Double>>> decode(double[] dna) {
-        List<List<List<Double>>> layers = new ArrayList<>();
-        List<List<Double>> actuaLayer = new ArrayList<>();
-        Chromosome.forEachNeuron(dna, neuron -> {
-
-            if (neuron.index == 0) {
-                if (!actuaLayer.isEmpty()) {
-                    layers.add(new ArrayList<>(actuaLayer));
-                }
-                actuaLayer.clear();
+        final GenomeIndex index = new GenomeIndex(dna);
+        final GenomeIndex.Cursor neuron = index.cursor(dna);
+        final List<List<List<Double>>> layers = new ArrayList<>(index.layers());
+        List<List<Double>> actuaLayer = null;
+        while (neuron.next()) {
+            if (neuron.index() == 0) {
+                actuaLayer = new ArrayList<>(neuron.layerSize());
+                layers.add(actuaLayer);
             }
 
-            final List<Double> values = new ArrayList<>();
+            final List<Double> values = new ArrayList<>(Chromosome.NEURON_FIELDS + neuron.inputs());
 
-            values.add(Double.valueOf(neuron.type));
-            values.add(neuron.bias);
+            values.add((double) (int) neuron.type());
+            values.add(neuron.bias());
 
-            for (double weight : neuron.weights) {
-                values.add(weight);
+            for (int w = 0, l = neuron.inputs(); w < l; w++) {
+                values.add(neuron.weight(w));
             }
 
             actuaLayer.add(values);
-
-            return true;
-        });
-
-        layers.add(new ArrayList<>(actuaLayer));
+        }
 
         return layers;
     }
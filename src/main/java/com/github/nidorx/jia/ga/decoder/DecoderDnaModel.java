@@ -0,0 +1,94 @@
+package com.github.nidorx.jia.ga.decoder;
+
+import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.DnaBuilder;
+import com.github.nidorx.jia.ga.GenomeIndex;
+import com.github.nidorx.jia.mlp.Model;
+import com.github.nidorx.jia.mlp.Transfer;
+
+/**
+ * Decodificador de DNA para o {@link Model} (imutável) de uma MLP
+ *
+ * O DNA é percorrido uma única vez e os pesos de cada neuronio são copiados diretamente para o array de parâmetros do
+ * modelo, sem criar {@link com.github.nidorx.jia.mlp.Layer} e {@link com.github.nidorx.jia.mlp.Neuron} intermediários.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class DecoderDnaModel implements Decoder<Model, double[]> {
+
+    private static class SingletonHelper {
+
+        private static final DecoderDnaModel INSTANCE = new DecoderDnaModel();
+    }
+
+    public static DecoderDnaModel getInstance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    private DecoderDnaModel() {
+    }
+
+    @Override
+    public double[] encode(Model model) {
+        final int[] sizes = model.getLayersSizes();
+        final double[] params = model.getParams();
+
+        int length = 0;
+        for (int i = 1; i < sizes.length; i++) {
+            length += DnaBuilder.length(sizes[i], sizes[i - 1]);
+        }
+
+        final DnaBuilder builder = new DnaBuilder(length);
+        for (int i = 1, offset = 0; i < sizes.length; i++) {
+            final int size = sizes[i];
+            final int prev = sizes[i - 1];
+            final int bias = offset + size * prev;
+            builder.layer(size, prev);
+            for (int j = 0; j < size; j++) {
+                Chromosome.Neuron.TYPE type = Chromosome.Neuron.TYPE.getByFunction(model.getTransfer(i - 1, j));
+                if (type == null) {
+                    type = Chromosome.Neuron.TYPE.SIGMOID;
+                }
+                builder.neuron(type.id, params[bias + j]).copy(params, offset + j * prev, prev);
+            }
+            offset = bias + size;
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Model decode(double[] dna) {
+        final GenomeIndex index = new GenomeIndex(dna);
+        final int layers = index.layers();
+
+        // Input + Hidden + Output
+        final int[] sizes = new int[layers + 1];
+        sizes[0] = index.inputs(0);
+        int length = 0;
+        for (int i = 0; i < layers; i++) {
+            sizes[i + 1] = index.size(i);
+            length += sizes[i + 1] * sizes[i] + sizes[i + 1];
+        }
+
+        final double[] params = new double[length];
+        final Transfer[][] transfers = new Transfer[layers][];
+        for (int i = 0, offset = 0; i < layers; i++) {
+            final int size = sizes[i + 1];
+            final int prev = sizes[i];
+            final int bias = offset + size * prev;
+            if (index.inputs(i) != prev) {
+                throw new IllegalArgumentException("DNA inconsistente, a camada não recebe a saída da camada anterior");
+            }
+            transfers[i] = new Transfer[size];
+            for (int j = 0; j < size; j++) {
+                final int neuron = index.neuronOffset(i, j);
+                System.arraycopy(dna, neuron + Chromosome.IDX_N_WEIGHT, params, offset + j * prev, prev);
+                params[bias + j] = dna[neuron + Chromosome.IDX_N_BIAS];
+                transfers[i][j] = DecoderDnaLayers.transfer(dna[neuron + Chromosome.IDX_N_TYPE]);
+            }
+            offset = bias + size;
+        }
+
+        return Model.of(sizes, params, transfers);
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.nidorx.jia.ga.remote;
+
+/**
+ * Protocolo de comunicação entre o {@link RemoteMaster} e os {@link RemoteWorker}
+ *
+ * Mensagens binárias (DataInputStream/DataOutputStream), sobre uma conexão TCP:
+ *
+ * <pre>
+ * Worker -> Master
+ *   HELLO     : int MAGIC, int VERSION, int slots
+ *   RESULT    : byte RESULT, long task, double fitness
+ *   ERROR     : byte ERROR, long task, UTF message
+ *   HEARTBEAT : byte HEARTBEAT
+ *
+ * Master -> Worker
+ *   HEARTBEAT : byte HEARTBEAT, int interval (ms), enviado uma única vez, logo após o HELLO
+ *   TASK      : byte TASK, long task, int generation, double fidelity, int length, double[length] dna
+ *   BYE       : byte BYE
+ * </pre>
+ *
+ * O worker envia um HEARTBEAT no intervalo definido pelo master, inclusive durante a execução das tarefas. O master
+ * considera o worker perdido quando não recebe nenhuma mensagem dentro do {@link RemoteMaster#getTimeout()}.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+final class Protocol {
+
+    static final int MAGIC = 0x4A494147;
+
+    static final int VERSION = 3;
+
+    static final byte BYE = 0;
+
+    static final byte TASK = 1;
+
+    static final byte RESULT = 2;
+
+    static final byte ERROR = 3;
+
+    static final byte HEARTBEAT = 4;
+
+    private Protocol() {
+    }
+}
@@ -0,0 +1,395 @@
+package com.github.nidorx.jia.ga.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Master da execução distribuída do GA
+ *
+ * Aceita conexões de {@link RemoteWorker} (em outras JVMs ou máquinas) e distribui entre eles a execução dos
+ * cromossomos. A distribuição é feita sob demanda, cada worker recebe uma nova tarefa somente quando possui um slot
+ * livre, portanto os workers mais rápidos executam mais tarefas (work stealing).
+ *
+ * Os workers enviam um heartbeat periódico, inclusive durante a execução das tarefas, portanto o tempo de execução de um
+ * cromossomo não é limitado. Quando a conexão com um worker é perdida, ou nenhuma mensagem do worker é recebida dentro
+ * do {@link #getTimeout()}, as tarefas em execução no mesmo são devolvidas para o início da fila e executadas por outro
+ * worker.
+ *
+ * @see com.github.nidorx.jia.ga.Algorithm#getRemoteMaster()
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class RemoteMaster implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(RemoteMaster.class.getName());
+
+    /**
+     * Tempo máximo padrão sem receber mensagens (resposta ou heartbeat) do worker, em milisegundos
+     */
+    private static final int TIMEOUT = 60000;
+
+    /**
+     * Quantidade de heartbeats enviados pelo worker dentro do timeout
+     */
+    private static final int HEARTBEATS = 4;
+
+    private final ServerSocket server;
+
+    /**
+     * Tarefas aguardando um worker
+     */
+    private final LinkedBlockingDeque<Task> queue = new LinkedBlockingDeque<>();
+
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile int timeout = TIMEOUT;
+
+    private volatile boolean closed;
+
+    /**
+     *
+     * @param port Porta TCP, 0 para usar uma porta livre qualquer
+     * @throws IOException
+     */
+    public RemoteMaster(int port) throws IOException {
+        this.server = new ServerSocket(port);
+        final Thread acceptor = new Thread(this::accept, "jia-remote-master");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Define o tempo máximo sem receber mensagens do worker. Após este tempo o worker é considerado perdido e suas
+     * tarefas são executadas por outro worker
+     *
+     * O worker envia heartbeats em um intervalo menor que o timeout, independente da duração das tarefas. Aplicado
+     * somente nas conexões criadas após a alteração.
+     *
+     * @param timeout Tempo em milisegundos
+     */
+    public void setTimeout(int timeout) {
+        if (timeout < 1) {
+            throw new IllegalArgumentException("O timeout deve ser ao menos 1");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Quantidade de workers conectados
+     *
+     * @return
+     */
+    public int getWorkers() {
+        return connections.size();
+    }
+
+    /**
+     * Envia o DNA de um cromossomo para execução em algum worker
+     *
+     * @param generation Geração do cromossomo
+     * @param dna
+     * @return O fitness calculado pelo worker
+     */
+    public CompletableFuture<Double> submit(int generation, double[] dna) {
+        return submit(generation, 1.0, dna);
+    }
+
+    /**
+     * Envia o DNA de um cromossomo para execução em algum worker, na fidelidade informada
+     *
+     * @param generation Geração do cromossomo
+     * @param fidelity Fidelidade da execução
+     * @param dna
+     * @return O fitness calculado pelo worker
+     */
+    public CompletableFuture<Double> submit(int generation, double fidelity, double[] dna) {
+        final Task task = new Task(sequence.incrementAndGet(), generation, fidelity, dna);
+        if (closed) {
+            task.future.completeExceptionally(new IOException("O master foi finalizado"));
+        } else {
+            queue.addLast(task);
+        }
+        return task.future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        for (Connection connection : connections) {
+            connection.close(true);
+        }
+        for (Task task = queue.poll(); task != null; task = queue.poll()) {
+            task.future.completeExceptionally(new IOException("O master foi finalizado"));
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            Socket socket = null;
+            Connection connection = null;
+            try {
+                socket = server.accept();
+                socket.setTcpNoDelay(true);
+                // O handshake também é limitado pelo timeout, um cliente que não envia nada não bloqueia novas conexões
+                socket.setSoTimeout(timeout);
+                final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (in.readInt() != Protocol.MAGIC || in.readInt() != Protocol.VERSION) {
+                    socket.close();
+                    continue;
+                }
+                final int slots = in.readInt();
+                if (slots < 1) {
+                    socket.close();
+                    continue;
+                }
+                connection = new Connection(socket, in, slots);
+                connections.add(connection);
+                connection.start();
+                LOG.log(Level.INFO, String.format("Worker conectado: %s (%d slots)", socket.getRemoteSocketAddress(), slots));
+            } catch (IOException ex) {
+                if (connection != null) {
+                    connection.close(false);
+                } else if (socket != null) {
+                    try {
+                        socket.close();
+                    } catch (IOException e) {
+                        // Ignora
+                    }
+                }
+                if (!closed) {
+                    LOG.log(Level.WARNING, "Erro inesperado ao aceitar conexão de worker", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tarefa de execução de um cromossomo
+     */
+    private static final class Task {
+
+        final long id;
+
+        final int generation;
+
+        final double fidelity;
+
+        final double[] dna;
+
+        final CompletableFuture<Double> future = new CompletableFuture<>();
+
+        Task(long id, int generation, double fidelity, double[] dna) {
+            this.id = id;
+            this.generation = generation;
+            this.fidelity = fidelity;
+            this.dna = dna;
+        }
+    }
+
+    /**
+     * Conexão com um worker
+     */
+    private final class Connection {
+
+        private final Socket socket;
+
+        private final DataInputStream in;
+
+        private final DataOutputStream out;
+
+        private final Semaphore slots;
+
+        /**
+         * Tarefas enviadas ao worker e ainda não respondidas
+         */
+        private final Map<Long, Task> running = new ConcurrentHashMap<>();
+
+        private final Thread dispatcher;
+
+        private final Thread reader;
+
+        private volatile boolean lost;
+
+        Connection(Socket socket, DataInputStream in, int slots) throws IOException {
+            this.socket = socket;
+            this.in = in;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.slots = new Semaphore(slots);
+            this.dispatcher = new Thread(this::dispatch, "jia-remote-dispatch-" + socket.getRemoteSocketAddress());
+            this.reader = new Thread(this::read, "jia-remote-read-" + socket.getRemoteSocketAddress());
+            this.dispatcher.setDaemon(true);
+            this.reader.setDaemon(true);
+        }
+
+        void start() throws IOException {
+            final int limit = timeout;
+            socket.setSoTimeout(limit);
+            synchronized (out) {
+                out.writeByte(Protocol.HEARTBEAT);
+                out.writeInt(Math.max(1, limit / HEARTBEATS));
+                out.flush();
+            }
+            dispatcher.start();
+            reader.start();
+        }
+
+        /**
+         * Envia as tarefas da fila para o worker, sempre que existir um slot livre
+         */
+        private void dispatch() {
+            while (!lost) {
+                Task task = null;
+                try {
+                    slots.acquire();
+                    task = queue.takeFirst();
+                    if (task.future.isDone()) {
+                        // Tarefa reenviada e já respondida por outro worker
+                        slots.release();
+                        continue;
+                    }
+                    running.put(task.id, task);
+                    synchronized (out) {
+                        out.writeByte(Protocol.TASK);
+                        out.writeLong(task.id);
+                        out.writeInt(task.generation);
+                        out.writeDouble(task.fidelity);
+                        out.writeInt(task.dna.length);
+                        for (double value : task.dna) {
+                            out.writeDouble(value);
+                        }
+                        out.flush();
+                    }
+                } catch (InterruptedException ex) {
+                    if (task != null && running.remove(task.id) == null && !task.future.isDone()) {
+                        queue.addFirst(task);
+                    }
+                    break;
+                } catch (IOException ex) {
+                    if (task != null) {
+                        requeue(task);
+                    }
+                    close(false);
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Recebe as respostas do worker
+         */
+        private void read() {
+            while (!lost) {
+                try {
+                    final byte type = in.readByte();
+                    if (type == Protocol.HEARTBEAT) {
+                        continue;
+                    }
+                    final long id = in.readLong();
+                    final Task task = running.remove(id);
+                    if (type == Protocol.RESULT) {
+                        final double fitness = in.readDouble();
+                        if (task != null) {
+                            task.future.complete(fitness);
+                        }
+                    } else if (type == Protocol.ERROR) {
+                        final String message = in.readUTF();
+                        if (task != null) {
+                            task.future.completeExceptionally(new Exception("Erro na execução remota: " + message));
+                        }
+                    } else {
+                        throw new IOException("Mensagem inválida: " + type);
+                    }
+                    if (task != null) {
+                        slots.release();
+                    }
+                } catch (SocketTimeoutException ex) {
+                    // Nem mesmo o heartbeat foi recebido
+                    LOG.log(Level.WARNING, String.format("Worker não respondeu no tempo limite: %s", socket.getRemoteSocketAddress()));
+                    close(false);
+                } catch (IOException ex) {
+                    close(false);
+                }
+            }
+        }
+
+        /**
+         * Finaliza a conexão, devolvendo para a fila as tarefas em execução
+         *
+         * @param bye Informa o worker sobre a finalização
+         */
+        synchronized void close(boolean bye) {
+            if (lost) {
+                return;
+            }
+            lost = true;
+            connections.remove(this);
+
+            if (bye) {
+                try {
+                    synchronized (out) {
+                        out.writeByte(Protocol.BYE);
+                        out.flush();
+                    }
+                } catch (IOException ex) {
+                    // Conexão já finalizada
+                }
+            } else {
+                LOG.log(Level.WARNING, String.format("Conexão com o worker perdida: %s", socket.getRemoteSocketAddress()));
+            }
+
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                // Ignora
+            }
+            dispatcher.interrupt();
+
+            // Reenvia as tarefas do worker perdido, com prioridade
+            for (Task task : running.values()) {
+                requeue(task);
+            }
+        }
+
+        /**
+         * Devolve para o início da fila uma tarefa enviada a este worker, quando ainda não foi respondida
+         *
+         * @param task
+         */
+        private void requeue(Task task) {
+            if (running.remove(task.id) != null && !task.future.isDone()) {
+                if (closed) {
+                    task.future.completeExceptionally(new IOException("O master foi finalizado"));
+                } else {
+                    queue.addFirst(task);
+                }
+            }
+        }
+    }
+}
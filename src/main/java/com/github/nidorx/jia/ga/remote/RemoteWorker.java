@@ -0,0 +1,172 @@
+package com.github.nidorx.jia.ga.remote;
+
+import com.github.nidorx.jia.ga.Algorithm;
+import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.Individual;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Worker da execução distribuída do GA
+ *
+ * Conecta em um {@link RemoteMaster}, recebe o DNA dos cromossomos e executa o
+ * {@link Algorithm#run(com.github.nidorx.jia.mlp.Input, com.github.nidorx.jia.mlp.Output)} local, devolvendo o fitness
+ * para o master. Durante toda a conexão um heartbeat é enviado no intervalo definido pelo master, independente da
+ * duração das execuções.
+ *
+ * Exemplo, em cada máquina:
+ *
+ * <pre>
+ * new RemoteWorker(new MyAlgorithm(), "master-host", 7000, Runtime.getRuntime().availableProcessors()).run();
+ * </pre>
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class RemoteWorker implements Runnable, Closeable {
+
+    private static final Logger LOG = Logger.getLogger(RemoteWorker.class.getName());
+
+    private final Algorithm algorithm;
+
+    private final String host;
+
+    private final int port;
+
+    private final int slots;
+
+    private volatile Socket socket;
+
+    private volatile boolean closed;
+
+    /**
+     *
+     * @param algorithm O GA, somente o run e o mapeamento de entradas e saídas são usados
+     * @param host Endereço do master
+     * @param port Porta do master
+     * @param slots Quantidade de cromossomos executados simultaneamente neste worker
+     */
+    public RemoteWorker(Algorithm algorithm, String host, int port, int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("A quantidade de slots deve ser ao menos 1");
+        }
+        this.algorithm = algorithm;
+        this.host = host;
+        this.port = port;
+        this.slots = slots;
+    }
+
+    /**
+     * Conecta no master e executa as tarefas recebidas, até a finalização da conexão
+     */
+    @Override
+    public void run() {
+        final ExecutorService pool = Executors.newFixedThreadPool(slots);
+        try (Socket s = new Socket(host, port)) {
+            socket = s;
+            s.setTcpNoDelay(true);
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+            out.writeInt(Protocol.MAGIC);
+            out.writeInt(Protocol.VERSION);
+            out.writeInt(slots);
+            out.flush();
+
+            while (!closed) {
+                final byte type = in.readByte();
+                if (type == Protocol.BYE) {
+                    break;
+                }
+                if (type == Protocol.HEARTBEAT) {
+                    heartbeat(out, in.readInt());
+                    continue;
+                }
+                if (type != Protocol.TASK) {
+                    throw new IOException("Mensagem inválida: " + type);
+                }
+
+                final long task = in.readLong();
+                final int generation = in.readInt();
+                final double fidelity = in.readDouble();
+                final double[] dna = new double[in.readInt()];
+                for (int i = 0; i < dna.length; i++) {
+                    dna[i] = in.readDouble();
+                }
+
+                pool.execute(() -> execute(out, task, generation, fidelity, dna));
+            }
+        } catch (IOException ex) {
+            if (!closed) {
+                LOG.log(Level.WARNING, "Conexão com o master perdida", ex);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Finaliza a conexão com o master, as tarefas em execução serão reenviadas para outro worker
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Inicia o envio do heartbeat para o master, até a finalização da conexão
+     *
+     * @param out
+     * @param interval Intervalo em milisegundos
+     */
+    private void heartbeat(DataOutputStream out, int interval) {
+        final Thread thread = new Thread(() -> {
+            try {
+                while (!closed) {
+                    Thread.sleep(interval);
+                    synchronized (out) {
+                        out.writeByte(Protocol.HEARTBEAT);
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException | IOException ex) {
+                // Conexão finalizada
+            }
+        }, "jia-remote-heartbeat");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void execute(DataOutputStream out, long task, int generation, double fidelity, double[] dna) {
+        final Individual individual = algorithm.execute(new Chromosome(dna), fidelity);
+        try {
+            synchronized (out) {
+                if (individual.getError() == null) {
+                    out.writeByte(Protocol.RESULT);
+                    out.writeLong(task);
+                    out.writeDouble(individual.getFitness());
+                } else {
+                    out.writeByte(Protocol.ERROR);
+                    out.writeLong(task);
+                    out.writeUTF(String.valueOf(individual.getError()));
+                }
+                out.flush();
+            }
+        } catch (IOException ex) {
+            if (!closed) {
+                LOG.log(Level.WARNING, String.format("Erro ao enviar o resultado da geração %d", generation), ex);
+            }
+        }
+    }
+}
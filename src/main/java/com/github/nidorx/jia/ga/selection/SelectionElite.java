@@ -1,12 +1,16 @@
 package com.github.nidorx.jia.ga.selection;
 
 import com.github.nidorx.jia.ga.Individual;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Seleciona cromossomos com a melhor aptidão (Truncation Selection)
  *
+ * Usa uma seleção parcial (min-heap com os melhores encontrados), O(n log k), sem ordenar toda a população. Os
+ * selecionados são retornados do melhor para o pior.
+ *
  * Fonte:
  * https://github.com/giacomelli/GeneticSharp/blob/master/src/GeneticSharp.Domain/Selections/RouletteWheelSelection.cs
  *
@@ -23,10 +27,67 @@ public class SelectionElite implements Selection {
         if (population.size() < number) {
             throw new IllegalArgumentException("O número de indivíduos disponíveis deve se ao menos o tamanho da população");
         }
-        return population.stream()
-                .sorted((a, b) -> a.getFitness().compareTo(b.getFitness()))
-                .limit(number)
-                .collect(Collectors.toList());
+
+        // Min-heap com os índices dos melhores indivíduos, a raiz é o pior entre os selecionados
+        final int[] heap = new int[number];
+        final double[] fitness = new double[number];
+        int size = 0;
+        for (int i = 0, l = population.size(); i < l && number > 0; i++) {
+            final double value = population.get(i).getFitness();
+            if (size < number) {
+                // Sift-up
+                int child = size++;
+                while (child > 0) {
+                    final int parent = (child - 1) >>> 1;
+                    if (fitness[parent] <= value) {
+                        break;
+                    }
+                    heap[child] = heap[parent];
+                    fitness[child] = fitness[parent];
+                    child = parent;
+                }
+                heap[child] = i;
+                fitness[child] = value;
+            } else if (value > fitness[0]) {
+                siftDown(heap, fitness, size, i, value);
+            }
+        }
+
+        // Remove sempre o pior, preenchendo do fim para o início
+        final Individual[] selected = new Individual[size];
+        while (size > 0) {
+            selected[size - 1] = population.get(heap[0]);
+            size--;
+            if (size > 0) {
+                siftDown(heap, fitness, size, heap[size], fitness[size]);
+            }
+        }
+
+        return new ArrayList<>(Arrays.asList(selected));
+    }
+
+    /**
+     * Substitui a raiz do heap pelo item informado, reposicionando-o
+     */
+    private static void siftDown(int[] heap, double[] fitness, int size, int index, double value) {
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && fitness[child + 1] < fitness[child]) {
+                child++;
+            }
+            if (value <= fitness[child]) {
+                break;
+            }
+            heap[parent] = heap[child];
+            fitness[parent] = fitness[child];
+            parent = child;
+        }
+        heap[parent] = index;
+        fitness[parent] = value;
     }
 
 }
@@ -0,0 +1,97 @@
+package com.github.nidorx.jia.ga.selection;
+
+import com.github.nidorx.jia.ga.Individual;
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Roulette Wheel Selection usando o método Alias (Vose)
+ *
+ * Mesma distribuição da {@link SelectionRouletteWheel}, porém cada seleção é O(1) após a montagem das tabelas (O(n)).
+ * Indicada para populações muito grandes ou quando muitos indivíduos são selecionados.
+ *
+ * A aptidão dos indivíduos não pode ser negativa. Quando a soma das aptidões é zero, a seleção é uniforme.
+ *
+ * Fonte: http://www.keithschwarz.com/darts-dice-coins/
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class SelectionRouletteAlias implements Selection {
+
+    @Override
+    public List<Individual> select(int number, List<Individual> population) {
+        if (number < 2) {
+            throw new IllegalArgumentException("O número de indivíduos a selecionar deve ser ao menos 2");
+        }
+
+        if (population.size() < number) {
+            throw new IllegalArgumentException("O número de indivíduos disponíveis deve se ao menos o tamanho da população");
+        }
+
+        final int n = population.size();
+        final double[] probability = new double[n];
+        final int[] alias = new int[n];
+        build(population, probability, alias);
+
+        final Random random = JiaUtils.random();
+        final List<Individual> selected = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            final int column = random.nextInt(n);
+            selected.add(population.get(random.nextDouble() < probability[column] ? column : alias[column]));
+        }
+        return selected;
+    }
+
+    /**
+     * Monta as tabelas de probabilidade e alias
+     *
+     * @param population
+     * @param probability
+     * @param alias
+     */
+    private static void build(List<Individual> population, double[] probability, int[] alias) {
+        final int n = probability.length;
+
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = population.get(i).getFitness();
+            sum += probability[i];
+        }
+
+        // Probabilidades escaladas para a média 1, divididas em pilhas de menores e maiores que 1
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smalls = 0;
+        int larges = 0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = sum > 0 ? probability[i] * n / sum : 1.0;
+            if (probability[i] < 1.0) {
+                small[smalls++] = i;
+            } else {
+                large[larges++] = i;
+            }
+        }
+
+        while (smalls > 0 && larges > 0) {
+            final int less = small[--smalls];
+            final int more = large[--larges];
+            alias[less] = more;
+            probability[more] = (probability[more] + probability[less]) - 1.0;
+            if (probability[more] < 1.0) {
+                small[smalls++] = more;
+            } else {
+                large[larges++] = more;
+            }
+        }
+
+        // Restantes (arredondamento) possuem probabilidade 1
+        while (larges > 0) {
+            probability[large[--larges]] = 1.0;
+        }
+        while (smalls > 0) {
+            probability[small[--smalls]] = 1.0;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.nidorx.jia.ga.selection;
 
 import com.github.nidorx.jia.ga.Individual;
+import com.github.nidorx.jia.util.JiaUtils;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -34,7 +36,7 @@ public class SelectionRouletteWheel implements Selection {
         }
 
         double[] rouletteWheel = calculateCumulativePercentFitness(population);
-        return selectFromWheel(number, population, rouletteWheel, () -> Math.random());
+        return selectFromWheel(number, population, rouletteWheel, () -> JiaUtils.random().nextDouble());
     }
 
     /**
@@ -46,7 +48,10 @@ public class SelectionRouletteWheel implements Selection {
     protected double[] calculateCumulativePercentFitness(List<Individual> population) {
 
         double[] rouletteWheel = new double[population.size()];
-        double sumFitness = population.stream().mapToDouble(i -> i.getFitness()).sum();
+        double sumFitness = 0.0;
+        for (int i = 0, j = population.size(); i < j; i++) {
+            sumFitness += population.get(i).getFitness();
+        }
 
         double cumulativePercent = 0.0;
 
@@ -73,23 +78,54 @@ public class SelectionRouletteWheel implements Selection {
             double[] rouletteWheel,
             Supplier<Double> pointer
     ) {
-        List<Individual> selected = new ArrayList<>();
+        return selectFromWheel(number, population, rouletteWheel, (DoubleSupplier) pointer::get);
+    }
 
-        for (int i = 0; i < number; i++) {
-            double pointerValue = pointer.get();
-            // First or selected
-            int index = 0;
-            for (int j = 0, k = rouletteWheel.length; j < k; j++) {
-                if (rouletteWheel[j] >= pointerValue) {
-                    index = j;
-                    break;
-                }
-            }
+    /**
+     * Selects from wheel.
+     *
+     * Cada ponteiro é localizado por busca binária na roleta, O(log n) por indivíduo selecionado
+     *
+     * @param number
+     * @param population
+     * @param rouletteWheel
+     * @param pointer
+     * @return
+     */
+    protected List<Individual> selectFromWheel(
+            int number,
+            List<Individual> population,
+            double[] rouletteWheel,
+            DoubleSupplier pointer
+    ) {
+        List<Individual> selected = new ArrayList<>(number);
 
-            selected.add(population.get(index));
+        for (int i = 0; i < number; i++) {
+            selected.add(population.get(search(rouletteWheel, pointer.getAsDouble())));
         }
 
         return selected;
     }
 
+    /**
+     * Obtém o índice do primeiro elemento da roleta maior ou igual ao ponteiro
+     *
+     * @param rouletteWheel Probabilidades cumulativas, em ordem crescente
+     * @param pointer
+     * @return O índice encontrado, ou o último índice quando o ponteiro ultrapassa a roleta (arredondamento)
+     */
+    protected static int search(double[] rouletteWheel, double pointer) {
+        int low = 0;
+        int high = rouletteWheel.length - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (rouletteWheel[mid] >= pointer) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
 }
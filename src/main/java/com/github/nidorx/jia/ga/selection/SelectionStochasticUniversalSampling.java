@@ -1,8 +1,9 @@
 package com.github.nidorx.jia.ga.selection;
 
 import com.github.nidorx.jia.ga.Individual;
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.DoubleAccumulator;
 
 /**
  * Stochastic Universal Sampling.
@@ -33,17 +34,14 @@ public class SelectionStochasticUniversalSampling extends SelectionRouletteWheel
 
         double[] rouletteWheel = calculateCumulativePercentFitness(population);
 
-        final DoubleAccumulator pointer = new DoubleAccumulator((x, y) -> x + y, Math.random());
-        double stepSize = 1.0 / number;
-        return selectFromWheel(number, population, rouletteWheel, () -> {
-            if (pointer.get() > 1.0) {
-                pointer.accumulate(-1.0);
-            }
+        // Ponteiros igualmente espaçados, a partir de uma posição aleatória no primeiro intervalo
+        final double stepSize = 1.0 / number;
+        final double start = JiaUtils.random().nextDouble() * stepSize;
 
-            double current = pointer.get();
-            pointer.accumulate(stepSize);
-
-            return current;
-        });
+        final List<Individual> selected = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            selected.add(population.get(search(rouletteWheel, start + i * stepSize)));
+        }
+        return selected;
     }
 }
@@ -0,0 +1,64 @@
+package com.github.nidorx.jia.ga.selection;
+
+import com.github.nidorx.jia.ga.Individual;
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tournament Selection
+ *
+ * Para cada seleção, sorteia alguns indivíduos da população (com reposição) e seleciona o de melhor aptidão. O custo é
+ * O(k * t), independente do tamanho da população, e a pressão seletiva é controlada pelo tamanho do torneio. Ao
+ * contrário da Roleta, aceita aptidão negativa.
+ *
+ * Fonte:
+ * https://github.com/giacomelli/GeneticSharp/blob/master/src/GeneticSharp.Domain/Selections/TournamentSelection.cs
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class SelectionTournament implements Selection {
+
+    private final int size;
+
+    public SelectionTournament() {
+        this(2);
+    }
+
+    /**
+     *
+     * @param size Quantidade de indivíduos que participam de cada torneio
+     */
+    public SelectionTournament(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho do torneio deve ser ao menos 1");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public List<Individual> select(int number, List<Individual> population) {
+        if (population.isEmpty()) {
+            throw new IllegalArgumentException("A população não possui indivíduos");
+        }
+
+        final Random random = JiaUtils.random();
+        final int n = population.size();
+        final List<Individual> selected = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            Individual winner = population.get(random.nextInt(n));
+            double best = winner.getFitness();
+            for (int j = 1; j < size; j++) {
+                final Individual challenger = population.get(random.nextInt(n));
+                final double fitness = challenger.getFitness();
+                if (fitness > best) {
+                    winner = challenger;
+                    best = fitness;
+                }
+            }
+            selected.add(winner);
+        }
+        return selected;
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.nidorx.jia.ga.storage;
 
+import java.util.Arrays;
+
 /**
  * Informações sobre o ponto de execução do GA
  *
@@ -22,15 +24,36 @@ public class Info {
      */
     public final double[] fitness;
 
+    /**
+     * A fidelidade da execução que gerou o fitness de cada individuo desta população (1 = conjunto de dados completo)
+     */
+    public final double[] fidelity;
+
     public Info(int generation, double[][] population, double[] fitness) throws Exception {
+        this(generation, population, fitness, full(fitness.length));
+    }
+
+    public Info(int generation, double[][] population, double[] fitness, double[] fidelity) throws Exception {
         this.generation = generation;
         this.population = population;
         this.fitness = fitness;
+        this.fidelity = fidelity;
         if (population.length != fitness.length) {
             throw new Exception(
                     "A quantidade informação sobre a aptidão da população não correponde com a quantidade de individuos"
             );
         }
+        if (fidelity.length != fitness.length) {
+            throw new Exception(
+                    "A quantidade informação sobre a fidelidade da população não correponde com a quantidade de individuos"
+            );
+        }
+    }
+
+    private static double[] full(int length) {
+        final double[] out = new double[length];
+        Arrays.fill(out, 1.0);
+        return out;
     }
 
     /**
@@ -22,4 +22,24 @@ public interface Storage {
      * @throws java.lang.Exception
      */
     public void save(Info info) throws Exception;
+
+    /**
+     * Faz o carregamento do cache de aptidão persistido, usado quando o GA possui
+     * {@link com.github.nidorx.jia.ga.Algorithm#getFitnessCacheSize()}
+     *
+     * @return O cache persistido, ou null quando não existe
+     * @throws java.lang.Exception
+     */
+    public default Info loadFitnessCache() throws Exception {
+        return null;
+    }
+
+    /**
+     * Permite salvar o cache de aptidão. É acionado sempre que finaliza a execução de uma geração
+     *
+     * @param info Os cromossomos em cache e sua aptidão
+     * @throws java.lang.Exception
+     */
+    public default void saveFitnessCache(Info info) throws Exception {
+    }
 }
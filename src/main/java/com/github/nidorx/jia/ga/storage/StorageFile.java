@@ -37,7 +37,35 @@ public class StorageFile implements Storage {
 
     @Override
     public Info load() throws Exception {
-        final Path path = dir.toPath().resolve("generation");
+        final Info info = load("generation");
+        final Path path = dir.toPath().resolve("fidelity");
+        if (info == null || !Files.exists(path)) {
+            return info;
+        }
+
+        // Fidelidade de cada indivíduo, uma por linha
+        final double[] fidelity;
+        try (Stream<String> stream = Files.lines(path)) {
+            fidelity = stream.map(String::trim).filter(line -> !line.isEmpty()).mapToDouble(Double::valueOf).toArray();
+        }
+        if (fidelity.length != info.fitness.length) {
+            return info;
+        }
+        return new Info(info.generation, info.population, info.fitness, fidelity);
+    }
+
+    @Override
+    public Info loadFitnessCache() throws Exception {
+        return load("fitness-cache");
+    }
+
+    @Override
+    public void saveFitnessCache(Info info) throws Exception {
+        write("fitness-cache", info);
+    }
+
+    private Info load(String name) throws Exception {
+        final Path path = dir.toPath().resolve(name);
         if (!Files.exists(path)) {
             return null;
         }
@@ -81,10 +109,11 @@ public class StorageFile implements Storage {
 
     @Override
     public void save(Info info) throws Exception {
-        try (PrintWriter pw = new PrintWriter(dir.toPath().resolve("generation").toFile())) {
-            pw.println(info.generation);
-            for (int i = 0, j = info.fitness.length; i < j; i++) {
-                writeArrayChromossome(pw, info.fitness[i], info.population[i]);
+        write("generation", info);
+
+        try (PrintWriter pw = new PrintWriter(dir.toPath().resolve("fidelity").toFile())) {
+            for (double fidelity : info.fidelity) {
+                pw.println(fidelity);
             }
         }
 
@@ -97,6 +126,15 @@ public class StorageFile implements Storage {
         }
     }
 
+    private void write(String name, Info info) throws Exception {
+        try (PrintWriter pw = new PrintWriter(dir.toPath().resolve(name).toFile())) {
+            pw.println(info.generation);
+            for (int i = 0, j = info.fitness.length; i < j; i++) {
+                writeArrayChromossome(pw, info.fitness[i], info.population[i]);
+            }
+        }
+    }
+
     private void writeArrayChromossome(final PrintWriter pw, double fitness, double[] dna) {
         final String line = Arrays.toString(dna);
         pw.print(String.valueOf(fitness) + ", ");
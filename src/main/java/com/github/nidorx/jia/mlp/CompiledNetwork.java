@@ -0,0 +1,122 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Representação compilada de uma Rede Neural, otimizada para inferência (Feedforward Propagation)
+ *
+ * Une um {@link Model} a um único {@link Model.Context}. Os buffers de saída de cada camada são alocados uma única vez,
+ * na compilação, e reutilizados em todas as execuções. Por este motivo, uma instância NÃO DEVE ser usada por mais de
+ * uma thread ao mesmo tempo, para execução concorrente compartilhe o {@link #getModel()} e crie um contexto por thread.
+ *
+ * A compilação é uma cópia dos pesos, alterações posteriores na Network de origem (ex. treinamento) não são refletidas
+ * no modelo compilado.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class CompiledNetwork {
+
+    private final Model model;
+
+    private final Model.Context context;
+
+    public CompiledNetwork(Model model) {
+        this.model = model;
+        this.context = model.newContext();
+    }
+
+    /**
+     * Compila a Rede Neural informada
+     *
+     * @param network
+     * @return
+     */
+    public static CompiledNetwork compile(Network network) {
+        return new CompiledNetwork(Model.freeze(network));
+    }
+
+    /**
+     * Compila as camadas informadas (Hidden e Output), ex. resultado de
+     * {@link com.github.nidorx.jia.ga.decoder.DecoderDnaLayers#decode(double[])}
+     *
+     * @param layers
+     * @return
+     */
+    public static CompiledNetwork compile(Layer[] layers) {
+        return new CompiledNetwork(Model.freeze(layers));
+    }
+
+    /**
+     * O modelo imutável desta rede compilada, pode ser compartilhado entre threads
+     *
+     * @return
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Obtém a dimensão da camada de entrada
+     *
+     * @return
+     */
+    public int getInputSize() {
+        return model.getInputSize();
+    }
+
+    /**
+     * Obtém a dimensão da camada de saída
+     *
+     * @return
+     */
+    public int getOutputSize() {
+        return model.getOutputSize();
+    }
+
+    /**
+     * Forward Propagation
+     *
+     * IMPORTANTE! O array retornado é o buffer interno da camada de saída, sendo sobrescrito na próxima execução
+     *
+     * @param row
+     * @return
+     */
+    public double[] forward(double[] row) {
+        return model.forward(context, row);
+    }
+
+    /**
+     * Forward Propagation, copiando o resultado para o array informado
+     *
+     * @param row
+     * @param out
+     */
+    public void forward(double[] row, double[] out) {
+        model.forward(context, row, out);
+    }
+
+    /**
+     * Forward Propagation em lote, cada linha de entrada gera a linha de mesmo índice na saída
+     *
+     * @see Model#predict(Model.Context, double[][], double[][])
+     * @param rows Linhas de entrada
+     * @param out Matriz que receberá as saídas, deve possuir ao menos o mesmo número de linhas da entrada
+     */
+    public void predict(double[][] rows, double[][] out) {
+        model.predict(context, rows, out);
+    }
+
+    /**
+     * Forward Propagation em lote sobre um array contíguo de dados
+     *
+     * @see Model#predict(Model.Context, double[], int, int, int, double[], int, int)
+     * @param data Dados de entrada
+     * @param offset Índice da primeira linha em data
+     * @param stride Distância entre o início de duas linhas consecutivas em data
+     * @param count Quantidade de linhas
+     * @param out Array que receberá as saídas
+     * @param outOffset Índice da primeira linha em out
+     * @param outStride Distância entre o início de duas linhas consecutivas em out
+     */
+    public void predict(double[] data, int offset, int stride, int count, double[] out, int outOffset, int outStride) {
+        model.predict(context, data, offset, stride, count, out, outOffset, outStride);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.nidorx.jia.mlp;
+
+import java.util.Arrays;
+
+/**
+ * Acumulador dos gradientes (delta * entrada) de todos os pesos e bias de uma Rede Neural
+ *
+ * Usado nos métodos de treinamento em lote, onde os gradientes de várias amostras são somados antes da atualização dos
+ * pesos. Os buffers são alocados uma única vez e reaproveitados em todos os lotes.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+class Gradient {
+
+    /**
+     * Gradientes dos pesos, por camada e neuronio
+     */
+    final double[][][] weights;
+
+    /**
+     * Gradientes dos bias, por camada
+     */
+    final double[][] biases;
+
+    Gradient(Layer[] layers) {
+        this.weights = new double[layers.length][][];
+        this.biases = new double[layers.length][];
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Layer layer = layers[i];
+            this.biases[i] = new double[layer.size];
+            this.weights[i] = new double[layer.size][];
+            for (int j = 0; j < layer.size; j++) {
+                this.weights[i][j] = new double[layer.neurons[j].weights.length];
+            }
+        }
+    }
+
+    /**
+     * Zera todos os gradientes acumulados
+     */
+    void clear() {
+        for (int i = 0, l = weights.length; i < l; i++) {
+            final double[][] layer = weights[i];
+            for (int j = 0, m = layer.length; j < m; j++) {
+                Arrays.fill(layer[j], 0d);
+            }
+            Arrays.fill(biases[i], 0d);
+        }
+    }
+
+    /**
+     * Acumula o gradiente da amostra atual, considera que o forward e backward propagation já foram executados
+     *
+     * @param layers
+     * @param row
+     */
+    void accumulate(Layer[] layers, double[] row) {
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Layer layer = layers[i];
+            final Neuron[] prev = i == 0 ? null : layers[i - 1].neurons;
+            final double[][] grads = weights[i];
+            final double[] bias = biases[i];
+
+            for (int j = 0; j < layer.size; j++) {
+                final double delta = layer.neurons[j].delta;
+                final double[] grad = grads[j];
+                if (prev == null) {
+                    for (int k = 0, m = grad.length; k < m; k++) {
+                        grad[k] += delta * row[k];
+                    }
+                } else {
+                    for (int k = 0, m = grad.length; k < m; k++) {
+                        grad[k] += delta * prev[k].output;
+                    }
+                }
+                bias[j] += delta;
+            }
+        }
+    }
+
+    /**
+     * Soma os gradientes informados a este acumulador
+     *
+     * @param other
+     */
+    void add(Gradient other) {
+        for (int i = 0, l = weights.length; i < l; i++) {
+            final double[][] layer = weights[i];
+            final double[][] otherLayer = other.weights[i];
+            for (int j = 0, m = layer.length; j < m; j++) {
+                final double[] grad = layer[j];
+                final double[] otherGrad = otherLayer[j];
+                for (int k = 0, n = grad.length; k < n; k++) {
+                    grad[k] += otherGrad[k];
+                }
+                biases[i][j] += other.biases[i][j];
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.github.nidorx.jia.mlp;
 
 import com.github.nidorx.jia.util.JiaUtils;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -9,26 +9,97 @@ import java.util.function.Consumer;
 /**
  * Padronização do processo de entrada de dados na Rede Neural
  *
+ * Os valores de entrada são copiados para um buffer interno, nenhum dos métodos de entrada de dados a partir de arrays
+ * ou de índices aloca memória.
+ *
  * @author Alex Rodin <contato@alexrodin.info>
  */
 public class Input {
 
-    private final Network network;
-
-    private final Layer layer;
+    private final Output output;
 
     public final List<String> names;
 
+    /**
+     * Índice de cada entrada, pelo nome
+     */
+    private final Map<String, Integer> indexes;
+
     private final double[] values;
 
-    private final Consumer propagate;
+    private final Consumer<double[]> propagate;
 
+    /**
+     * Mantido por compatibilidade, a saída é obtida da Rede Neural informada
+     *
+     * @param network
+     * @param outputLayer Não utilizado, a saída é a {@link Network#output()}
+     * @param names
+     * @param propagate
+     */
     public Input(Network network, Layer outputLayer, List<String> names, Consumer<double[]> propagate) {
-        this.network = network;
+        this(network.output(), names, propagate);
+    }
+
+    public Input(Output output, List<String> names, Consumer<double[]> propagate) {
+        this.output = output;
         this.propagate = propagate;
-        this.layer = outputLayer;
         this.names = names;
         this.values = new double[names.size()];
+        this.indexes = new HashMap<>();
+        for (int i = 0, l = names.size(); i < l; i++) {
+            this.indexes.put(names.get(i), i);
+        }
+    }
+
+    /**
+     * Obtém o índice da entrada com o nome informado, permite resolver o nome uma única vez e usar
+     * {@link #put(int, double)} nas execuções seguintes
+     *
+     * @param name
+     * @return O índice da entrada, ou -1 quando não existe
+     */
+    public int indexOf(String name) {
+        final Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Define o valor de uma entrada, sem propagar. Use {@link #propagate()} após definir todas as entradas
+     *
+     * @param index
+     * @param value
+     * @return
+     */
+    public Input put(int index, double value) {
+        values[index] = value;
+        return this;
+    }
+
+    /**
+     * Define o valor de uma entrada, sem propagar. Use {@link #propagate()} após definir todas as entradas
+     *
+     * Re-mapeia o número que está no range informado para o range 0-1
+     *
+     * @param index
+     * @param value
+     * @param currentMin
+     * @param currentMax
+     * @return
+     */
+    public Input put(int index, double value, double currentMin, double currentMax) {
+        values[index] = JiaUtils.remap(value, currentMin, currentMax);
+        return this;
+    }
+
+    /**
+     * Aplica na Rede Neural os valores de entrada atuais
+     *
+     * @return
+     */
+    public Output propagate() {
+        propagate.accept(values);
+        return output;
     }
 
     /**
@@ -38,9 +109,10 @@ public class Input {
      * @return
      */
     public Output set(double[] input) {
+        validate(input.length);
         System.arraycopy(input, 0, values, 0, input.length);
         propagate.accept(input);
-        return network.output();
+        return output;
     }
 
     /**
@@ -54,7 +126,9 @@ public class Input {
      * @return
      */
     public Output set(double[] input, double currentMin, double currentMax) {
-        return set(Arrays.stream(input).map(d -> JiaUtils.remap(d, currentMin, currentMax)).toArray());
+        validate(input.length);
+        JiaUtils.remap(input, currentMin, currentMax, values);
+        return propagate();
     }
 
     /**
@@ -64,7 +138,11 @@ public class Input {
      * @return
      */
     public Output set(final List<Double> input) {
-        return set(input.stream().mapToDouble(d -> d).toArray());
+        validate(input.size());
+        for (int i = 0, l = input.size(); i < l; i++) {
+            values[i] = input.get(i);
+        }
+        return propagate();
     }
 
     /**
@@ -78,7 +156,11 @@ public class Input {
      * @return
      */
     public Output set(List<Double> input, double currentMin, double currentMax) {
-        return set(input.stream().mapToDouble(d -> JiaUtils.remap(d, currentMin, currentMax)).toArray());
+        validate(input.size());
+        for (int i = 0, l = input.size(); i < l; i++) {
+            values[i] = JiaUtils.remap(input.get(i), currentMin, currentMax);
+        }
+        return propagate();
     }
 
     /**
@@ -88,7 +170,10 @@ public class Input {
      * @return
      */
     public Output set(Map<String, Double> input) {
-        return set(names.stream().mapToDouble(name -> input.get(name)).toArray());
+        for (int i = 0, l = values.length; i < l; i++) {
+            values[i] = input.get(names.get(i));
+        }
+        return propagate();
     }
 
     /**
@@ -102,7 +187,23 @@ public class Input {
      * @return
      */
     public Output set(Map<String, Double> input, double currentMin, double currentMax) {
-        return set(names.stream().mapToDouble(name -> JiaUtils.remap(input.get(name), currentMin, currentMax)).toArray());
+        for (int i = 0, l = values.length; i < l; i++) {
+            values[i] = JiaUtils.remap(input.get(names.get(i)), currentMin, currentMax);
+        }
+        return propagate();
+    }
+
+    /**
+     * Valida a quantidade de valores informada, todas as entradas devem ser definidas
+     *
+     * @param size
+     */
+    private void validate(int size) {
+        if (size != values.length) {
+            throw new IllegalArgumentException(String.format(
+                    "A Rede Neural possui %d entradas, informado %d", values.length, size
+            ));
+        }
     }
 
     /**
@@ -111,7 +212,18 @@ public class Input {
      * @return
      */
     public double[] get() {
-        return Arrays.stream(values).map(d -> d).toArray();
+        return get(new double[values.length]);
+    }
+
+    /**
+     * Copia os valores de entrada atuais da Rede Neural para o array informado
+     *
+     * @param out
+     * @return O array informado
+     */
+    public double[] get(double[] out) {
+        System.arraycopy(values, 0, out, 0, values.length);
+        return out;
     }
 
     /**
@@ -123,7 +235,19 @@ public class Input {
      * @return
      */
     public double[] get(double targetMin, double targetMax) {
-        return Arrays.stream(values).map(d -> JiaUtils.unremap(d, targetMin, targetMax)).toArray();
+        return get(new double[values.length], targetMin, targetMax);
+    }
+
+    /**
+     * Copia os valores de entrada atuais da Rede Neural para o array informado, remapeado para um range específico
+     *
+     * @param out
+     * @param targetMin lower bound of the value's target range
+     * @param targetMax upper bound of the value's target range
+     * @return O array informado
+     */
+    public double[] get(double[] out, double targetMin, double targetMax) {
+        return JiaUtils.unremap(values, targetMin, targetMax, out);
     }
 
 }
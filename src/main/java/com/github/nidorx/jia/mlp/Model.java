@@ -0,0 +1,489 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Representação imutável (congelada) de uma Rede Neural, otimizada para inferência (Feedforward Propagation)
+ *
+ * Possui somente os pesos, bias e funções de transferência. Os pesos de todas as camadas são armazenados de forma
+ * contígua em um único array, sendo que cada camada possui uma matriz de pesos (row-major, uma linha por neuronio)
+ * seguida do vetor de bias.
+ *
+ * O estado temporário da execução fica em um {@link Context}, portanto uma mesma instância pode ser compartilhada e
+ * executada por várias threads simultaneamente, desde que cada thread use o seu próprio contexto.
+ *
+ * O modelo é uma cópia dos pesos, alterações posteriores na Network de origem (ex. treinamento) não são refletidas.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public final class Model {
+
+    /**
+     * Quantidade de linhas processadas por vez na execução em lote
+     */
+    private static final int BLOCK = 64;
+
+    /**
+     * Dimensão de todas as camadas, incluindo Input, Hidden e Output
+     */
+    private final int[] sizes;
+
+    /**
+     * Índice, em {@link #params}, do início da matriz de pesos de cada camada (Hidden e Output)
+     */
+    private final int[] offsets;
+
+    /**
+     * Pesos e bias de todas as camadas
+     *
+     * ----------------------------
+     * -- Camada [0...N]
+     * [ 0]  <WEIGHT> -- Neuron 0, peso para entrada [0...PREV]
+     * [..]  <WEIGHT> -- Neuron SIZE, peso para entrada [0...PREV]
+     * [..]  <BIAS>   -- Neuron [0...SIZE]
+     * ----------------------------
+     */
+    private final double[] params;
+
+    /**
+     * Função de transferência de cada neuronio, por camada
+     */
+    private final Transfer[][] transfers;
+
+    /**
+     * Função de transferência comum a todos os neuronios da camada, ou null quando a camada possui funções distintas.
+     * Permite aplicar a ativação da camada inteira em uma única chamada
+     */
+    private final Transfer[] uniforms;
+
+    private Model(int[] sizes, int[] offsets, double[] params, Transfer[][] transfers) {
+        this.sizes = sizes;
+        this.offsets = offsets;
+        this.params = params;
+        this.transfers = transfers;
+        this.uniforms = new Transfer[transfers.length];
+        for (int i = 0, l = transfers.length; i < l; i++) {
+            Transfer uniform = transfers[i][0];
+            for (Transfer transfer : transfers[i]) {
+                if (transfer != uniform) {
+                    uniform = null;
+                    break;
+                }
+            }
+            this.uniforms[i] = uniform;
+        }
+    }
+
+    /**
+     * Congela a Rede Neural informada
+     *
+     * @param network
+     * @return
+     */
+    public static Model freeze(Network network) {
+        return freeze(network.layers());
+    }
+
+    /**
+     * Congela as camadas informadas (Hidden e Output), ex. resultado de
+     * {@link com.github.nidorx.jia.ga.decoder.DecoderDnaLayers#decode(double[])}
+     *
+     * @param layers
+     * @return
+     */
+    public static Model freeze(Layer[] layers) {
+        if (layers.length < 1) {
+            throw new IllegalArgumentException("É necessário informar ao menos 1 camada");
+        }
+
+        // Input + Hidden + Output
+        final int[] sizes = new int[layers.length + 1];
+        final int[] offsets = new int[layers.length];
+        sizes[0] = layers[0].neurons[0].weights.length;
+
+        int length = 0;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            sizes[i + 1] = layers[i].size;
+            offsets[i] = length;
+            length += sizes[i + 1] * sizes[i] + sizes[i + 1];
+        }
+
+        final double[] params = new double[length];
+        final Transfer[][] transfers = new Transfer[layers.length][];
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Layer layer = layers[i];
+            final int prev = sizes[i];
+            final int bias = offsets[i] + layer.size * prev;
+            transfers[i] = new Transfer[layer.size];
+            for (int j = 0; j < layer.size; j++) {
+                final Neuron neuron = layer.neurons[j];
+                if (neuron.weights.length != prev) {
+                    throw new IllegalArgumentException("A quantidade de pesos do Neuron é inválido");
+                }
+                System.arraycopy(neuron.weights, 0, params, offsets[i] + j * prev, prev);
+                params[bias + j] = neuron.bias;
+                transfers[i][j] = neuron.transfer;
+            }
+        }
+
+        return new Model(sizes, offsets, params, transfers);
+    }
+
+    /**
+     * Cria um modelo a partir dos parâmetros já organizados no layout interno (ver {@link #params}), sem cópia
+     *
+     * Permite que decodificadores escrevam os pesos diretamente no array final, sem criar {@link Layer} e
+     * {@link Neuron} intermediários. O array informado NÃO DEVE ser alterado após a criação do modelo.
+     *
+     * @param sizes Dimensão de todas as camadas, incluindo Input, Hidden e Output
+     * @param params Pesos e bias de todas as camadas
+     * @param transfers Função de transferência de cada neuronio, por camada (Hidden e Output)
+     * @return
+     */
+    public static Model of(int[] sizes, double[] params, Transfer[][] transfers) {
+        if (sizes.length < 2) {
+            throw new IllegalArgumentException("É necessário informar ao menos 1 camada");
+        }
+        if (transfers.length != sizes.length - 1) {
+            throw new IllegalArgumentException("A quantidade de camadas das funções de transferência é inválida");
+        }
+
+        final int[] offsets = new int[sizes.length - 1];
+        int length = 0;
+        for (int i = 0, l = offsets.length; i < l; i++) {
+            if (transfers[i].length != sizes[i + 1]) {
+                throw new IllegalArgumentException("A quantidade de funções de transferência da camada é inválida");
+            }
+            offsets[i] = length;
+            length += sizes[i + 1] * sizes[i] + sizes[i + 1];
+        }
+        if (params.length != length) {
+            throw new IllegalArgumentException(String.format(
+                    "A quantidade de parâmetros é inválida, esperado %d, informado %d", length, params.length
+            ));
+        }
+
+        return new Model(sizes.clone(), offsets, params, transfers);
+    }
+
+    /**
+     * Obtém uma cópia deste modelo usando as variantes aproximadas (fast-math) das funções de transferência
+     *
+     * Os pesos são compartilhados com este modelo. O erro absoluto de cada função está documentado em {@link Transfer},
+     * sendo propagado (e eventualmente amplificado pelos pesos) pelas camadas seguintes.
+     *
+     * @see Transfer#fast()
+     * @return
+     */
+    public Model fast() {
+        final Transfer[][] fast = new Transfer[transfers.length][];
+        for (int i = 0, l = transfers.length; i < l; i++) {
+            fast[i] = new Transfer[transfers[i].length];
+            for (int j = 0, m = transfers[i].length; j < m; j++) {
+                fast[i][j] = transfers[i][j].fast();
+            }
+        }
+        return new Model(sizes, offsets, params, fast);
+    }
+
+    /**
+     * Cria um novo contexto de execução para este modelo
+     *
+     * O contexto deve ser usado por uma única thread, mas pode ser reutilizado em quantas execuções forem necessárias
+     *
+     * @return
+     */
+    public Context newContext() {
+        return new Context(this);
+    }
+
+    /**
+     * Obtém a dimensão da camada de entrada
+     *
+     * @return
+     */
+    public int getInputSize() {
+        return sizes[0];
+    }
+
+    /**
+     * Obtém a dimensão da camada de saída
+     *
+     * @return
+     */
+    public int getOutputSize() {
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Obtém a dimensão de todas as camadas, incluindo Input, Hidden e Output
+     *
+     * @return
+     */
+    public int[] getLayersSizes() {
+        return sizes.clone();
+    }
+
+    /**
+     * Obtém uma cópia dos pesos e bias de todas as camadas, no layout interno (ver {@link #params})
+     *
+     * @return
+     */
+    public double[] getParams() {
+        return params.clone();
+    }
+
+    /**
+     * Obtém a função de transferência do neuronio
+     *
+     * @param layer Índice da camada (Hidden e Output)
+     * @param neuron Índice do neuronio na camada
+     * @return
+     */
+    public Transfer getTransfer(int layer, int neuron) {
+        return transfers[layer][neuron];
+    }
+
+    /**
+     * Forward Propagation
+     *
+     * IMPORTANTE! O array retornado é o buffer do contexto, sendo sobrescrito na próxima execução com o mesmo contexto
+     *
+     * @param context
+     * @param row
+     * @return
+     */
+    public double[] forward(Context context, double[] row) {
+        if (row.length < sizes[0]) {
+            throw new IllegalArgumentException("A quantidade de entradas é inválida");
+        }
+
+        final double[][] outputs = context.outputs(this);
+        double[] inputs = row;
+        for (int i = 0, l = outputs.length; i < l; i++) {
+            final double[] out = outputs[i];
+            final int prev = sizes[i];
+            final int size = sizes[i + 1];
+            final int bias = offsets[i] + size * prev;
+
+            for (int j = 0, w = offsets[i]; j < size; j++, w += prev) {
+                double activation = 0d;
+                for (int k = 0; k < prev; k++) {
+                    activation += params[w + k] * inputs[k];
+                }
+                activation += params[bias + j]; // Sum bias
+                out[j] = activation;
+            }
+
+            activate(i, out);
+            inputs = out;
+        }
+
+        return inputs;
+    }
+
+    /**
+     * Forward Propagation, copiando o resultado para o array informado
+     *
+     * @param context
+     * @param row
+     * @param out
+     */
+    public void forward(Context context, double[] row, double[] out) {
+        final double[] result = forward(context, row);
+        System.arraycopy(result, 0, out, 0, result.length);
+    }
+
+    /**
+     * Forward Propagation em lote, cada linha de entrada gera a linha de mesmo índice na saída
+     *
+     * @param context
+     * @param rows Linhas de entrada
+     * @param out Matriz que receberá as saídas, deve possuir ao menos o mesmo número de linhas da entrada
+     */
+    public void predict(Context context, double[][] rows, double[][] out) {
+        if (out.length < rows.length) {
+            throw new IllegalArgumentException("A matriz de saída deve possuir ao menos o número de linhas da entrada");
+        }
+
+        final int input = sizes[0];
+        final int output = sizes[sizes.length - 1];
+        final double[][] blocks = context.blocks(this);
+        final double[] first = blocks[0];
+        final double[] last = blocks[blocks.length - 1];
+
+        for (int start = 0, total = rows.length; start < total; start += BLOCK) {
+            final int count = Math.min(BLOCK, total - start);
+
+            for (int r = 0; r < count; r++) {
+                final double[] row = rows[start + r];
+                if (row.length < input) {
+                    throw new IllegalArgumentException("A quantidade de entradas é inválida");
+                }
+                for (int k = 0; k < input; k++) {
+                    first[k * BLOCK + r] = row[k];
+                }
+            }
+
+            forwardBlock(blocks, count);
+
+            for (int r = 0; r < count; r++) {
+                final double[] row = out[start + r];
+                for (int j = 0; j < output; j++) {
+                    row[j] = last[j * BLOCK + r];
+                }
+            }
+        }
+    }
+
+    /**
+     * Forward Propagation em lote sobre um array contíguo de dados
+     *
+     * A linha <code>r</code> inicia em <code>data[offset + r * stride]</code> e sua saída é gravada a partir de
+     * <code>out[outOffset + r * outStride]</code>
+     *
+     * @param context
+     * @param data Dados de entrada
+     * @param offset Índice da primeira linha em data
+     * @param stride Distância entre o início de duas linhas consecutivas em data
+     * @param count Quantidade de linhas
+     * @param out Array que receberá as saídas
+     * @param outOffset Índice da primeira linha em out
+     * @param outStride Distância entre o início de duas linhas consecutivas em out
+     */
+    public void predict(Context context, double[] data, int offset, int stride, int count, double[] out, int outOffset, int outStride) {
+        final int input = sizes[0];
+        final int output = sizes[sizes.length - 1];
+        if (stride < input || outStride < output) {
+            throw new IllegalArgumentException("O stride deve ser ao menos o tamanho da linha");
+        }
+
+        final double[][] blocks = context.blocks(this);
+        final double[] first = blocks[0];
+        final double[] last = blocks[blocks.length - 1];
+
+        for (int start = 0; start < count; start += BLOCK) {
+            final int rows = Math.min(BLOCK, count - start);
+
+            for (int r = 0, i = offset + start * stride; r < rows; r++, i += stride) {
+                for (int k = 0; k < input; k++) {
+                    first[k * BLOCK + r] = data[i + k];
+                }
+            }
+
+            forwardBlock(blocks, rows);
+
+            for (int r = 0, i = outOffset + start * outStride; r < rows; r++, i += outStride) {
+                for (int j = 0; j < output; j++) {
+                    out[i + j] = last[j * BLOCK + r];
+                }
+            }
+        }
+    }
+
+    /**
+     * Executa todas as camadas sobre o bloco de entrada atual (blocks[0])
+     *
+     * Cada bloco armazena {@link #BLOCK} linhas de forma transposta (neuron-major), permitindo que o laço interno
+     * percorra as linhas de forma contígua. A ordem das somas é a mesma de {@link #forward(Context, double[])},
+     * portanto o resultado é idêntico à execução linha a linha
+     *
+     * @param blocks
+     * @param count Quantidade de linhas válidas no bloco
+     */
+    private void forwardBlock(double[][] blocks, int count) {
+        for (int i = 0, l = transfers.length; i < l; i++) {
+            final double[] in = blocks[i];
+            final double[] out = blocks[i + 1];
+            final Transfer[] types = transfers[i];
+            final int prev = sizes[i];
+            final int size = sizes[i + 1];
+            final int bias = offsets[i] + size * prev;
+
+            for (int j = 0, w = offsets[i]; j < size; j++, w += prev) {
+                final int o = j * BLOCK;
+                for (int r = 0; r < count; r++) {
+                    out[o + r] = 0d;
+                }
+                for (int k = 0; k < prev; k++) {
+                    final double weight = params[w + k];
+                    final int b = k * BLOCK;
+                    for (int r = 0; r < count; r++) {
+                        out[o + r] += weight * in[b + r];
+                    }
+                }
+                final double b = params[bias + j];
+                for (int r = 0; r < count; r++) {
+                    out[o + r] += b;
+                }
+                types[j].activation(out, out, o, o + count);
+            }
+        }
+    }
+
+    /**
+     * Aplica as funções de transferência da camada sobre o vetor de ativação (in place)
+     *
+     * @param layer
+     * @param values
+     */
+    private void activate(int layer, double[] values) {
+        final Transfer uniform = uniforms[layer];
+        if (uniform != null) {
+            uniform.activation(values, values);
+        } else {
+            final Transfer[] types = transfers[layer];
+            for (int j = 0, l = values.length; j < l; j++) {
+                values[j] = types[j].activation(values[j]);
+            }
+        }
+    }
+
+    /**
+     * Contexto de execução de um {@link Model}, possui os buffers de saída de cada camada
+     *
+     * Os buffers são alocados uma única vez e reutilizados em todas as execuções. Um contexto NÃO DEVE ser usado por
+     * mais de uma thread ao mesmo tempo.
+     */
+    public static final class Context {
+
+        private final Model model;
+
+        /**
+         * Buffers de saída de cada camada (Hidden e Output)
+         */
+        final double[][] outputs;
+
+        /**
+         * Buffers usados na execução em lote, por camada (Input, Hidden e Output). Alocados somente na primeira
+         * execução em lote
+         */
+        private double[][] blocks;
+
+        private Context(Model model) {
+            this.model = model;
+            this.outputs = new double[model.sizes.length - 1][];
+            for (int i = 1, l = model.sizes.length; i < l; i++) {
+                this.outputs[i - 1] = new double[model.sizes[i]];
+            }
+        }
+
+        private double[][] outputs(Model owner) {
+            if (owner != model) {
+                throw new IllegalArgumentException("O contexto pertence a outro modelo");
+            }
+            return outputs;
+        }
+
+        private double[][] blocks(Model owner) {
+            if (owner != model) {
+                throw new IllegalArgumentException("O contexto pertence a outro modelo");
+            }
+            if (blocks == null) {
+                blocks = new double[model.sizes.length][];
+                for (int i = 0, l = model.sizes.length; i < l; i++) {
+                    blocks[i] = new double[model.sizes[i] * BLOCK];
+                }
+            }
+            return blocks;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.github.nidorx.jia.mlp;
 
 import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
 /**
@@ -32,6 +35,11 @@ public class Network {
      */
     private static final double LEARNING_RATE = 0.03;
 
+    /**
+     * O tamanho padrão do lote usado no {@link LEARNING_METHOD#MINI_BATCH_GRADIENT_DESCENT}
+     */
+    private static final int BATCH_SIZE = 32;
+
     /**
      * As camadas deste MLP
      */
@@ -47,6 +55,11 @@ public class Network {
      */
     private final Output output;
 
+    /**
+     * Buffers de saída de cada camada (Hidden e Output), reutilizados em todas as propagações
+     */
+    private final double[][] outputs;
+
     /**
      * Training Learning Rate
      *
@@ -59,9 +72,24 @@ public class Network {
      * camadas em vez do conjunto mais rápido de pesos que minimizam o erro (chamado de convergência prematura).
      */
     private double learningRate = LEARNING_RATE;
-    
+
     private LEARNING_METHOD learningMethod = LEARNING_METHOD.STOCHASTIC_GRADIENT_DESCENT;
 
+    /**
+     * Quantidade de amostras de cada lote no {@link LEARNING_METHOD#MINI_BATCH_GRADIENT_DESCENT}
+     */
+    private int batchSize = BATCH_SIZE;
+
+    /**
+     * Quantidade de threads usadas no treinamento em lote (BATCH e MINI_BATCH). Cada lote é dividido entre as threads
+     */
+    private int parallelism = 1;
+
+    /**
+     * Algoritmo de otimização usado na atualização dos pesos, quando null usa o gradient descent com learning rate fixo
+     */
+    private Optimizer optimizer;
+
     public Network(Layer[] layers, String[] inputNames, String[] outputNames) {
         this(layers, Arrays.asList(inputNames), Arrays.asList(outputNames));
     }
@@ -75,8 +103,12 @@ public class Network {
      */
     public Network(Layer[] layers, List<String> inputNames, List<String> outputNames) {
         this.layers = layers;
-        this.input = new Input(this, this.layers[0], inputNames, row -> forwardPropagate(row));
+        this.outputs = new double[layers.length][];
+        for (int i = 0, l = layers.length; i < l; i++) {
+            this.outputs[i] = new double[layers[i].size];
+        }
         this.output = new Output(this, this.layers[this.layers.length - 1], outputNames);
+        this.input = new Input(this.output, inputNames, row -> forwardPropagate(row));
     }
 
     public double getLearningRate() {
@@ -87,6 +119,62 @@ public class Network {
         this.learningRate = learningRate;
     }
 
+    public LEARNING_METHOD getLearningMethod() {
+        return learningMethod;
+    }
+
+    public void setLearningMethod(LEARNING_METHOD learningMethod) {
+        this.learningMethod = learningMethod;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser ao menos 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Define a quantidade de threads usadas no treinamento em lote (BATCH_GRADIENT_DESCENT e
+     * MINI_BATCH_GRADIENT_DESCENT).
+     *
+     * Cada lote é dividido em partes contíguas, uma por thread, e os gradientes são somados sempre na mesma ordem antes
+     * da atualização dos pesos, portanto o resultado é determinístico para um mesmo valor de paralelismo.
+     *
+     * @param parallelism
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser ao menos 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Define o algoritmo de otimização usado na atualização dos pesos (ex. {@link OptimizerAdam}), ou null para usar o
+     * gradient descent com learning rate fixo (padrão).
+     *
+     * O estado do otimizador (ex. momentos) é mantido entre chamadas ao {@link #train(double[][], double[][], double, int)}.
+     * Não se aplica ao {@link TrainerHogwild}.
+     *
+     * @param optimizer
+     */
+    public void setOptimizer(Optimizer optimizer) {
+        this.optimizer = optimizer;
+    }
+
     public Input input() {
         return input;
     }
@@ -101,6 +189,51 @@ public class Network {
         return output;
     }
 
+    /**
+     * Compila a Rede Neural para uma representação otimizada para inferência
+     *
+     * @see CompiledNetwork
+     * @return
+     */
+    public CompiledNetwork compile() {
+        return CompiledNetwork.compile(this);
+    }
+
+    /**
+     * Congela os pesos atuais da Rede Neural em um modelo imutável, que pode ser executado por várias threads
+     * simultaneamente
+     *
+     * @see Model
+     * @return
+     */
+    public Model freeze() {
+        return Model.freeze(this);
+    }
+
+    /**
+     * Executa a Rede Neural para todas as linhas informadas (em lote), gravando o resultado na matriz de saída
+     *
+     * Não altera o estado dos neuronios da rede. Para execuções repetidas sobre a mesma rede, prefira manter uma
+     * referencia ao {@link #compile()} e usar {@link CompiledNetwork#predict(double[][], double[][])}
+     *
+     * @param rows Linhas de entrada
+     * @param outputs Matriz que receberá as saídas
+     * @return A matriz de saída
+     */
+    public double[][] predict(double[][] rows, double[][] outputs) {
+        compile().predict(rows, outputs);
+        return outputs;
+    }
+
+    /**
+     * As camadas deste MLP (Hidden e Output)
+     *
+     * @return
+     */
+    Layer[] layers() {
+        return layers;
+    }
+
     /**
      * Utilitário para navegar em todos os layers do Network
      *
@@ -239,7 +372,15 @@ public class Network {
     }
 
     /**
-     * Faz o treinamento da rede neural, usando stochastic gradient descent
+     * Faz o treinamento da rede neural, usando o {@link LEARNING_METHOD} definido
+     *
+     * - STOCHASTIC_GRADIENT_DESCENT: Os pesos são atualizados após cada amostra
+     *
+     * - BATCH_GRADIENT_DESCENT: Os pesos são atualizados uma vez por época, com a média dos gradientes de todo o
+     * conjunto de treinamento
+     *
+     * - MINI_BATCH_GRADIENT_DESCENT: Os pesos são atualizados com a média dos gradientes de cada lote de
+     * {@link #getBatchSize()} amostras
      *
      * @param dataset Conjunto de treianmento
      * @param expecteds Valores esperados
@@ -249,43 +390,157 @@ public class Network {
      */
     public void train(double[][] dataset, double[][] expecteds, double maxError, int epochs) throws Exception {
         long start = System.currentTimeMillis();
-        for (int epoch = 0; epoch < epochs; epoch++) {
-            Double errorTotal = 0.0;
-
-            if (learningMethod == LEARNING_METHOD.STOCHASTIC_GRADIENT_DESCENT) {
-                for (int i = 0, l = dataset.length; i < l; i++) {
-                    double[] row = dataset[i];
-                    forwardPropagate(row);
-                    double[] expected = expecteds[i];
-                    double[] outputs = output.asArray();
-                    for (int j = 0, k = expected.length; j < k; j++) {
-                        final double error = expected[j] - outputs[j];
-                        errorTotal += Math.pow(error, 2);
+
+        if (optimizer != null) {
+            optimizer.init(parameters());
+        }
+
+        // Acumulador de gradientes, alocado uma única vez por treinamento
+        final Gradient gradient = learningMethod == LEARNING_METHOD.STOCHASTIC_GRADIENT_DESCENT
+                ? null
+                : new Gradient(layers);
+
+        final int size = learningMethod == LEARNING_METHOD.BATCH_GRADIENT_DESCENT
+                ? Math.max(dataset.length, 1)
+                : batchSize;
+
+        // Treinamento paralelo, cada thread possui sua própria área de trabalho
+        final ForkJoinPool pool;
+        final List<BatchTask> tasks;
+        if (gradient != null && parallelism > 1) {
+            pool = new ForkJoinPool(parallelism);
+            tasks = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                tasks.add(new BatchTask(new Workspace(layers), dataset, expecteds));
+            }
+        } else {
+            pool = null;
+            tasks = null;
+        }
+
+        try {
+            for (int epoch = 0; epoch < epochs; epoch++) {
+                double errorTotal = 0.0;
+
+                if (learningMethod == LEARNING_METHOD.STOCHASTIC_GRADIENT_DESCENT) {
+                    for (int i = 0, l = dataset.length; i < l; i++) {
+                        double[] row = dataset[i];
+                        errorTotal += propagate(row, expecteds[i]);
+                        updateWeights(row);
+                    }
+                } else if (pool != null) {
+                    for (int from = 0, l = dataset.length; from < l; from += size) {
+                        final int to = Math.min(from + size, l);
+                        errorTotal += propagate(pool, tasks, gradient, from, to);
+                        updateWeights(gradient, to - from);
+                    }
+                } else {
+                    for (int from = 0, l = dataset.length; from < l; from += size) {
+                        final int to = Math.min(from + size, l);
+                        gradient.clear();
+                        for (int i = from; i < to; i++) {
+                            errorTotal += propagate(dataset[i], expecteds[i]);
+                            gradient.accumulate(layers, dataset[i]);
+                        }
+                        updateWeights(gradient, to - from);
                     }
-                    backPropagate(expected);
-                    updateWeights(row);
                 }
-            }
 
-            if (epoch % 1000 == 0) {
-                // Log a cada 1000 epocas
-                System.out.println(String.format("epoch: %d, error: %.3f", epoch, errorTotal));
-            }
+                if (epoch % 1000 == 0) {
+                    // Log a cada 1000 epocas
+                    System.out.println(String.format("epoch: %d, error: %.3f", epoch, errorTotal));
+                }
 
-            if (errorTotal <= maxError) {
-                // Atingiu a percentagem de acerto mínimo definida
-                long end = System.currentTimeMillis();
-                System.out.println("-----------------------------------------------------------");
-                System.out.println(String.format("Treinamento finalizado em %s ", JiaUtils.time(end - start)));
-                System.out.println(String.format("epoch: %d, error: %.5f", epoch, errorTotal));
-                System.out.println("-----------------------------------------------------------");
-                return;
+                if (errorTotal <= maxError) {
+                    // Atingiu a percentagem de acerto mínimo definida
+                    long end = System.currentTimeMillis();
+                    System.out.println("-----------------------------------------------------------");
+                    System.out.println(String.format("Treinamento finalizado em %s ", JiaUtils.time(end - start)));
+                    System.out.println(String.format("epoch: %d, error: %.5f", epoch, errorTotal));
+                    System.out.println("-----------------------------------------------------------");
+                    return;
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
         }
 
         throw new Exception("Não foi possível encontrar uma convergência");
     }
 
+    /**
+     * Treinamento online, atualiza os pesos da Rede Neural com uma única amostra (stochastic gradient descent)
+     *
+     * Permite treinar a rede de forma incremental, conforme as amostras são obtidas. Usa o {@link Optimizer} quando
+     * definido.
+     *
+     * @param row Amostra de entrada
+     * @param expected Valores esperados
+     * @return O erro quadrático da amostra, antes da atualização dos pesos
+     */
+    public double learn(double[] row, double[] expected) {
+        if (optimizer != null) {
+            optimizer.init(parameters());
+        }
+        final double error = propagate(row, expected);
+        updateWeights(row);
+        return error;
+    }
+
+    /**
+     * Executa o forward e o backward propagation das amostras do lote em paralelo
+     *
+     * O lote é dividido em partes contíguas, uma para cada tarefa. Os gradientes de cada tarefa são somados, na ordem
+     * das tarefas, no acumulador informado.
+     *
+     * @param pool
+     * @param tasks
+     * @param gradient Acumulador que receberá a soma dos gradientes do lote
+     * @param from Índice inicial do lote (inclusivo)
+     * @param to Índice final do lote (exclusivo)
+     * @return O erro quadrático do lote
+     */
+    private double propagate(ForkJoinPool pool, List<BatchTask> tasks, Gradient gradient, int from, int to) throws Exception {
+        final int count = to - from;
+        final int workers = tasks.size();
+        for (int w = 0; w < workers; w++) {
+            final BatchTask task = tasks.get(w);
+            task.from = from + (int) ((long) count * w / workers);
+            task.to = from + (int) ((long) count * (w + 1) / workers);
+        }
+
+        final List<Future<Double>> futures = pool.invokeAll(tasks);
+
+        double error = 0.0;
+        gradient.clear();
+        for (int w = 0; w < workers; w++) {
+            error += futures.get(w).get();
+            gradient.add(tasks.get(w).workspace.gradient);
+        }
+        return error;
+    }
+
+    /**
+     * Executa o forward e o backward propagation de uma amostra
+     *
+     * @param row
+     * @param expected
+     * @return O erro quadrático da amostra
+     */
+    private double propagate(double[] row, double[] expected) {
+        forwardPropagate(row);
+        final Neuron[] outputs = layers[layers.length - 1].neurons;
+        double error = 0.0;
+        for (int j = 0, k = expected.length; j < k; j++) {
+            final double diff = expected[j] - outputs[j].output;
+            error += diff * diff;
+        }
+        backPropagate(expected);
+        return error;
+    }
+
     /**
      * Forward Propagation
      *
@@ -296,13 +551,13 @@ public class Network {
         double[] inputs = row;
 
         // Execute - hiddens + output
-        for (Layer layer : layers) {
-            final double[] inputs_p = inputs;
-            final double[] outputs = new double[layer.size];
-            layer.each((neuron, j) -> {
-                outputs[j] = neuron.activate(inputs_p);
-            });
-            inputs = outputs;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Neuron[] neurons = layers[i].neurons;
+            final double[] out = outputs[i];
+            for (int j = 0, m = neurons.length; j < m; j++) {
+                out[j] = neurons[j].activate(inputs);
+            }
+            inputs = out;
         }
 
     }
@@ -315,26 +570,25 @@ public class Network {
     protected void backPropagate(double[] expected) {
         // Reversed
         for (int l = layers.length - 1, a = l; a >= 0; a--) {
-            final Layer layer = layers[a];
+            final Neuron[] neurons = layers[a].neurons;
 
             if (a == l) {
                 // Calcula o erro e delta do output layer
-                layer.each((neuron, j) -> {
-                    double error = expected[j] - neuron.output;
-                    neuron.gradient(error);
-                });
+                for (int j = 0, m = neurons.length; j < m; j++) {
+                    neurons[j].gradient(expected[j] - neurons[j].output);
+                }
             } else {
                 // Hidden layers
-                final int k = a;
+                final Neuron[] next = layers[a + 1].neurons;
 
                 // Calcula o erro e delta da camada atual, usando o delta da camada seguinte
-                layer.each((actual, i) -> {
-                    final DoubleAdder error = new DoubleAdder();
-                    layers[k + 1].each((next, j) -> {
-                        error.add(next.delta * next.weights[i]);
-                    });
-                    actual.gradient(error.sum());
-                });
+                for (int i = 0, m = neurons.length; i < m; i++) {
+                    double error = 0.0;
+                    for (int j = 0, n = next.length; j < n; j++) {
+                        error += next[j].delta * next[j].weights[i];
+                    }
+                    neurons[i].gradient(error);
+                }
             }
         }
     }
@@ -348,28 +602,153 @@ public class Network {
      * @param row
      */
     protected void updateWeights(double[] row) {
-        for (int a = 0, l = layers.length; a < l; a++) {
-            final int i = a;
-            final double[] inputs;
+        if (optimizer != null) {
+            optimize(row);
+            return;
+        }
 
-            if (i == 0) {
-                // Input Layer
-                inputs = row;
-            } else {
-                // Hidden and Output layer
-                Layer layer = layers[i - 1];
-                inputs = new double[layer.size];
-                layer.each((neuron, j) -> {
-                    inputs[j] = neuron.output;
-                });
+        for (int i = 0, l = layers.length; i < l; i++) {
+            // Hidden and Output layer usam a saída da camada anterior
+            final Neuron[] prev = i == 0 ? null : layers[i - 1].neurons;
+            final Neuron[] neurons = layers[i].neurons;
+
+            for (int b = 0, m = neurons.length; b < m; b++) {
+                final Neuron neuron = neurons[b];
+                for (int j = 0, n = neuron.weights.length; j < n; j++) {
+                    final double input = prev == null ? row[j] : prev[j].output;
+                    neuron.weights[j] += learningRate * neuron.delta * input;
+                }
+                neuron.bias += learningRate * neuron.delta;
             }
+        }
+    }
 
-            layers[i].each((neuron, b) -> {
-                for (int j = 0, m = inputs.length; j < m; j++) {
-                    neuron.weights[j] += learningRate * neuron.delta * inputs[j];
+    /**
+     * Update network weights with accumulated gradients
+     *
+     * Aplica a média dos gradientes acumulados no lote
+     *
+     * @param gradient Gradientes acumulados
+     * @param count Quantidade de amostras acumuladas
+     */
+    void updateWeights(Gradient gradient, int count) {
+        if (optimizer != null) {
+            optimize(gradient, count);
+            return;
+        }
+
+        final double rate = learningRate / count;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Layer layer = layers[i];
+            final double[][] grads = gradient.weights[i];
+            final double[] biases = gradient.biases[i];
+            for (int j = 0; j < layer.size; j++) {
+                final Neuron neuron = layer.neurons[j];
+                final double[] grad = grads[j];
+                for (int k = 0, m = grad.length; k < m; k++) {
+                    neuron.weights[k] += rate * grad[k];
                 }
-                neuron.bias += learningRate * neuron.delta;
-            });
+                neuron.bias += rate * biases[j];
+            }
+        }
+    }
+
+    /**
+     * Quantidade de parâmetros (pesos e bias) da Rede Neural
+     *
+     * @return
+     */
+    int parameters() {
+        int count = 0;
+        for (Layer layer : layers) {
+            for (Neuron neuron : layer.neurons) {
+                count += neuron.weights.length + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Atualiza os pesos usando o {@link Optimizer}, com o gradiente da amostra atual
+     *
+     * @param row
+     */
+    private void optimize(double[] row) {
+        optimizer.step(learningRate);
+        int index = 0;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Neuron[] prev = i == 0 ? null : layers[i - 1].neurons;
+            final Neuron[] neurons = layers[i].neurons;
+            for (int j = 0, m = neurons.length; j < m; j++) {
+                final Neuron neuron = neurons[j];
+                final double[] weights = neuron.weights;
+                final double delta = neuron.delta;
+                for (int k = 0, n = weights.length; k < n; k++) {
+                    final double input = prev == null ? row[k] : prev[k].output;
+                    weights[k] += optimizer.delta(index++, delta * input);
+                }
+                neuron.bias += optimizer.delta(index++, delta);
+            }
+        }
+    }
+
+    /**
+     * Atualiza os pesos usando o {@link Optimizer}, com a média dos gradientes acumulados no lote
+     *
+     * @param gradient Gradientes acumulados
+     * @param count Quantidade de amostras acumuladas
+     */
+    private void optimize(Gradient gradient, int count) {
+        optimizer.step(learningRate);
+        final double scale = 1.0 / count;
+        int index = 0;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Neuron[] neurons = layers[i].neurons;
+            final double[][] grads = gradient.weights[i];
+            final double[] biases = gradient.biases[i];
+            for (int j = 0, m = neurons.length; j < m; j++) {
+                final Neuron neuron = neurons[j];
+                final double[] weights = neuron.weights;
+                final double[] grad = grads[j];
+                for (int k = 0, n = weights.length; k < n; k++) {
+                    weights[k] += optimizer.delta(index++, grad[k] * scale);
+                }
+                neuron.bias += optimizer.delta(index++, biases[j] * scale);
+            }
+        }
+    }
+
+    /**
+     * Tarefa responsável pelo processamento de uma parte de um lote no treinamento paralelo
+     */
+    private final class BatchTask implements Callable<Double> {
+
+        private final Workspace workspace;
+
+        private final double[][] dataset;
+
+        private final double[][] expecteds;
+
+        private int from;
+
+        private int to;
+
+        BatchTask(Workspace workspace, double[][] dataset, double[][] expecteds) {
+            this.workspace = workspace;
+            this.dataset = dataset;
+            this.expecteds = expecteds;
+        }
+
+        @Override
+        public Double call() {
+            double error = 0.0;
+            workspace.gradient.clear();
+            for (int i = from; i < to; i++) {
+                workspace.forward(layers, dataset[i]);
+                error += workspace.backward(layers, expecteds[i]);
+                workspace.accumulate(dataset[i]);
+            }
+            return error;
         }
     }
 
@@ -1,7 +1,7 @@
 package com.github.nidorx.jia.mlp;
 
+import com.github.nidorx.jia.util.JiaUtils;
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * Representação de um neuron
@@ -42,7 +42,7 @@ public class Neuron {
     public double delta;
 
     public Neuron(int prevLayerSize, Transfer type) {
-        this(new Random().doubles(prevLayerSize, 0, 1).toArray(), Math.random(), type);
+        this(JiaUtils.random().doubles(prevLayerSize, 0, 1).toArray(), JiaUtils.random().nextDouble(), type);
     }
 
     public Neuron(double[] weights, double bias, Transfer transfer) {
@@ -0,0 +1,42 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Algoritmo de otimização usado na atualização dos pesos durante o treinamento
+ *
+ * Todos os pesos e bias da Rede Neural são identificados por um índice sequencial (camada, neuronio, pesos e por último
+ * o bias do neuronio), permitindo que o estado de cada algoritmo (ex. momento) seja armazenado em arrays primitivos,
+ * alocados uma única vez por Rede Neural.
+ *
+ * O gradiente recebido já está no sentido da correção do erro, o valor retornado é somado diretamente ao peso.
+ *
+ * Uma instância mantém o estado de uma única Rede Neural, não deve ser compartilhada.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public interface Optimizer {
+
+    /**
+     * Prepara o estado do otimizador para a quantidade de parâmetros (pesos e bias) informada
+     *
+     * Chamado no início de cada treinamento, o estado existente é mantido quando a quantidade não muda
+     *
+     * @param size
+     */
+    void init(int size);
+
+    /**
+     * Inicia uma nova atualização dos pesos (após uma amostra ou lote)
+     *
+     * @param learningRate
+     */
+    void step(double learningRate);
+
+    /**
+     * Obtém a correção que deve ser somada ao parâmetro de índice informado
+     *
+     * @param index Índice do parâmetro
+     * @param gradient Gradiente do parâmetro na atualização atual
+     * @return
+     */
+    double delta(int index, double gradient);
+}
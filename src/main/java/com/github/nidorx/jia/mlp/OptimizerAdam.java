@@ -0,0 +1,87 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Adaptive Moment Estimation
+ *
+ * m = β1m + (1 - β1)g
+ *
+ * v = β2v + (1 - β2)g²
+ *
+ * w = w + ηt * m ÷ (√v + ε), onde ηt = η * √(1 - β2^t) ÷ (1 - β1^t) (correção do viés dos momentos)
+ *
+ * @see https://arxiv.org/abs/1412.6980
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class OptimizerAdam implements Optimizer {
+
+    private static final double BETA1 = 0.9;
+
+    private static final double BETA2 = 0.999;
+
+    private static final double EPSILON = 1e-8;
+
+    private final double beta1;
+
+    private final double beta2;
+
+    /**
+     * β1^t e β2^t, atualizados a cada passo
+     */
+    private double beta1t = 1.0;
+
+    private double beta2t = 1.0;
+
+    /**
+     * Learning rate do passo atual, já com a correção do viés
+     */
+    private double rate;
+
+    /**
+     * Primeiro momento (média) do gradiente de cada parâmetro
+     */
+    private double[] means;
+
+    /**
+     * Segundo momento (variância não centralizada) do gradiente de cada parâmetro
+     */
+    private double[] variances;
+
+    public OptimizerAdam() {
+        this(BETA1, BETA2);
+    }
+
+    public OptimizerAdam(double beta1, double beta2) {
+        if (beta1 < 0 || beta1 >= 1 || beta2 < 0 || beta2 >= 1) {
+            throw new IllegalArgumentException("Os fatores de decaimento devem estar no intervalo [0, 1)");
+        }
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+    }
+
+    @Override
+    public void init(int size) {
+        if (means == null || means.length != size) {
+            means = new double[size];
+            variances = new double[size];
+            beta1t = 1.0;
+            beta2t = 1.0;
+        }
+    }
+
+    @Override
+    public void step(double learningRate) {
+        beta1t *= beta1;
+        beta2t *= beta2;
+        rate = learningRate * Math.sqrt(1 - beta2t) / (1 - beta1t);
+    }
+
+    @Override
+    public double delta(int index, double gradient) {
+        final double mean = beta1 * means[index] + (1 - beta1) * gradient;
+        final double variance = beta2 * variances[index] + (1 - beta2) * gradient * gradient;
+        means[index] = mean;
+        variances[index] = variance;
+        return rate * mean / (Math.sqrt(variance) + EPSILON);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Gradient descent with momentum
+ *
+ * v = μv + ηg
+ *
+ * w = w + v
+ *
+ * @see https://en.wikipedia.org/wiki/Stochastic_gradient_descent#Momentum
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class OptimizerMomentum implements Optimizer {
+
+    /**
+     * O momentum padrão
+     */
+    private static final double MOMENTUM = 0.9;
+
+    private final double momentum;
+
+    private double learningRate;
+
+    /**
+     * Velocidade de cada parâmetro
+     */
+    private double[] velocities;
+
+    public OptimizerMomentum() {
+        this(MOMENTUM);
+    }
+
+    public OptimizerMomentum(double momentum) {
+        if (momentum < 0 || momentum >= 1) {
+            throw new IllegalArgumentException("O momentum deve estar no intervalo [0, 1)");
+        }
+        this.momentum = momentum;
+    }
+
+    @Override
+    public void init(int size) {
+        if (velocities == null || velocities.length != size) {
+            velocities = new double[size];
+        }
+    }
+
+    @Override
+    public void step(double learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    @Override
+    public double delta(int index, double gradient) {
+        final double velocity = momentum * velocities[index] + learningRate * gradient;
+        velocities[index] = velocity;
+        return velocity;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Root Mean Square Propagation
+ *
+ * s = ρs + (1 - ρ)g²
+ *
+ * w = w + ηg ÷ (√s + ε)
+ *
+ * @see https://en.wikipedia.org/wiki/Stochastic_gradient_descent#RMSProp
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class OptimizerRMSProp implements Optimizer {
+
+    /**
+     * O fator de decaimento padrão
+     */
+    private static final double DECAY = 0.9;
+
+    private static final double EPSILON = 1e-8;
+
+    private final double decay;
+
+    private double learningRate;
+
+    /**
+     * Média móvel do quadrado do gradiente de cada parâmetro
+     */
+    private double[] squares;
+
+    public OptimizerRMSProp() {
+        this(DECAY);
+    }
+
+    public OptimizerRMSProp(double decay) {
+        if (decay < 0 || decay >= 1) {
+            throw new IllegalArgumentException("O fator de decaimento deve estar no intervalo [0, 1)");
+        }
+        this.decay = decay;
+    }
+
+    @Override
+    public void init(int size) {
+        if (squares == null || squares.length != size) {
+            squares = new double[size];
+        }
+    }
+
+    @Override
+    public void step(double learningRate) {
+        this.learningRate = learningRate;
+    }
+
+    @Override
+    public double delta(int index, double gradient) {
+        final double square = decay * squares[index] + (1 - decay) * gradient * gradient;
+        squares[index] = square;
+        return learningRate * gradient / (Math.sqrt(square) + EPSILON);
+    }
+
+}
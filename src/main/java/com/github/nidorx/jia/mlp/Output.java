@@ -2,11 +2,9 @@ package com.github.nidorx.jia.mlp;
 
 import com.github.nidorx.jia.util.JiaUtils;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Classe utilitaria usada para recuperação da saída de uma Network
@@ -23,10 +21,53 @@ public class Output {
 
     private final List<String> names;
 
+    /**
+     * Índice de cada saída, pelo nome
+     */
+    private final Map<String, Integer> indexes;
+
     public Output(Network network, Layer outputLayer, List<String> names) {
         this.network = network;
         this.layer = outputLayer;
         this.names = names;
+        this.indexes = new HashMap<>();
+        for (int i = 0, l = names.size(); i < l; i++) {
+            this.indexes.put(names.get(i), i);
+        }
+    }
+
+    /**
+     * Obtém o índice da saída com o nome informado, permite resolver o nome uma única vez e usar {@link #get(int)} nas
+     * execuções seguintes
+     *
+     * @param name
+     * @return O índice da saída, ou -1 quando não existe
+     */
+    public int indexOf(String name) {
+        final Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Obtém o valor da saída de índice informado
+     *
+     * @param index
+     * @return
+     */
+    public double get(int index) {
+        return layer.neurons[index].output;
+    }
+
+    /**
+     * Obtém o valor da saída de índice informado, remapeado para um range específico
+     *
+     * @param index
+     * @param targetMin lower bound of the value's target range
+     * @param targetMax upper bound of the value's target range
+     * @return
+     */
+    public double get(int index, double targetMin, double targetMax) {
+        return JiaUtils.unremap(layer.neurons[index].output, targetMin, targetMax);
     }
 
     /**
@@ -36,7 +77,9 @@ public class Output {
      */
     public Map<String, Double> asMap() {
         final Map<String, Double> out = new HashMap<>();
-        names.forEach(name -> out.put(name, this.layer.neurons[names.indexOf(name)].output));
+        for (int i = 0, l = names.size(); i < l; i++) {
+            out.put(names.get(i), layer.neurons[i].output);
+        }
         return out;
     }
 
@@ -50,9 +93,9 @@ public class Output {
      */
     public Map<String, Double> asMap(double targetMin, double targetMax) {
         final Map<String, Double> out = new HashMap<>();
-        names.forEach(name -> {
-            out.put(name, JiaUtils.unremap(this.layer.neurons[names.indexOf(name)].output, targetMin, targetMax));
-        });
+        for (int i = 0, l = names.size(); i < l; i++) {
+            out.put(names.get(i), JiaUtils.unremap(layer.neurons[i].output, targetMin, targetMax));
+        }
         return out;
     }
 
@@ -62,9 +105,21 @@ public class Output {
      * @return
      */
     public double[] asArray() {
-        return Arrays.asList(this.layer.neurons).stream()
-                .mapToDouble(neuron -> neuron.output)
-                .toArray();
+        return asArray(new double[layer.size]);
+    }
+
+    /**
+     * Copia o valor de saída atual do Network para o array informado
+     *
+     * @param out
+     * @return O array informado
+     */
+    public double[] asArray(double[] out) {
+        final Neuron[] neurons = layer.neurons;
+        for (int i = 0, l = neurons.length; i < l; i++) {
+            out[i] = neurons[i].output;
+        }
+        return out;
     }
 
     /**
@@ -76,9 +131,23 @@ public class Output {
      * @return
      */
     public double[] asArray(double targetMin, double targetMax) {
-        return Arrays.asList(this.layer.neurons).stream()
-                .mapToDouble(neuron -> JiaUtils.unremap(neuron.output, targetMin, targetMax))
-                .toArray();
+        return asArray(new double[layer.size], targetMin, targetMax);
+    }
+
+    /**
+     * Copia o valor de saída atual do Network para o array informado, remapeado para um range específico
+     *
+     * @param out
+     * @param targetMin lower bound of the value's target range
+     * @param targetMax upper bound of the value's target range
+     * @return O array informado
+     */
+    public double[] asArray(double[] out, double targetMin, double targetMax) {
+        final Neuron[] neurons = layer.neurons;
+        for (int i = 0, l = neurons.length; i < l; i++) {
+            out[i] = JiaUtils.unremap(neurons[i].output, targetMin, targetMax);
+        }
+        return out;
     }
 
     /**
@@ -87,9 +156,11 @@ public class Output {
      * @return
      */
     public List<Double> asList() {
-        return Arrays.asList(this.layer.neurons).stream()
-                .map(neuron -> neuron.output)
-                .collect(Collectors.toList());
+        final List<Double> out = new ArrayList<>(layer.size);
+        for (Neuron neuron : layer.neurons) {
+            out.add(neuron.output);
+        }
+        return out;
     }
 
     /**
@@ -101,9 +172,11 @@ public class Output {
      * @return
      */
     public List<Double> asList(double targetMin, double targetMax) {
-        return Arrays.asList(this.layer.neurons).stream()
-                .map(neuron -> JiaUtils.unremap(neuron.output, targetMin, targetMax))
-                .collect(Collectors.toList());
+        final List<Double> out = new ArrayList<>(layer.size);
+        for (Neuron neuron : layer.neurons) {
+            out.add(JiaUtils.unremap(neuron.output, targetMin, targetMax));
+        }
+        return out;
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.github.nidorx.jia.mlp;
+
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Treinamento assíncrono (Hogwild!) de uma Rede Neural
+ *
+ * A cada época o conjunto de treinamento é embaralhado e dividido em partes disjuntas, uma por thread. Cada thread
+ * executa o stochastic gradient descent sobre a sua parte e atualiza os pesos compartilhados da rede sem nenhum tipo
+ * de bloqueio.
+ *
+ * O estado temporário da propagação de cada thread fica em sua própria área de trabalho, os campos
+ * {@link Neuron#output} e {@link Neuron#delta} não são usados.
+ *
+ * O resultado NÃO É DETERMINÍSTICO, as atualizações concorrentes podem sobrescrever umas às outras. Em redes pequenas e
+ * gradientes esparsos o impacto na convergência é pequeno e o ganho de throughput é praticamente linear.
+ *
+ * @see https://arxiv.org/abs/1106.5730
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class TrainerHogwild {
+
+    private final Network network;
+
+    private final int threads;
+
+    private final Random random = new Random();
+
+    /**
+     *
+     * @param network A rede a ser treinada, usa o learning rate definido na rede
+     * @param threads Quantidade de threads de treinamento
+     */
+    public TrainerHogwild(Network network, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A quantidade de threads deve ser ao menos 1");
+        }
+        this.network = network;
+        this.threads = threads;
+    }
+
+    /**
+     * Faz o treinamento da rede neural
+     *
+     * @param dataset Conjunto de treianmento
+     * @param expecteds Valores esperados
+     * @param maxError Percentagem de erro mínimo esperado (ex 0.05 para 95% de acerto mínimo)
+     * @param epochs Quantidade máxima de épocas de treinamento
+     * @throws java.lang.Exception Quando não consegue encontrar uma convergencia
+     */
+    public void train(double[][] dataset, double[][] expecteds, double maxError, int epochs) throws Exception {
+        final long start = System.currentTimeMillis();
+        final Layer[] layers = network.layers();
+
+        // Ordem de execução das amostras, embaralhada a cada época
+        final int[] order = new int[dataset.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        final List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(new Workspace(layers), layers, dataset, expecteds, order));
+        }
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int epoch = 0; epoch < epochs; epoch++) {
+                shuffle(order);
+
+                final double learningRate = network.getLearningRate();
+                for (int w = 0; w < threads; w++) {
+                    final Worker worker = workers.get(w);
+                    worker.learningRate = learningRate;
+                    worker.from = (int) ((long) order.length * w / threads);
+                    worker.to = (int) ((long) order.length * (w + 1) / threads);
+                }
+
+                double errorTotal = 0.0;
+                for (Future<Double> future : pool.invokeAll(workers)) {
+                    errorTotal += future.get();
+                }
+
+                if (epoch % 1000 == 0) {
+                    // Log a cada 1000 epocas
+                    System.out.println(String.format("epoch: %d, error: %.3f", epoch, errorTotal));
+                }
+
+                if (errorTotal <= maxError) {
+                    // Atingiu a percentagem de acerto mínimo definida
+                    long end = System.currentTimeMillis();
+                    System.out.println("-----------------------------------------------------------");
+                    System.out.println(String.format("Treinamento finalizado em %s ", JiaUtils.time(end - start)));
+                    System.out.println(String.format("epoch: %d, error: %.5f", epoch, errorTotal));
+                    System.out.println("-----------------------------------------------------------");
+                    return;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        throw new Exception("Não foi possível encontrar uma convergência");
+    }
+
+    /**
+     * Fisher–Yates shuffle
+     *
+     * @param order
+     */
+    private void shuffle(int[] order) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+    /**
+     * Tarefa responsável pelo treinamento de uma parte do conjunto de dados
+     */
+    private static final class Worker implements Callable<Double> {
+
+        private final Workspace workspace;
+
+        private final Layer[] layers;
+
+        private final double[][] dataset;
+
+        private final double[][] expecteds;
+
+        private final int[] order;
+
+        private double learningRate;
+
+        private int from;
+
+        private int to;
+
+        Worker(Workspace workspace, Layer[] layers, double[][] dataset, double[][] expecteds, int[] order) {
+            this.workspace = workspace;
+            this.layers = layers;
+            this.dataset = dataset;
+            this.expecteds = expecteds;
+            this.order = order;
+        }
+
+        @Override
+        public Double call() {
+            double error = 0.0;
+            for (int i = from; i < to; i++) {
+                final double[] row = dataset[order[i]];
+                workspace.forward(layers, row);
+                error += workspace.backward(layers, expecteds[order[i]]);
+                workspace.update(layers, row, learningRate);
+            }
+            return error;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.github.nidorx.jia.mlp;
 
-import java.util.function.BinaryOperator;
-import java.util.function.UnaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Funções de ativação dos neuronios
  *
+ * As funções que dependem de exponenciais (SIGMOID, TANH, ELU, SOFTPLUS e GAUSSIAN) possuem uma variante aproximada,
+ * obtida via {@link #fast()}, que troca as chamadas a {@link Math#exp(double)}, {@link Math#tanh(double)} e
+ * {@link Math#log1p(double)} por polinômios. O erro absoluto máximo de cada variante está documentado na respectiva
+ * função, as demais funções retornam a si mesmas em {@link #fast()}.
+ *
  * @see https://sourceforge.net/p/neuroph/code/HEAD/tree/trunk/neuroph-2.8/Core/src/main/java/org/neuroph/core/transfer/
  */
 public class Transfer {
@@ -38,7 +43,10 @@ public class Transfer {
             // f(x) = 1 ÷ (1 + e^-x)
             (x) -> 1.0 / (1.0 + Math.exp(-x)),
             // f(x)' = f(x) * (1 - f(x))
-            (output, x) -> output * (1.0 - output)
+            (output, x) -> output * (1.0 - output),
+            // Fast: erro absoluto máximo 1e-9
+            (x) -> 1.0 / (1.0 + fastExp(-x)),
+            null
     );
 
     /**
@@ -51,7 +59,10 @@ public class Transfer {
             // f(x) = tanh(x) = (2 ÷ (1 + e^(-2x)))-1
             (x) -> Math.tanh(x),
             // f(x)' = 1 - f(x)^2
-            (output, x) -> 1 - Math.pow(output, 2)
+            (output, x) -> 1 - Math.pow(output, 2),
+            // Fast: erro absoluto máximo 1e-9
+            (x) -> 1.0 - 2.0 / (1.0 + fastExp(2 * x)),
+            null
     );
 
     /**
@@ -118,7 +129,10 @@ public class Transfer {
             // α = 1
             (x) -> x < 0 ? (Math.pow(Math.E, x) - 1) : x,
             // f(x)' = f(α,x) + α if x < 0; 1 if x ≥ 0
-            (output, x) -> x < 0 ? output + 1 : 1
+            (output, x) -> x < 0 ? output + 1 : 1,
+            // Fast: erro absoluto máximo 1e-9
+            (x) -> x < 0 ? (fastExp(x) - 1) : x,
+            null
     );
 
     /**
@@ -158,7 +172,11 @@ public class Transfer {
             // f(x) = ln(1 + e^x)
             (x) -> Math.log1p(Math.exp(x)),
             // f(x)' = 1 ÷ (1 + e^-x)
-            (output, x) -> 1.0 / (1 + Math.exp(-x))
+            (output, x) -> 1.0 / (1 + Math.exp(-x)),
+            // Fast: erro absoluto máximo 1e-9
+            // f(x) = max(x, 0) + ln(1 + e^-|x|)
+            (x) -> (x > 0 ? x : 0) + fastLog1p(fastExp(x > 0 ? -x : x)),
+            (output, x) -> 1.0 / (1 + fastExp(-x))
     );
 
     /**
@@ -185,12 +203,28 @@ public class Transfer {
             // f(x) = e^(-(x^2))
             (x) -> Math.pow(Math.E, -Math.pow(x, 2)),
             // f(x)' = -2xe^(-(x^2))
-            (output, x) -> -2 * x * output
+            (output, x) -> -2 * x * output,
+            // Fast: erro absoluto máximo 1e-9
+            (x) -> fastExp(-(x * x)),
+            null
     );
 
+    /**
+     * ln(2), dividido em duas partes para a redução de argumento em {@link #fastExp(double)}
+     */
+    private static final double LN2_HI = 6.93147180369123816490e-01;
+    private static final double LN2_LO = 1.90821492927058770002e-10;
+
+    private static final double LOG2_E = 1.44269504088896338700e+00;
+
     public final String name;
-    private final UnaryOperator<Double> activation;
-    private final BinaryOperator<Double> derivative;
+    private final DoubleUnaryOperator activation;
+    private final DoubleBinaryOperator derivative;
+
+    /**
+     * Variante aproximada desta função
+     */
+    private final Transfer fast;
 
     /**
      *
@@ -199,10 +233,48 @@ public class Transfer {
      * @param derivative Derivativa da função já esperando o valor passado como sendo o resultado da função de ativação
      * (evita recalcular em alguns algoritmos)
      */
-    private Transfer(String name, UnaryOperator<Double> activation, BinaryOperator<Double> derivative) {
+    private Transfer(String name, DoubleUnaryOperator activation, DoubleBinaryOperator derivative) {
+        this.name = name;
+        this.activation = activation;
+        this.derivative = derivative;
+        this.fast = this;
+    }
+
+    /**
+     *
+     * @param name
+     * @param activation
+     * @param derivative
+     * @param fastActivation Aproximação da função de ativação
+     * @param fastDerivative Aproximação da derivativa, quando null usa a mesma derivativa da função original
+     */
+    private Transfer(
+            String name,
+            DoubleUnaryOperator activation,
+            DoubleBinaryOperator derivative,
+            DoubleUnaryOperator fastActivation,
+            DoubleBinaryOperator fastDerivative
+    ) {
         this.name = name;
         this.activation = activation;
         this.derivative = derivative;
+        this.fast = new Transfer(
+                name + "_FAST",
+                fastActivation,
+                fastDerivative == null ? derivative : fastDerivative
+        );
+    }
+
+    /**
+     * Obtém a variante aproximada (fast-math) desta função de transferência
+     *
+     * A variante evita chamadas a funções transcendentais da JVM, sendo indicada para inferência onde um pequeno erro
+     * é tolerado (ex. avaliação de fitness no Algoritmo Genético). Funções sem aproximação retornam a si mesmas.
+     *
+     * @return
+     */
+    public Transfer fast() {
+        return fast;
     }
 
     /**
@@ -210,7 +282,34 @@ public class Transfer {
      * @return
      */
     public double activation(double activation) {
-        return this.activation.apply(activation);
+        return this.activation.applyAsDouble(activation);
+    }
+
+    /**
+     * Aplica a função de ativação em todos os valores de entrada (ex. ativação de todos os neuronios de uma camada)
+     *
+     * Os arrays de entrada e saída podem ser o mesmo
+     *
+     * @param activations Entradas da função de ativação
+     * @param outputs Array que receberá as saídas
+     */
+    public void activation(double[] activations, double[] outputs) {
+        activation(activations, outputs, 0, activations.length);
+    }
+
+    /**
+     * Aplica a função de ativação nos valores de entrada do intervalo informado
+     *
+     * @param activations Entradas da função de ativação
+     * @param outputs Array que receberá as saídas
+     * @param from Índice inicial (inclusivo)
+     * @param to Índice final (exclusivo)
+     */
+    public void activation(double[] activations, double[] outputs, int from, int to) {
+        final DoubleUnaryOperator fn = this.activation;
+        for (int i = from; i < to; i++) {
+            outputs[i] = fn.applyAsDouble(activations[i]);
+        }
     }
 
     /**
@@ -220,7 +319,21 @@ public class Transfer {
      * @return
      */
     public double derivative(double output, double activation) {
-        return this.derivative.apply(output, activation);
+        return this.derivative.applyAsDouble(output, activation);
+    }
+
+    /**
+     * Aplica a derivativa da função em todos os valores informados
+     *
+     * @param outputs Saídas de {@link Transfer#activation(double)}
+     * @param activations Entradas de {@link Transfer#activation(double)}
+     * @param derivatives Array que receberá as derivativas
+     */
+    public void derivative(double[] outputs, double[] activations, double[] derivatives) {
+        final DoubleBinaryOperator fn = this.derivative;
+        for (int i = 0, l = outputs.length; i < l; i++) {
+            derivatives[i] = fn.applyAsDouble(outputs[i], activations[i]);
+        }
     }
 
     @Override
@@ -235,7 +348,7 @@ public class Transfer {
      *
      * @see https://en.wikipedia.org/wiki/Fast_inverse_square_root
      */
-    private static double fastInvSqrt(double x) {
+    static double fastInvSqrt(double x) {
         double xhalf = 0.5d * x;
         long i = Double.doubleToLongBits(x);
         i = 0x5fe6ec85e7de30daL - (i >> 1);
@@ -244,4 +357,48 @@ public class Transfer {
         return x;
     }
 
+    /**
+     * Aproximação de e^x
+     *
+     * Reduz o argumento para x = k*ln(2) + r, |r| ≤ ln(2)/2, calcula e^r por polinômio de grau 8 (Horner) e
+     * multiplica o resultado por 2^k montando diretamente o expoente do double. Erro relativo máximo de 1e-9,
+     * resultados subnormais são truncados para zero.
+     *
+     * @param x
+     * @return
+     *
+     * @see https://en.wikipedia.org/wiki/Exponential_function#Computation
+     */
+    static double fastExp(double x) {
+        if (x < -708.0) {
+            return 0.0;
+        }
+        if (x > 709.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final double k = Math.floor(x * LOG2_E + 0.5);
+        final double r = (x - k * LN2_HI) - k * LN2_LO;
+        final double p = 1.0 + r * (1.0 + r * (1.0 / 2 + r * (1.0 / 6 + r * (1.0 / 24 + r * (1.0 / 120
+                + r * (1.0 / 720 + r * (1.0 / 5040 + r * (1.0 / 40320))))))));
+        return p * Double.longBitsToDouble(((long) k + 1023L) << 52);
+    }
+
+    /**
+     * Aproximação de ln(1 + x), para x no intervalo [0, 1]
+     *
+     * Usa a identidade ln(1 + x) = 2 * atanh(x ÷ (2 + x)), onde s = x ÷ (2 + x) ≤ 1/3, calculando a série de atanh até
+     * o termo s^17. Erro absoluto máximo de 1e-10.
+     *
+     * @param x
+     * @return
+     *
+     * @see https://en.wikipedia.org/wiki/Logarithm#Power_series
+     */
+    static double fastLog1p(double x) {
+        final double s = x / (2.0 + x);
+        final double s2 = s * s;
+        return 2.0 * s * (1.0 + s2 * (1.0 / 3 + s2 * (1.0 / 5 + s2 * (1.0 / 7 + s2 * (1.0 / 9 + s2 * (1.0 / 11
+                + s2 * (1.0 / 13 + s2 * (1.0 / 15 + s2 * (1.0 / 17)))))))));
+    }
+
 }
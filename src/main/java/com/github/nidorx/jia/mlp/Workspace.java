@@ -0,0 +1,161 @@
+package com.github.nidorx.jia.mlp;
+
+/**
+ * Área de trabalho de uma thread durante o treinamento
+ *
+ * Armazena o estado temporário da propagação (saída, ativação e delta de cada neuronio) fora dos objetos
+ * {@link Neuron}, permitindo que várias threads executem o forward e o backward propagation sobre a mesma Rede Neural
+ * simultaneamente. Os pesos dos neuronios são somente lidos.
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+class Workspace {
+
+    /**
+     * Saída de cada neuronio, por camada
+     */
+    final double[][] outputs;
+
+    /**
+     * Entrada da função de ativação de cada neuronio, por camada
+     */
+    final double[][] activations;
+
+    /**
+     * Delta de cada neuronio, por camada
+     */
+    final double[][] deltas;
+
+    /**
+     * Gradientes acumulados por esta área de trabalho
+     */
+    final Gradient gradient;
+
+    Workspace(Layer[] layers) {
+        this.outputs = new double[layers.length][];
+        this.activations = new double[layers.length][];
+        this.deltas = new double[layers.length][];
+        for (int i = 0, l = layers.length; i < l; i++) {
+            this.outputs[i] = new double[layers[i].size];
+            this.activations[i] = new double[layers[i].size];
+            this.deltas[i] = new double[layers[i].size];
+        }
+        this.gradient = new Gradient(layers);
+    }
+
+    /**
+     * Forward Propagation
+     *
+     * @param layers
+     * @param row
+     */
+    void forward(Layer[] layers, double[] row) {
+        double[] inputs = row;
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Neuron[] neurons = layers[i].neurons;
+            final double[] out = outputs[i];
+            final double[] act = activations[i];
+            for (int j = 0, m = neurons.length; j < m; j++) {
+                final Neuron neuron = neurons[j];
+                final double[] weights = neuron.weights;
+                double activation = 0d;
+                for (int k = 0, n = weights.length; k < n; k++) {
+                    activation += weights[k] * inputs[k];
+                }
+                activation += neuron.bias; // Sum bias
+                act[j] = activation;
+                out[j] = neuron.transfer.activation(activation);
+            }
+            inputs = out;
+        }
+    }
+
+    /**
+     * Backpropagate starting with the otuput layer working backwards
+     *
+     * @param layers
+     * @param expected
+     * @return O erro quadrático da amostra
+     */
+    double backward(Layer[] layers, double[] expected) {
+        double errorTotal = 0.0;
+        for (int l = layers.length - 1, a = l; a >= 0; a--) {
+            final Neuron[] neurons = layers[a].neurons;
+            final double[] out = outputs[a];
+            final double[] act = activations[a];
+            final double[] delta = deltas[a];
+
+            if (a == l) {
+                // Calcula o erro e delta do output layer
+                for (int j = 0, m = neurons.length; j < m; j++) {
+                    final double error = expected[j] - out[j];
+                    errorTotal += error * error;
+                    delta[j] = error * neurons[j].transfer.derivative(out[j], act[j]);
+                }
+            } else {
+                // Calcula o erro e delta da camada atual, usando o delta da camada seguinte
+                final Neuron[] next = layers[a + 1].neurons;
+                final double[] nextDelta = deltas[a + 1];
+                for (int i = 0, m = neurons.length; i < m; i++) {
+                    double error = 0.0;
+                    for (int j = 0, n = next.length; j < n; j++) {
+                        error += nextDelta[j] * next[j].weights[i];
+                    }
+                    delta[i] = error * neurons[i].transfer.derivative(out[i], act[i]);
+                }
+            }
+        }
+        return errorTotal;
+    }
+
+    /**
+     * Acumula o gradiente da amostra atual, considera que o forward e backward propagation já foram executados
+     *
+     * @param row
+     */
+    void accumulate(double[] row) {
+        final double[][][] weights = gradient.weights;
+        final double[][] biases = gradient.biases;
+        for (int i = 0, l = weights.length; i < l; i++) {
+            final double[] inputs = i == 0 ? row : outputs[i - 1];
+            final double[] delta = deltas[i];
+            final double[][] grads = weights[i];
+            final double[] bias = biases[i];
+            for (int j = 0, m = grads.length; j < m; j++) {
+                final double[] grad = grads[j];
+                final double d = delta[j];
+                for (int k = 0, n = grad.length; k < n; k++) {
+                    grad[k] += d * inputs[k];
+                }
+                bias[j] += d;
+            }
+        }
+    }
+
+    /**
+     * Atualiza diretamente os pesos da Rede Neural com o gradiente da amostra atual (stochastic gradient descent),
+     * considera que o forward e backward propagation já foram executados
+     *
+     * Não existe sincronização, usado no treinamento assíncrono ({@link TrainerHogwild})
+     *
+     * @param layers
+     * @param row
+     * @param learningRate
+     */
+    void update(Layer[] layers, double[] row, double learningRate) {
+        for (int i = 0, l = layers.length; i < l; i++) {
+            final Neuron[] neurons = layers[i].neurons;
+            final double[] inputs = i == 0 ? row : outputs[i - 1];
+            final double[] delta = deltas[i];
+            for (int j = 0, m = neurons.length; j < m; j++) {
+                final Neuron neuron = neurons[j];
+                final double[] weights = neuron.weights;
+                final double d = learningRate * delta[j];
+                for (int k = 0, n = weights.length; k < n; k++) {
+                    weights[k] += d * inputs[k];
+                }
+                neuron.bias += d;
+            }
+        }
+    }
+}
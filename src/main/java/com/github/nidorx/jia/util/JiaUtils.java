@@ -1,7 +1,12 @@
 package com.github.nidorx.jia.util;
 
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Métodos utilitários
@@ -10,19 +15,98 @@ import java.util.concurrent.TimeUnit;
  */
 public class JiaUtils {
 
+    /**
+     * Gerador aleatório de cada thread, evita a disputa do gerador global do Math.random() e permite a reprodução dos
+     * resultados via {@link #seed(long)}
+     */
+    private static final ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(Random::new);
+
+    /**
+     * Obtém o gerador aleatório da thread atual, usado em todos os operadores do GA
+     *
+     * @return
+     */
+    public static Random random() {
+        return RANDOM.get();
+    }
+
+    /**
+     * Reinicia o gerador aleatório da thread atual com a semente informada
+     *
+     * @param seed
+     */
+    public static void seed(long seed) {
+        RANDOM.get().setSeed(seed);
+    }
+
+    /**
+     * Deriva uma semente independente a partir de uma semente base e de um índice (SplitMix64)
+     *
+     * @param seed
+     * @param index
+     * @return
+     */
+    public static long seed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Executa o supplier usando o gerador informado como gerador da thread atual, o gerador anterior é restaurado ao
+     * final
+     *
+     * @param <T>
+     * @param random
+     * @param supplier
+     * @return
+     */
+    public static <T> T with(Random random, Supplier<T> supplier) {
+        final Random previous = RANDOM.get();
+        RANDOM.set(random);
+        try {
+            return supplier.get();
+        } finally {
+            RANDOM.set(previous);
+        }
+    }
+
+    /**
+     * Gera os itens em paralelo, mantendo a ordem dos índices
+     *
+     * Quando a semente é informada, cada item é gerado com um gerador próprio, criado com {@link #seed(long, long)} da
+     * semente e do índice do item, tornando o resultado reproduzível independente da distribuição dos itens entre as
+     * threads. O gerador das threads não é alterado.
+     *
+     * @param <T>
+     * @param count Quantidade de itens
+     * @param seed Semente, ou null para não reiniciar os geradores
+     * @param generator Gera o item do índice informado
+     * @return
+     */
+    public static <T> List<T> parallel(int count, Long seed, IntFunction<T> generator) {
+        return IntStream.range(0, count).parallel().mapToObj(i -> {
+            if (seed == null) {
+                return generator.apply(i);
+            }
+            return with(new Random(seed(seed, i)), () -> generator.apply(i));
+        }).collect(Collectors.toList());
+    }
+
     public static int between(int min, int max) {
         if (min > max) {
             throw new IllegalArgumentException("max must be greater than min");
         }
 
-        return (new Random()).nextInt((max - min) + 1) + min;
+        return random().nextInt((max - min) + 1) + min;
     }
 
     public static double between(double min, double max) {
         if (min > max) {
             throw new IllegalArgumentException("max must be greater than min");
         }
-        return (min + Math.random() * (max - min));
+        return (min + random().nextDouble() * (max - min));
     }
 
     /**
@@ -42,7 +126,7 @@ public class JiaUtils {
      * @return
      */
     public static boolean coin() {
-        return Math.random() > 0.5;
+        return random().nextDouble() > 0.5;
     }
 
     /**
@@ -52,7 +136,7 @@ public class JiaUtils {
      * @return
      */
     public static boolean coin(double change) {
-        return Math.random() < change;
+        return random().nextDouble() < change;
     }
 
     /**
@@ -92,7 +176,21 @@ public class JiaUtils {
      * @return
      */
     public static double[] remap(double[] values, double currentMin, double currentMax) {
-        double[] out = new double[values.length];
+        return remap(values, currentMin, currentMax, new double[values.length]);
+    }
+
+    /**
+     * Re-mapeia todos os números que estão em um range para o range 0-1, gravando no array informado
+     *
+     * O array de saída pode ser o mesmo de entrada (in place)
+     *
+     * @param values the incoming values to be converted
+     * @param currentMin lower bound of the value's current range
+     * @param currentMax upper bound of the value's current range
+     * @param out the array that receives the converted values
+     * @return the out array
+     */
+    public static double[] remap(double[] values, double currentMin, double currentMax, double[] out) {
         for (int i = 0, j = values.length; i < j; i++) {
             out[i] = remap(values[i], currentMin, currentMax);
         }
@@ -120,7 +218,21 @@ public class JiaUtils {
      * @return
      */
     public static double[] unremap(double[] values, double targetMin, double targetMax) {
-        double[] out = new double[values.length];
+        return unremap(values, targetMin, targetMax, new double[values.length]);
+    }
+
+    /**
+     * Re-mapeia todos os números que estão no range 0-1 para o range informado, gravando no array informado
+     *
+     * O array de saída pode ser o mesmo de entrada (in place)
+     *
+     * @param values the incoming values to be converted
+     * @param targetMin lower bound of the value's target range
+     * @param targetMax upper bound of the value's target range
+     * @param out the array that receives the converted values
+     * @return the out array
+     */
+    public static double[] unremap(double[] values, double targetMin, double targetMax, double[] out) {
         for (int i = 0, j = values.length; i < j; i++) {
             out[i] = unremap(values[i], targetMin, targetMax);
         }
@@ -0,0 +1,427 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.ga.storage.Info;
+import com.github.nidorx.jia.ga.storage.Storage;
+import com.github.nidorx.jia.mlp.Input;
+import com.github.nidorx.jia.mlp.Output;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Execução do GA com uma função de aptidão determinística e persistência em memória
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class AlgorithmTest {
+
+    @Test
+    public void testSteadyState() throws Exception {
+        final Fitness algorithm = new Fitness() {
+            @Override
+            public boolean isSteadyState() {
+                return true;
+            }
+        };
+
+        final List<Population> generations = run(algorithm, 6);
+        for (int g = 0; g < generations.size(); g++) {
+            final Individual[] pool = generations.get(g).individuals;
+            assertEquals(algorithm.getPopulationSize(), pool.length);
+            if (g == 0) {
+                continue;
+            }
+
+            // Somente o pior indivíduo é removido, os que saíram possuem aptidão menor ou igual a de todos que ficaram
+            final double worst = generations.get(g).worstFitness().getFitness();
+            final Set<Individual> current = identities(pool);
+            for (Individual individual : generations.get(g - 1).individuals) {
+                if (!current.contains(individual)) {
+                    assertTrue(individual.getFitness() <= worst);
+                }
+            }
+            assertTrue(worst >= generations.get(g - 1).worstFitness().getFitness());
+        }
+
+        // Os descendentes substituíram indivíduos da primeira geração
+        final Set<Individual> last = identities(generations.get(generations.size() - 1).individuals);
+        assertTrue(!last.containsAll(identities(generations.get(0).individuals)));
+
+        // Persistido a cada geração e ao finalizar, o pool salvo possui os melhores de todos os executados
+        final List<Double> executed = new ArrayList<>(algorithm.executed);
+        executed.sort(Collections.reverseOrder());
+        final double[] best = new double[algorithm.getPopulationSize()];
+        for (int i = 0; i < best.length; i++) {
+            best[best.length - 1 - i] = executed.get(i);
+        }
+        final double[] persisted = algorithm.storage.info.fitness.clone();
+        Arrays.sort(persisted);
+        assertArrayEquals(best, persisted, 0.0);
+    }
+
+    @Test
+    public void testScreening() throws Exception {
+        final List<Double> fidelities = Collections.synchronizedList(new ArrayList<>());
+        final Fitness algorithm = new Fitness() {
+            @Override
+            public double getScreeningFidelity() {
+                return 0.25;
+            }
+
+            @Override
+            public double run(Input input, Output output, Evaluation evaluation) throws Throwable {
+                fidelities.add(evaluation.getFidelity());
+                return super.run(input, output, evaluation);
+            }
+        };
+
+        final Individual[] individuals = run(algorithm, 1).get(0).individuals;
+
+        // Todos executados na triagem, somente os 20% melhores (2 de 8) executados novamente
+        assertEquals(10, fidelities.size());
+        assertEquals(8, Collections.frequency(fidelities, 0.25));
+        assertEquals(2, Collections.frequency(fidelities, 1.0));
+
+        final List<Individual> sorted = new ArrayList<>(Arrays.asList(individuals));
+        sorted.sort((a, b) -> Double.compare(b.getFitness(), a.getFitness()));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i < 2 ? 1.0 : 0.25, sorted.get(i).getFidelity(), 0.0);
+        }
+        assertArrayEquals(
+                new double[]{1, 1, 0.25, 0.25, 0.25, 0.25, 0.25, 0.25},
+                sortedFidelity(algorithm.storage.info), 0.0
+        );
+    }
+
+    @Test
+    public void testRacing() throws Exception {
+        final AtomicInteger arrivals = new AtomicInteger();
+        final Fitness algorithm = new Fitness() {
+            @Override
+            public double getRacingQuantile() {
+                return 0.99;
+            }
+
+            @Override
+            public int getRacingMinSamples() {
+                return 1;
+            }
+
+            @Override
+            public int getFitnessCacheSize() {
+                return 100;
+            }
+
+            @Override
+            public double getSurrogateSelection() {
+                return 0.5;
+            }
+
+            @Override
+            public int getSurrogateMinSamples() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public double run(Input input, Output output, Evaluation evaluation) throws Throwable {
+                // Fitness parcial decrescente pela ordem de chegada, somente o primeiro não é abortado
+                evaluation.report(0.5, -arrivals.incrementAndGet());
+                return super.run(input, output, evaluation);
+            }
+        };
+
+        final Individual[] individuals = run(algorithm, 1).get(0).individuals;
+        Individual completed = null;
+        for (Individual individual : individuals) {
+            if (individual.isAborted()) {
+                // Mantém o fitness parcial como aptidão
+                assertTrue(individual.getFitness() <= -2);
+                assertEquals(individual.getFitness(), Math.rint(individual.getFitness()), 0.0);
+            } else {
+                assertEquals(null, completed);
+                completed = individual;
+            }
+        }
+        assertEquals(algorithm.fitness(completed.chromosome), completed.getFitness(), 0.0);
+        assertEquals(1, algorithm.executed.size());
+
+        // Somente o indivíduo completo é armazenado no cache e usado no treino do surrogate
+        assertArrayEquals(new double[]{completed.getFitness()}, algorithm.storage.cache.fitness, 0.0);
+        assertEquals(1, algorithm.getSurrogate().getSamples());
+    }
+
+    @Test
+    public void testSurrogate() throws Exception {
+        final Surrogate algorithm = new Surrogate(0.25, 0.5, 0);
+
+        final List<Population> generations = run(algorithm, 2);
+        assertEquals(8, algorithm.executed.size() - algorithm.executedOffspring());
+
+        // 16 mutantes + 2 aleatórios, todos novos: 5 selecionados, dos 13 descartados round(6.5) = 7 explorados
+        final Individual[] individuals = generations.get(1).individuals;
+        assertEquals(18, individuals.length);
+        int predicted = 0;
+        for (Individual individual : individuals) {
+            assertTrue(individual.hasFitness());
+            if (individual.isPredicted()) {
+                predicted++;
+                assertEquals(0.0, individual.getFidelity(), 0.0);
+            } else {
+                assertEquals(algorithm.fitness(individual.chromosome), individual.getFitness(), 0.0);
+            }
+        }
+
+        // Somente os selecionados e a cota de exploração são executados
+        assertEquals(6, predicted);
+        assertEquals(12, algorithm.executedOffspring());
+
+        // Os indivíduos estimados são identificados ao carregar a população persistida
+        final List<Individual> loaded = new ArrayList<>();
+        final Fitness reloaded = new Fitness() {
+            @Override
+            public List<Individual> getNewGeneration(List<Individual> actualPopulation) {
+                if (loaded.isEmpty()) {
+                    loaded.addAll(actualPopulation);
+                }
+                return super.getNewGeneration(actualPopulation);
+            }
+        };
+        reloaded.storage.info = algorithm.storage.info;
+        reloaded.load();
+        run(reloaded, 1);
+        predicted = 0;
+        for (Individual individual : loaded) {
+            if (individual.isPredicted()) {
+                predicted++;
+                assertEquals(0.0, individual.getFidelity(), 0.0);
+            }
+        }
+        assertEquals(6, predicted);
+    }
+
+    @Test
+    public void testSurrogateCache() throws Exception {
+        // Sem exploração, somente o melhor descendente estimado é executado
+        final Surrogate algorithm = new Surrogate(0.01, 0, 100);
+
+        final List<Population> generations = run(algorithm, 2);
+        final Individual[] previous = generations.get(0).individuals;
+        final Individual[] individuals = generations.get(1).individuals;
+
+        // Os cromossomos da geração anterior recebem a aptidão do cache, mesmo quando descartados pelo surrogate
+        int predicted = 0;
+        for (Individual individual : individuals) {
+            final int index = Arrays.asList(previous).indexOf(individual);
+            if (index >= 0) {
+                assertTrue(!individual.isPredicted());
+                assertEquals(previous[index].getFitness(), individual.getFitness(), 0.0);
+            } else if (individual.isPredicted()) {
+                predicted++;
+            }
+        }
+        // Somente os 10 novos (8 mutantes + 2 aleatórios) são executados ou estimados
+        assertTrue(predicted >= 9);
+        assertEquals(10, predicted + algorithm.executedOffspring());
+    }
+
+    /**
+     * A fidelidade persistida, ordenada pela aptidão
+     */
+    private static double[] sortedFidelity(Info info) {
+        final Integer[] order = new Integer[info.fitness.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(info.fitness[b], info.fitness[a]));
+        final double[] out = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            out[i] = info.fidelity[order[i]];
+        }
+        return out;
+    }
+
+    /**
+     * Executa o GA até finalizar a quantidade de gerações informada
+     *
+     * @param algorithm
+     * @param generations
+     * @return As populações notificadas ao final de cada geração
+     * @throws Exception
+     */
+    static List<Population> run(Algorithm algorithm, int generations) throws Exception {
+        final List<Population> populations = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(1);
+        algorithm.onGeneration(population -> {
+            if (populations.size() < generations) {
+                populations.add(population);
+                if (populations.size() == generations) {
+                    algorithm.stop(latch::countDown);
+                }
+            }
+        });
+        algorithm.start();
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        return new ArrayList<>(populations);
+    }
+
+    private static Set<Individual> identities(Individual[] individuals) {
+        final Set<Individual> out = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(out, individuals);
+        return out;
+    }
+
+    /**
+     * GA com surrogate habilitado após a primeira geração. A segunda geração possui um clone (sem aptidão) e um mutante
+     * de cada indivíduo da primeira, os clones são incluídos somente quando o cache está habilitado
+     */
+    static class Surrogate extends Fitness {
+
+        private final double selection;
+
+        private final double exploration;
+
+        private final int cache;
+
+        private volatile int created;
+
+        Surrogate(double selection, double exploration, int cache) {
+            this.selection = selection;
+            this.exploration = exploration;
+            this.cache = cache;
+        }
+
+        /**
+         * Quantidade de execuções da segunda geração
+         */
+        int executedOffspring() {
+            return executed.size() - created;
+        }
+
+        @Override
+        public double getSurrogateSelection() {
+            return selection;
+        }
+
+        @Override
+        public double getSurrogateExploration() {
+            return exploration;
+        }
+
+        @Override
+        public int getSurrogateMinSamples() {
+            return getPopulationSize();
+        }
+
+        @Override
+        public int getFitnessCacheSize() {
+            return cache;
+        }
+
+        @Override
+        public List<Individual> getNewGeneration(List<Individual> actualPopulation) {
+            created = executed.size();
+            final List<Individual> out = new ArrayList<>();
+            for (Individual individual : actualPopulation) {
+                if (cache > 0) {
+                    out.add(new Individual(individual.chromosome, getInputNames(), getOutputNames()));
+                }
+                out.add(new Individual(Mutation.mutate(individual.chromosome), getInputNames(), getOutputNames()));
+                if (cache == 0) {
+                    out.add(new Individual(Mutation.mutate(individual.chromosome), getInputNames(), getOutputNames()));
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Persistência em memória
+     */
+    static class MemoryStorage implements Storage {
+
+        volatile Info info;
+
+        volatile Info cache;
+
+        @Override
+        public Info load() throws Exception {
+            return info;
+        }
+
+        @Override
+        public void save(Info info) throws Exception {
+            this.info = info;
+        }
+
+        @Override
+        public Info loadFitnessCache() throws Exception {
+            return cache;
+        }
+
+        @Override
+        public void saveFitnessCache(Info info) throws Exception {
+            this.cache = info;
+        }
+    }
+
+    /**
+     * A aptidão é a saída da rede para uma entrada fixa
+     */
+    static class Fitness extends Algorithm {
+
+        final MemoryStorage storage = new MemoryStorage();
+
+        /**
+         * Aptidão de cada execução
+         */
+        final List<Double> executed = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String[] getInputNames() {
+            return new String[]{"a", "b"};
+        }
+
+        @Override
+        public String[] getOutputNames() {
+            return new String[]{"x"};
+        }
+
+        @Override
+        public Storage getStorage() {
+            return storage;
+        }
+
+        @Override
+        public int getPopulationSize() {
+            return 8;
+        }
+
+        @Override
+        public double run(Input input, Output output) throws Throwable {
+            final double fitness = fitness(input);
+            executed.add(fitness);
+            return fitness;
+        }
+
+        /**
+         * Aptidão do cromossomo, sem registrar a execução
+         */
+        double fitness(Chromosome chromosome) {
+            return fitness(new Individual(chromosome, getInputNames(), getOutputNames()).getNetwork().input());
+        }
+
+        private static double fitness(Input input) {
+            return input.set(new double[]{0.3, 0.6}).asArray()[0];
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.nidorx.jia.ga;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class ChromosomeTest {
+
+    /**
+     * Input 2, hidden 2 e output 1, compartilhado com o {@link GenomeIndexTest}
+     */
+    static double[] dna() {
+        return new DnaBuilder(DnaBuilder.length(2, 2) + DnaBuilder.length(1, 2))
+                .layer(2, 2)
+                .neuron(3, 0.1).weight(0.11).weight(0.12)
+                .neuron(4, 0.2).weight(0.21).weight(0.22)
+                .layer(1, 2)
+                .neuron(3, 0.3).weight(0.31).weight(0.32)
+                .build();
+    }
+
+    @Test
+    public void testChangeLayerSize() {
+        double[] grown = Chromosome.changeLayerSize(dna(), 0, 3);
+        assertArrayEquals(new int[]{3, 1}, Chromosome.countLayers(grown));
+        assertArrayEquals(new int[]{0, 14, grown.length}, Chromosome.offsets(grown));
+        // Neuronios e pesos existentes mantidos
+        assertEquals(0.22, grown[9], 0.0);
+        assertEquals(0.32, grown[19], 0.0);
+
+        double[] shrunk = Chromosome.changeLayerSize(dna(), 0, 1);
+        assertArrayEquals(new double[]{1, 2, 3, 0.1, 0.11, 0.12, 1, 1, 3, 0.3, 0.31}, shrunk, 0.0);
+    }
+
+    @Test
+    public void testAddRemoveLayer() {
+        double[] added = Chromosome.addLayer(dna(), 0, 4);
+        assertArrayEquals(new int[]{2, 4, 1}, Chromosome.countLayers(added));
+        assertEquals(4.0, added[Chromosome.offsets(added)[2] + Chromosome.IDX_L_PREV], 0.0);
+
+        double[] removed = Chromosome.removeLayer(added, 1);
+        assertArrayEquals(new int[]{2, 1}, Chromosome.countLayers(removed));
+        assertEquals(removed.length, dna().length);
+    }
+
+    @Test
+    public void testForEachNeuron() {
+        double[] dna = dna();
+        double[] updated = Chromosome.forEachNeuron(dna, neuron -> {
+            neuron.bias = neuron.layer * 10 + neuron.index;
+            return neuron.layer == 0;
+        }, 0, 1);
+
+        // O dna original não é alterado
+        assertArrayEquals(dna(), dna, 0.0);
+        assertEquals(0.1, updated[3], 0.0);
+        assertEquals(1.0, updated[7], 0.0);
+        assertEquals(10.0, updated[13], 0.0);
+    }
+
+    @Test
+    public void testMutate() {
+        Chromosome chromosome = Chromosome.random(4, 2);
+        for (int i = 0; i < 200; i++) {
+            chromosome = Mutation.mutate(chromosome);
+            double[] dna = chromosome.getDna();
+            int[] offsets = Chromosome.offsets(dna);
+            int[] sizes = Chromosome.countLayers(dna);
+
+            // Entrada e saída mantidas, cada camada recebe a saída da anterior
+            assertEquals(4.0, dna[Chromosome.IDX_L_PREV], 0.0);
+            assertEquals(2, sizes[sizes.length - 1]);
+            for (int j = 1; j < sizes.length; j++) {
+                assertEquals(sizes[j - 1], (int) dna[offsets[j] + Chromosome.IDX_L_PREV]);
+            }
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.github.nidorx.jia.ga;
 
-import com.github.nidorx.jia.ga.decoder.DecoderDnaList;
-import java.util.ArrayList;
-import java.util.List;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.function.BinaryOperator;
 import org.junit.Test;
 
 public class CrossoverTest {
 
-    private static final DecoderDnaList DECODER_DNA_LIST = DecoderDnaList.getInstance();
-
     public CrossoverTest() {
     }
 
@@ -18,7 +17,10 @@ public class CrossoverTest {
         Chromosome mom = generate(2d, 3, new int[]{1}, 2);
 
         Chromosome result = Crossover.singlePoint(dad, mom);
-        System.out.println(result);
+        assertValid(result, 3, 2);
+        assertArrayEquals(new int[]{1, 2}, Chromosome.countLayers(result.getDna()));
+
+        assertCrossover(Crossover::singlePoint);
     }
 
     @Test
@@ -27,10 +29,84 @@ public class CrossoverTest {
         Chromosome mom = generate(2d, 1, new int[]{1, 1, 1, 1, 1, 1, 1, 1}, 1);
 
         Chromosome result = Crossover.twoPoints(dad, mom);
-        System.out.println(result);
+        assertValid(result, 1, 1);
+
+        assertCrossover(Crossover::twoPoints);
+    }
+
+    @Test
+    public void testUniform() {
+        Chromosome dad = generate(1d, 2, new int[]{3}, 1);
+        Chromosome mom = generate(2d, 2, new int[]{3}, 1);
+
+        // Mesma estrutura, cada valor é de um dos pais
+        double[] dna = Crossover.uniform(dad, mom).getDna();
+        assertEquals(dad.getDna().length, dna.length);
+        for (double value : dna) {
+            assertTrue(value != 0);
+        }
+
+        assertCrossover(Crossover::uniform);
+    }
+
+    @Test
+    public void testMerge() {
+        Chromosome dad = generate(1d, 2, new int[]{2}, 1);
+        Chromosome mom = generate(2d, 2, new int[]{4, 3}, 1);
+
+        Chromosome result = Crossover.merge(dad, mom);
+        assertValid(result, 2, 1);
+        int[] sizes = Chromosome.countLayers(result.getDna());
+        assertEquals(3, sizes.length);
+        assertTrue(sizes[0] >= 2 && sizes[0] <= 4);
+        assertEquals(3, sizes[1]);
+
+        assertCrossover(Crossover::merge);
+    }
+
+    @Test
+    public void testArithmetic() {
+        Chromosome dad = generate(0.2, 2, new int[]{2}, 1);
+        Chromosome mom = generate(0.6, 2, new int[]{2}, 1);
+
+        double[] dna = Crossover.arithmetic(dad, mom).getDna();
+        double bias = dna[Chromosome.LAYER_FIELDS + Chromosome.IDX_N_BIAS];
+        assertTrue(bias >= 0.2 && bias <= 0.6);
+        // Todos os pesos e bias recebem o mesmo peso da combinação
+        for (int i : new int[]{4, 5, 7, 8, 9, 13, 14, 15}) {
+            assertEquals(bias, dna[i], 1e-12);
+        }
+
+        assertCrossover(Crossover::arithmetic);
+    }
+
+    /**
+     * Cruza cromossomos aleatórios com estruturas diferentes, validando o DNA gerado
+     */
+    private static void assertCrossover(BinaryOperator<Chromosome> crossover) {
+        for (int i = 0; i < 500; i++) {
+            Chromosome dad = Chromosome.random(4, 2);
+            Chromosome mom = Mutation.mutate(Mutation.mutate(Chromosome.random(4, 2)));
+            assertValid(crossover.apply(dad, mom), 4, 2);
+        }
+    }
+
+    /**
+     * Entrada e saída mantidas, cada camada recebe a saída da anterior
+     */
+    private static void assertValid(Chromosome chromosome, int inputs, int outputs) {
+        double[] dna = chromosome.getDna();
+        int[] offsets = Chromosome.offsets(dna);
+        int[] sizes = Chromosome.countLayers(dna);
+
+        assertEquals(inputs, (int) dna[Chromosome.IDX_L_PREV]);
+        assertEquals(outputs, sizes[sizes.length - 1]);
+        for (int j = 1; j < sizes.length; j++) {
+            assertTrue(sizes[j] > 0);
+            assertEquals(sizes[j - 1], (int) dna[offsets[j] + Chromosome.IDX_L_PREV]);
+        }
     }
 
-    // Gera um cromossomo com os valores informados
     /**
      * Gera um cromossomo que representa uma rede com os valores informados
      *
@@ -40,38 +116,29 @@ public class CrossoverTest {
      * @param outputs Numero de saídas da Rede Neural
      * @return
      */
-    private Chromosome generate(double value, int inputs, int[] hidden, int outputs) {
-        List<List<List<Double>>> data = new ArrayList<>();
-
+    private static Chromosome generate(double value, int inputs, int[] hidden, int outputs) {
         // Insere o output layer nos layers
         int[] layers = new int[hidden.length + 1];
         System.arraycopy(hidden, 0, layers, 0, hidden.length);
         layers[layers.length - 1] = outputs;
 
-        for (int li = 0, l = layers.length; li < l; li++) {
-            List<List<Double>> layer = new ArrayList<>();
-            for (int j = 0, k = layers[li]; j < k; j++) {
-                final List<Double> neuron = new ArrayList<>();
-
-                // <TYPE>
-                neuron.add(1d);
-                // <SLOPE>
-                neuron.add(value);
-                // <BIAS>
-                neuron.add(value);
+        int length = 0;
+        for (int li = 0; li < layers.length; li++) {
+            length += DnaBuilder.length(layers[li], li == 0 ? inputs : layers[li - 1]);
+        }
 
-                // WEIGHT
-                int prev = li == 0 ? inputs : layers[li - 1];
+        DnaBuilder builder = new DnaBuilder(length);
+        for (int li = 0; li < layers.length; li++) {
+            int prev = li == 0 ? inputs : layers[li - 1];
+            builder.layer(layers[li], prev);
+            for (int j = 0; j < layers[li]; j++) {
+                builder.neuron(1d, value);
                 for (int i = 0; i < prev; i++) {
-                    neuron.add(value);
+                    builder.weight(value);
                 }
-
-                layer.add(neuron);
             }
-            data.add(layer);
         }
-
-        return new Chromosome(DECODER_DNA_LIST.encode(data));
+        return new Chromosome(builder.build());
     }
 
 }
@@ -0,0 +1,75 @@
+package com.github.nidorx.jia.ga;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class EvaluationTest {
+
+    @Test
+    public void testRacing() {
+        Racing racing = new Racing(0.5, 4, 10);
+
+        // Sem amostras suficientes, nunca aborta
+        assertTrue(racing.accept(1, 1.0));
+        assertTrue(racing.accept(1, 2.0));
+        assertTrue(racing.accept(1, 3.0));
+
+        assertTrue(racing.accept(1, 4.0));
+        // [1, 1.5, 2, 3, 4] - quantil 0.5 = 2
+        assertFalse(racing.accept(1, 1.5));
+        assertTrue(racing.accept(1, 3.5));
+
+        // Faixas independentes
+        assertTrue(racing.accept(2, 0.0));
+    }
+
+    @Test
+    public void testReport() {
+        Racing racing = new Racing(0.5, 2, 10);
+        new Evaluation(racing).report(0.15, 10.0);
+        new Evaluation(racing).report(0.15, 20.0);
+
+        Evaluation evaluation = new Evaluation(racing);
+        // Mesma faixa, comparado somente uma vez
+        evaluation.report(0.05, 1.0);
+        evaluation.report(0.08, 1.0);
+        try {
+            evaluation.report(0.12, 5.0);
+            fail();
+        } catch (Evaluation.Aborted ex) {
+            assertEquals(0.12, evaluation.getProgress(), 0.0);
+            assertEquals(5.0, evaluation.getFitness(), 0.0);
+        }
+
+        // Sem racing, nunca aborta
+        Evaluation free = new Evaluation(null);
+        free.report(0.5, Double.NEGATIVE_INFINITY);
+        assertEquals(0.5, free.getProgress(), 0.0);
+    }
+
+    @Test
+    public void testFidelity() {
+        assertEquals(1.0, new Evaluation(null).getFidelity(), 0.0);
+        assertEquals(0.25, new Evaluation(null, 0.25).getFidelity(), 0.0);
+
+        // A fidelidade acompanha o primeiro fitness definido
+        Individual individual = new Individual(new Chromosome(new double[]{1, 2, 3}), new String[0], new String[0]);
+        individual.setFitness(10.0, 0.25);
+        individual.setFitness(20.0);
+        assertEquals(10.0, individual.getFitness(), 0.0);
+        assertEquals(0.25, individual.getFidelity(), 0.0);
+
+        Individual aborted = new Individual(new Chromosome(new double[]{1, 2, 3}), new String[0], new String[0]);
+        aborted.abort(5.0);
+        assertTrue(aborted.isAborted());
+        assertEquals(1.0, aborted.getFidelity(), 0.0);
+    }
+
+}
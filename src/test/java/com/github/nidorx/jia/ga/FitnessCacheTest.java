@@ -0,0 +1,86 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.ga.storage.Info;
+import com.github.nidorx.jia.mlp.Transfer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class FitnessCacheTest {
+
+    @Test
+    public void testGetPut() {
+        FitnessCache cache = new FitnessCache(10);
+        Chromosome chromosome = Chromosome.random(3, 2);
+
+        assertNull(cache.get(chromosome));
+        cache.put(chromosome, 0.75);
+
+        // Outra instância com o mesmo DNA
+        Chromosome copy = new Chromosome(chromosome.getDna());
+        assertEquals(chromosome.digest(), copy.digest());
+        assertEquals(0.75, cache.get(copy), 0.0);
+
+        double[] dna = chromosome.getDna();
+        dna[dna.length - 1] += 1e-12;
+        Chromosome other = new Chromosome(dna);
+        assertTrue(chromosome.digest() != other.digest());
+        assertNull(cache.get(other));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        FitnessCache cache = new FitnessCache(2);
+        Chromosome a = Chromosome.random(2, 1);
+        Chromosome b = Chromosome.random(2, 1);
+        Chromosome c = Chromosome.random(2, 1);
+
+        cache.put(a, 1.0);
+        cache.put(b, 2.0);
+        // Acesso ao "a" torna o "b" o item usado há mais tempo
+        cache.get(a);
+        cache.put(c, 3.0);
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, cache.get(a), 0.0);
+        assertNull(cache.get(b));
+        assertEquals(3.0, cache.get(c), 0.0);
+
+        // Persistência
+        FitnessCache loaded = new FitnessCache(2);
+        Info info = cache.toInfo(5);
+        assertEquals(5, info.generation);
+        loaded.load(info);
+        assertEquals(1.0, loaded.get(a), 0.0);
+        assertEquals(3.0, loaded.get(c), 0.0);
+    }
+
+    @Test
+    public void testTopology() throws Exception {
+        Topology topology = new Topology(new int[]{3, 4, 2}, Transfer.TANH);
+        Chromosome chromosome = topology.random();
+        Chromosome other = new Topology(new int[]{3, 4, 2}, Transfer.SIGMOID).random();
+
+        FitnessCache cache = new FitnessCache(10);
+        cache.put(chromosome, 0.75);
+        cache.put(other, 0.5);
+        Info info = cache.toInfo(1);
+
+        // Persistido com o DNA completo, a chave é recriada na topologia fixa
+        FitnessCache loaded = new FitnessCache(10);
+        loaded.load(info, topology);
+        assertEquals(1, loaded.size());
+        assertEquals(0.75, loaded.get(topology.chromosome(chromosome.params().clone())), 0.0);
+
+        // Sem a topologia, nenhum cromossomo de topologia fixa é encontrado
+        loaded = new FitnessCache(10);
+        loaded.load(info);
+        assertNull(loaded.get(chromosome));
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.github.nidorx.jia.ga;
+
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class FitnessSurrogateTest {
+
+    @Test
+    public void testFeatures() {
+        Chromosome chromosome = weights(Chromosome.random(3, 2), 0.25);
+        double[] features = FitnessSurrogate.features(chromosome, new double[FitnessSurrogate.FEATURES]);
+
+        // Todos os pesos iguais
+        assertEquals(0.25, features[3], 1e-12);
+        assertEquals(0.0, features[4], 1e-6);
+        for (double feature : features) {
+            assertTrue(feature >= 0 && feature <= 1);
+        }
+    }
+
+    @Test
+    public void testLearn() {
+        FitnessSurrogate surrogate = new FitnessSurrogate();
+        assertTrue(Double.isNaN(surrogate.predict(Chromosome.random(2, 1))));
+
+        Chromosome base = Chromosome.random(2, 1);
+        Chromosome low = weights(base, 0.1);
+        Chromosome high = weights(base, 0.9);
+        for (int i = 0; i < 500; i++) {
+            surrogate.learn(low, 1.0);
+            surrogate.learn(high, 10.0);
+        }
+
+        assertEquals(1000, surrogate.getSamples());
+        assertTrue(surrogate.predict(high) > surrogate.predict(low));
+    }
+
+    private static Chromosome weights(Chromosome chromosome, double weight) {
+        return new Chromosome(Chromosome.forEachNeuron(chromosome.getDna(), neuron -> {
+            Arrays.fill(neuron.weights, weight);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.nidorx.jia.ga;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class GenomeIndexTest {
+
+    @Test
+    public void testIndex() {
+        GenomeIndex index = new GenomeIndex(ChromosomeTest.dna());
+        assertEquals(2, index.layers());
+        assertEquals(3, index.neurons());
+        assertEquals(16, index.length());
+        assertEquals(1, index.size(1));
+        assertEquals(2, index.inputs(1));
+        assertEquals(10, index.layerOffset(1));
+        assertEquals(6, index.neuronOffset(0, 1));
+        assertEquals(12, index.neuronOffset(1, 0));
+        assertEquals(2, index.neuron(1, 0));
+    }
+
+    @Test
+    public void testCursor() {
+        double[] dna = ChromosomeTest.dna();
+        GenomeIndex.Cursor cursor = new GenomeIndex(dna).cursor(dna);
+
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(cursor.layer() == 0 ? 2 : 1, cursor.layerSize());
+            count++;
+        }
+        assertEquals(3, count);
+
+        cursor.moveTo(0, 1);
+        assertEquals(4.0, cursor.type(), 0.0);
+        assertEquals(0.22, cursor.weight(1), 0.0);
+
+        // Alterações diretamente no DNA
+        cursor.bias(0.5).weight(0, 0.9);
+        assertEquals(0.5, dna[7], 0.0);
+        assertEquals(0.9, dna[8], 0.0);
+
+        // Continua a partir da posição atual
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.layer());
+        assertEquals(0, cursor.index());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testChromosomeCursorReadOnly() {
+        Chromosome chromosome = new Chromosome(ChromosomeTest.dna());
+        GenomeIndex.Cursor cursor = chromosome.cursor().moveTo(1, 0);
+        assertEquals(0.31, cursor.weight(0), 0.0);
+        try {
+            cursor.bias(1);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            assertArrayEquals(ChromosomeTest.dna(), chromosome.getDna(), 0.0);
+        }
+    }
+
+    @Test
+    public void testNeuronOutOfBounds() {
+        try {
+            new GenomeIndex(ChromosomeTest.dna()).neuronOffset(1, 1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.nidorx.jia.ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Migração entre as ilhas, as gerações são notificadas diretamente aos listeners registrados pelo {@link Islands}
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class IslandsTest {
+
+    @Test
+    public void testRing() {
+        final Island[] islands = islands(3);
+        new Islands(islands, Islands.Migration.RING, 2, 2);
+
+        // Fora do intervalo, não migra
+        islands[0].generation(population(1, 0.1, 0.9, 0.5, 0.7));
+        assertMigrants(islands);
+
+        islands[0].generation(population(2, 0.1, 0.9, 0.5, 0.7));
+        assertMigrants(islands, 1, 0.9, 0.7);
+
+        // A última ilha envia para a primeira
+        islands[2].generation(population(2, 0.3, 0.2));
+        assertMigrants(islands, 0, 0.3, 0.2);
+
+        islands[1].generation(population(3, 0.8));
+        assertMigrants(islands);
+
+        islands[1].generation(population(4, 0.8));
+        assertMigrants(islands, 2, 0.8);
+    }
+
+    @Test
+    public void testFull() {
+        final Island[] islands = islands(3);
+        new Islands(islands, Islands.Migration.FULL, 3, 1);
+
+        islands[1].generation(population(2, 0.1, 0.9));
+        assertMigrants(islands);
+
+        final Population population = population(3, 0.1, 0.9);
+        islands[1].generation(population);
+        assertMigrants(islands, 0, 0.9);
+        assertMigrants(islands, 2, 0.9);
+        assertMigrants(islands);
+
+        // Os mesmos indivíduos são enviados para todas as ilhas
+        islands[1].generation(population);
+        assertSame(islands[0].received.get(0), islands[2].received.get(0));
+        assertSame(population.individuals[1], islands[0].received.get(0));
+    }
+
+    @Test
+    public void testIgnoreInvalid() {
+        final Island[] islands = islands(2);
+        new Islands(islands, Islands.Migration.RING, 1, 3);
+
+        // Sem aptidão ou com erro de execução
+        Individual pending = new Individual(Chromosome.random(2, 1), new String[]{"a", "b"}, new String[]{"x"});
+        Individual failed = new Individual(Chromosome.random(2, 1), new String[]{"a", "b"}, new String[]{"x"});
+        failed.setFitness(1.0);
+        failed.setError(new Exception());
+
+        Population population = population(1, 0.4);
+        islands[0].generation(new Population(1, new Individual[]{pending, failed, population.individuals[0]}));
+        assertMigrants(islands, 1, 0.4);
+
+        islands[0].generation(new Population(2, new Individual[]{pending, failed}));
+        assertMigrants(islands);
+    }
+
+    /**
+     * Valida a aptidão dos imigrantes recebidos pela ilha informada, removendo-os. Sem a ilha, valida que nenhuma ilha
+     * recebeu imigrantes
+     */
+    private static void assertMigrants(Island[] islands, Object... expected) {
+        if (expected.length == 0) {
+            for (Island island : islands) {
+                assertTrue(island.received.isEmpty());
+            }
+            return;
+        }
+        final Island island = islands[(int) expected[0]];
+        assertEquals(expected.length - 1, island.received.size());
+        for (int i = 1; i < expected.length; i++) {
+            assertEquals((double) expected[i], island.received.get(i - 1).getFitness(), 0.0);
+        }
+        island.received.clear();
+    }
+
+    private static Island[] islands(int count) {
+        final Island[] islands = new Island[count];
+        for (int i = 0; i < count; i++) {
+            islands[i] = new Island();
+        }
+        return islands;
+    }
+
+    private static Population population(int generation, double... fitness) {
+        final Individual[] individuals = new Individual[fitness.length];
+        for (int i = 0; i < fitness.length; i++) {
+            individuals[i] = new Individual(Chromosome.random(2, 1), new String[]{"a", "b"}, new String[]{"x"});
+            individuals[i].setFitness(fitness[i]);
+        }
+        return new Population(generation, individuals);
+    }
+
+    /**
+     * Ilha que não executa, registra os listeners de geração e os imigrantes recebidos
+     */
+    private static final class Island extends AlgorithmTest.Fitness {
+
+        private final List<Consumer<Population>> listeners = new ArrayList<>();
+
+        private final List<Individual> received = new ArrayList<>();
+
+        @Override
+        public void onGeneration(Consumer<Population> listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void immigrate(List<Individual> individuals) {
+            received.addAll(individuals);
+        }
+
+        void generation(Population population) {
+            for (Consumer<Population> listener : listeners) {
+                listener.accept(population);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.mlp.Transfer;
+import com.github.nidorx.jia.util.JiaUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class PopulationTest {
+
+    private static final String[] INPUTS = new String[]{"a", "b", "c"};
+
+    private static final String[] OUTPUTS = new String[]{"x", "y"};
+
+    @Test
+    public void testSeed() {
+        Population first = new Population(0, 50, null, INPUTS, OUTPUTS, 42L);
+        Population second = new Population(0, 50, null, INPUTS, OUTPUTS, 42L);
+
+        assertEquals(50, first.individuals.length);
+        assertArrayEquals(first.individuals, second.individuals);
+
+        // Sem duplicados
+        assertEquals(50, new HashSet<>(Arrays.asList(first.individuals)).size());
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        final AlgorithmTest.Fitness algorithm = new AlgorithmTest.Fitness() {
+            @Override
+            public Long getSeed() {
+                return 42L;
+            }
+        };
+        final Individual[] individuals = new Population(0, 20, null, INPUTS, OUTPUTS, 7L).individuals;
+        for (int i = 0; i < individuals.length; i++) {
+            individuals[i].setFitness(i);
+        }
+
+        // Mesmo resultado com qualquer quantidade de threads
+        final Population population = inPool(1, () -> new Population(0, 50, null, INPUTS, OUTPUTS, 42L));
+        final List<Individual> generation = inPool(1, () -> algorithm.getNewGeneration(Arrays.asList(individuals)));
+        for (int parallelism : new int[]{2, 4, 8}) {
+            assertArrayEquals(
+                    population.individuals,
+                    inPool(parallelism, () -> new Population(0, 50, null, INPUTS, OUTPUTS, 42L)).individuals
+            );
+            assertEquals(generation, inPool(parallelism, () -> algorithm.getNewGeneration(Arrays.asList(individuals))));
+        }
+
+        // O gerador aleatório da thread atual não é alterado
+        JiaUtils.seed(3);
+        algorithm.getNewGeneration(Arrays.asList(individuals));
+        new Population(0, 50, null, INPUTS, OUTPUTS, 42L);
+        assertEquals(new Random(3).nextLong(), JiaUtils.random().nextLong());
+    }
+
+    private static <T> T inPool(int parallelism, Callable<T> task) throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(task).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testInitial() {
+        Population seed = new Population(0, 10, null, INPUTS, OUTPUTS, 7L);
+        Population population = new Population(
+                1, 10, Arrays.asList(seed.individuals[0], seed.individuals[0]), INPUTS, OUTPUTS, 7L
+        );
+
+        // Mantém a posição dos indivíduos iniciais, o duplicado é substituído
+        assertEquals(10, population.individuals.length);
+        assertEquals(seed.individuals[0], population.individuals[0]);
+        assertEquals(10, new HashSet<>(Arrays.asList(population.individuals)).size());
+    }
+
+    @Test
+    public void testTopology() {
+        final Topology topology = new Topology(new int[]{3, 4, 2}, Transfer.TANH);
+        final double[] params = topology.random().params();
+
+        // O DNA completo inicial é convertido para a topologia fixa
+        Individual initial = new Individual(new Chromosome(topology.dna(params)), INPUTS, OUTPUTS);
+        Population population = new Population(
+                0, 10, Collections.singletonList(initial), INPUTS, OUTPUTS, 7L, topology
+        );
+        for (Individual individual : population.individuals) {
+            assertSame(topology, individual.chromosome.getTopology());
+        }
+        assertArrayEquals(params, population.individuals[0].chromosome.params(), 0.0);
+
+        // Mesmas dimensões, mas com outra função de transferência
+        initial = new Individual(
+                new Chromosome(new Topology(new int[]{3, 4, 2}, Transfer.SIGMOID).dna(params)), INPUTS, OUTPUTS
+        );
+        try {
+            new Population(0, 10, Collections.singletonList(initial), INPUTS, OUTPUTS, 7L, topology);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.nidorx.jia.ga;
+
+import com.github.nidorx.jia.ga.decoder.DecoderDnaModel;
+import com.github.nidorx.jia.ga.storage.Info;
+import com.github.nidorx.jia.mlp.Model;
+import com.github.nidorx.jia.mlp.Transfer;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class TopologyTest {
+
+    private static final Topology TOPOLOGY = new Topology(new int[]{3, 4, 2}, Transfer.TANH);
+
+    @Test
+    public void testEncode() {
+        // (3 * 4 + 4) + (4 * 2 + 2)
+        assertEquals(26, TOPOLOGY.length());
+
+        Chromosome chromosome = TOPOLOGY.random();
+        double[] dna = chromosome.getDna();
+        assertArrayEquals(new int[]{3, 4, 2}, chromosome.getLayersSizes());
+        assertEquals(TOPOLOGY, Topology.of(dna));
+        assertArrayEquals(chromosome.params(), TOPOLOGY.params(dna), 0.0);
+
+        // Os parâmetros estão no mesmo layout do Model
+        Model model = DecoderDnaModel.getInstance().decode(dna);
+        assertArrayEquals(model.getParams(), chromosome.params(), 0.0);
+        assertArrayEquals(model.getParams(), Model.freeze(Individual.layers(chromosome)).getParams(), 0.0);
+    }
+
+    @Test
+    public void testOperators() {
+        Chromosome dad = TOPOLOGY.random();
+        Chromosome mom = TOPOLOGY.random();
+        assertNotEquals(dad, mom);
+        assertEquals(dad, TOPOLOGY.chromosome(dad.params().clone()));
+
+        for (int i = 0; i < 100; i++) {
+            Chromosome[] children = {
+                Mutation.mutate(dad),
+                Crossover.singlePoint(dad, mom),
+                Crossover.twoPoints(dad, mom),
+                Crossover.uniform(dad, mom),
+                Crossover.merge(dad, mom),
+                Crossover.arithmetic(dad, mom)
+            };
+            for (Chromosome child : children) {
+                assertSame(TOPOLOGY, child.getTopology());
+                assertEquals(TOPOLOGY.length(), child.params().length);
+            }
+        }
+
+        // Cada parâmetro do filho é de um dos pais
+        double[] child = Crossover.twoPoints(dad, mom).params();
+        for (int i = 0; i < child.length; i++) {
+            assertTrue(child[i] == dad.params()[i] || child[i] == mom.params()[i]);
+        }
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        final Topology topology = new Topology(new int[]{2, 3, 1}, Transfer.TANH);
+        final AlgorithmTest.Fitness algorithm = new AlgorithmTest.Fitness() {
+            @Override
+            public Topology getTopology() {
+                return topology;
+            }
+        };
+
+        // Persistido com o DNA completo, convertido para a topologia fixa
+        final Chromosome chromosome = topology.random();
+        algorithm.storage.info = new Info(1, new double[][]{chromosome.getDna()}, new double[]{0.5});
+        algorithm.load();
+
+        // Mesmas dimensões, mas com outra função de transferência
+        final Topology other = new Topology(new int[]{2, 3, 1}, Transfer.SIGMOID);
+        algorithm.storage.info = new Info(1, new double[][]{other.random().getDna()}, new double[]{0.5});
+        try {
+            algorithm.load();
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.nidorx.jia.ga.decoder;
+
+import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.Mutation;
+import com.github.nidorx.jia.mlp.Layer;
+import com.github.nidorx.jia.mlp.Model;
+import static org.junit.Assert.assertArrayEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class DecoderDnaModelTest {
+
+    @Test
+    public void testDecode() {
+        for (int i = 0; i < 100; i++) {
+            Chromosome chromosome = Mutation.mutate(Chromosome.random(4, 2));
+            Layer[] layers = DecoderDnaLayers.getInstance().decode(chromosome.getDna());
+
+            // Mesmo resultado da decodificação em camadas
+            Model expected = Model.freeze(layers);
+            Model model = DecoderDnaModel.getInstance().decode(chromosome.getDna());
+            assertArrayEquals(expected.getLayersSizes(), model.getLayersSizes());
+            assertArrayEquals(expected.getParams(), model.getParams(), 0.0);
+
+            double[] row = {0.1, 0.2, 0.3, 0.4};
+            assertArrayEquals(
+                    expected.forward(expected.newContext(), row),
+                    model.forward(model.newContext(), row),
+                    0.0
+            );
+
+            // Codificação
+            double[] dna = DecoderDnaLayers.getInstance().encode(layers);
+            assertArrayEquals(dna, DecoderDnaModel.getInstance().encode(model), 0.0);
+            assertArrayEquals(dna, DecoderDnaLayers.getInstance().encode(DecoderDnaLayers.getInstance().decode(dna)), 0.0);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.nidorx.jia.ga.remote;
+
+import com.github.nidorx.jia.ga.Algorithm;
+import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.storage.Info;
+import com.github.nidorx.jia.ga.storage.Storage;
+import com.github.nidorx.jia.mlp.Input;
+import com.github.nidorx.jia.mlp.Output;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Execução distribuída, master e workers na mesma JVM usando loopback
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class RemoteTest {
+
+    @Test
+    public void testExecute() throws Exception {
+        try (RemoteMaster master = new RemoteMaster(0)) {
+            final List<RemoteWorker> workers = start(master, new Fitness(0), 2, 2);
+
+            final List<Chromosome> chromosomes = new ArrayList<>();
+            final List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Chromosome chromosome = Chromosome.random(2, 1);
+                chromosomes.add(chromosome);
+                futures.add(master.submit(1, chromosome.getDna()));
+            }
+
+            final Fitness local = new Fitness(0);
+            for (int i = 0; i < futures.size(); i++) {
+                double expected = local.execute(chromosomes.get(i)).getFitness();
+                assertEquals(expected, futures.get(i).get(10, TimeUnit.SECONDS), 0.0);
+            }
+
+            // Erro na execução remota
+            try {
+                master.submit(1, new double[]{1, 2, 3}).get(10, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause().getMessage().startsWith("Erro na execução remota"));
+            }
+
+            for (RemoteWorker worker : workers) {
+                worker.close();
+            }
+        }
+    }
+
+    @Test
+    public void testWorkerLost() throws Exception {
+        try (RemoteMaster master = new RemoteMaster(0)) {
+            // Worker lento, será finalizado com tarefas em execução
+            final List<RemoteWorker> slow = start(master, new Fitness(5000), 1, 2);
+
+            final List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(master.submit(1, Chromosome.random(2, 1).getDna()));
+            }
+            Thread.sleep(200);
+            slow.get(0).close();
+            await(master, 0);
+
+            final List<RemoteWorker> fast = start(master, new Fitness(0), 1, 2);
+            for (CompletableFuture<Double> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            fast.get(0).close();
+        }
+    }
+
+    @Test
+    public void testSlowWorker() throws Exception {
+        try (RemoteMaster master = new RemoteMaster(0)) {
+            // Execuções mais longas que o timeout, o worker continua ativo enquanto envia o heartbeat
+            master.setTimeout(300);
+            final Fitness fitness = new Fitness(1000);
+            final List<RemoteWorker> workers = start(master, fitness, 1, 2);
+
+            final List<CompletableFuture<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(master.submit(1, Chromosome.random(2, 1).getDna()));
+            }
+            for (CompletableFuture<Double> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            // Nenhuma tarefa reenviada
+            assertEquals(1, master.getWorkers());
+            assertEquals(4, fitness.executions.get());
+
+            // Sem tarefas, o heartbeat também mantém a conexão
+            Thread.sleep(600);
+            assertEquals(1, master.getWorkers());
+
+            workers.get(0).close();
+            await(master, 0);
+        }
+    }
+
+    @Test
+    public void testSilentClient() throws Exception {
+        try (RemoteMaster master = new RemoteMaster(0)) {
+            master.setTimeout(300);
+            try (Socket silent = new Socket("127.0.0.1", master.getPort())) {
+                // Conectado sem enviar o handshake, não impede a conexão do worker
+                final List<RemoteWorker> workers = start(master, new Fitness(0), 1, 1);
+                master.submit(1, Chromosome.random(2, 1).getDna()).get(10, TimeUnit.SECONDS);
+
+                // A conexão sem handshake é finalizada pelo master
+                silent.setSoTimeout(5000);
+                assertEquals(-1, silent.getInputStream().read());
+
+                workers.get(0).close();
+                await(master, 0);
+            }
+        }
+    }
+
+    /**
+     * Aguarda até que o master possua a quantidade de workers informada
+     */
+    private static void await(RemoteMaster master, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && master.getWorkers() != expected; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, master.getWorkers());
+    }
+
+    private static List<RemoteWorker> start(RemoteMaster master, Algorithm algorithm, int count, int slots) throws Exception {
+        final List<RemoteWorker> workers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RemoteWorker worker = new RemoteWorker(algorithm, "127.0.0.1", master.getPort(), slots);
+            Thread thread = new Thread(worker);
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(worker);
+        }
+        await(master, master.getWorkers() + count);
+        return workers;
+    }
+
+    private static final class Fitness extends Algorithm {
+
+        private final long delay;
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        Fitness(long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public String[] getInputNames() {
+            return new String[]{"a", "b"};
+        }
+
+        @Override
+        public String[] getOutputNames() {
+            return new String[]{"x"};
+        }
+
+        @Override
+        public Storage getStorage() {
+            return new Storage() {
+                @Override
+                public Info load() throws Exception {
+                    return null;
+                }
+
+                @Override
+                public void save(Info info) throws Exception {
+                }
+            };
+        }
+
+        @Override
+        public double run(Input input, Output output) throws Throwable {
+            executions.incrementAndGet();
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            return input.set(new double[]{0.3, 0.6}).asArray()[0];
+        }
+    }
+}
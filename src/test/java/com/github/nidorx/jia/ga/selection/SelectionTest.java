@@ -0,0 +1,85 @@
+package com.github.nidorx.jia.ga.selection;
+
+import com.github.nidorx.jia.ga.Chromosome;
+import com.github.nidorx.jia.ga.Individual;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class SelectionTest {
+
+    private static List<Individual> population(double... fitness) {
+        final List<Individual> population = new ArrayList<>();
+        for (double value : fitness) {
+            Individual individual = new Individual(Chromosome.random(1, 1), new String[]{"a"}, new String[]{"b"});
+            individual.setFitness(value);
+            population.add(individual);
+        }
+        return population;
+    }
+
+    private static int count(List<Individual> selected, Individual individual) {
+        int count = 0;
+        for (Individual current : selected) {
+            count += current == individual ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Test
+    public void testElite() {
+        List<Individual> population = population(3, 9, 1, 7, 5, 8, 2);
+        List<Individual> selected = new SelectionElite().select(3, population);
+
+        // Do melhor para o pior
+        assertEquals(3, selected.size());
+        assertEquals(9.0, selected.get(0).getFitness(), 0.0);
+        assertEquals(8.0, selected.get(1).getFitness(), 0.0);
+        assertEquals(7.0, selected.get(2).getFitness(), 0.0);
+    }
+
+    @Test
+    public void testStochasticUniversalSampling() {
+        List<Individual> population = population(1, 2, 1, 0);
+        List<Individual> selected = new SelectionStochasticUniversalSampling().select(4, population);
+
+        // Frequência exata, 25% 50% 25%
+        assertEquals(1, count(selected, population.get(0)));
+        assertEquals(2, count(selected, population.get(1)));
+        assertEquals(1, count(selected, population.get(2)));
+        assertEquals(0, count(selected, population.get(3)));
+    }
+
+    @Test
+    public void testRouletteAlias() {
+        List<Individual> population = population(1, 3, 0, 4);
+        List<Individual> selected = new SelectionRouletteAlias().select(4, population);
+        assertEquals(4, selected.size());
+
+        selected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            selected.addAll(new SelectionRouletteAlias().select(4, population));
+        }
+        assertEquals(0, count(selected, population.get(2)));
+        assertEquals(0.125, count(selected, population.get(0)) / 8000.0, 0.02);
+        assertEquals(0.375, count(selected, population.get(1)) / 8000.0, 0.02);
+        assertEquals(0.5, count(selected, population.get(3)) / 8000.0, 0.02);
+    }
+
+    @Test
+    public void testTournament() {
+        List<Individual> population = population(-5, -1, -3);
+        List<Individual> selected = new SelectionTournament(3).select(100, population);
+        assertEquals(100, selected.size());
+
+        // O pior indivíduo nunca vence um torneio de 3, exceto quando sorteado em todas as posições
+        assertTrue(count(selected, population.get(0)) < 20);
+        assertTrue(count(selected, population.get(1)) > 50);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.nidorx.jia.ga.storage;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class StorageFileTest {
+
+    @Test
+    public void testFidelity() throws Exception {
+        final Path dir = Files.createTempDirectory("jia-storage");
+        try {
+            final StorageFile storage = new StorageFile(dir.toString());
+            storage.save(new Info(
+                    3,
+                    new double[][]{{1, 2, 0.5}, {1, 1, 0.25}},
+                    new double[]{0.75, 0.5},
+                    new double[]{1.0, 0.25}
+            ));
+
+            Info loaded = storage.load();
+            assertEquals(3, loaded.generation);
+            assertArrayEquals(new double[]{0.75, 0.5}, loaded.fitness, 0.0);
+            assertArrayEquals(new double[]{1.0, 0.25}, loaded.fidelity, 0.0);
+            assertArrayEquals(new double[]{1, 1, 0.25}, loaded.population[1], 0.0);
+
+            // Diretório de uma versão anterior, sem o arquivo de fidelidade
+            Files.delete(dir.resolve("fidelity"));
+            assertArrayEquals(new double[]{1.0, 1.0}, storage.load().fidelity, 0.0);
+
+            // Quantidade diferente da população, ignorado
+            Files.write(dir.resolve("fidelity"), Arrays.asList("0.5"));
+            assertArrayEquals(new double[]{1.0, 1.0}, storage.load().fidelity, 0.0);
+        } finally {
+            for (File file : dir.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(dir);
+        }
+    }
+}
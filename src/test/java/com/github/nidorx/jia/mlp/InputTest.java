@@ -0,0 +1,123 @@
+package com.github.nidorx.jia.mlp;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class InputTest {
+
+    private static Network network() {
+        return Factory.build(new String[]{"a", "b", "c"}, new int[]{4}, new String[]{"x", "y"}, Transfer.SIGMOID, Transfer.TANH);
+    }
+
+    @Test
+    public void testPut() {
+        Network network = network();
+        Input input = network.input();
+        assertEquals(1, input.indexOf("b"));
+        assertEquals(-1, input.indexOf("z"));
+
+        double[] expected = input.set(new double[]{0.1, 0.2, 0.3}).asArray();
+        input.set(new double[]{0.9, 0.9, 0.9});
+
+        // Sem propagar, a saída não é alterada até o propagate()
+        input.put(0, 0.1).put(1, 0.2).put(2, 0.3);
+        assertTrue(!Arrays.equals(expected, network.output().asArray()));
+        assertArrayEquals(expected, input.propagate().asArray(), 0.0);
+
+        // Remapeado para o range 0-1
+        input.put(input.indexOf("c"), 5, 0, 10);
+        assertArrayEquals(new double[]{0.1, 0.2, 0.5}, input.get(), 0.0);
+    }
+
+    @Test
+    public void testGet() {
+        Input input = network().input();
+        input.set(new double[]{0.1, 0.5, 1.0});
+
+        double[] out = new double[3];
+        assertSame(out, input.get(out));
+        assertArrayEquals(new double[]{0.1, 0.5, 1.0}, out, 0.0);
+
+        assertSame(out, input.get(out, -1, 1));
+        assertArrayEquals(new double[]{-0.8, 0.0, 1.0}, out, 1e-12);
+        assertArrayEquals(out, input.get(-1, 1), 0.0);
+    }
+
+    @Test
+    public void testSize() {
+        Input input = network().input();
+        input.set(new double[]{0.1, 0.2, 0.3});
+
+        try {
+            input.set(new double[]{0.1, 0.2, 0.3, 0.4});
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            input.set(new double[]{0.1, 0.2}, 0, 1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            input.set(Arrays.asList(0.7, 0.8));
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            input.set(Arrays.asList(0.7, 0.8), 0, 1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+
+        // Os valores anteriores são mantidos
+        assertArrayEquals(new double[]{0.1, 0.2, 0.3}, input.get(), 0.0);
+    }
+
+    @Test
+    public void testNoAllocation() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+
+        Network network = network();
+        Input input = network.input();
+        Output output = network.output();
+        int a = input.indexOf("a");
+        int b = input.indexOf("b");
+        int c = input.indexOf("c");
+        int x = output.indexOf("x");
+        double[] row = new double[]{0.1, 0.2, 0.3};
+        double[] out = new double[2];
+
+        double sum = 0;
+        long before = 0;
+        for (int round = 0; round < 2; round++) {
+            // A primeira rodada aquece o JIT
+            before = bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 10000; i++) {
+                sum += input.put(a, i).put(b, 0.2).put(c, 0.3).propagate().get(x);
+                sum += input.set(row).asArray(out)[1];
+                sum += input.get(row)[0];
+            }
+        }
+        long allocated = bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        assertTrue(!Double.isNaN(sum));
+
+        // Uma alocação por iteração seria ao menos 10000 * 16 bytes
+        assertTrue(allocated < 10000);
+    }
+}
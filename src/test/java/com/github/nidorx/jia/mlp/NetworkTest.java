@@ -1,7 +1,10 @@
 package com.github.nidorx.jia.mlp;
 
 import com.github.nidorx.jia.util.JiaUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Assert;
 import static org.junit.Assert.assertEquals;
 import org.junit.Ignore;
@@ -37,6 +40,108 @@ public class NetworkTest {
         assertEquals(expected[1], output[1], 0.0);
     }
 
+    @Test
+    public void testCompile() throws Exception {
+        Network network = Factory.build(new int[]{3, 5, 4, 2}, Transfer.TANH);
+        CompiledNetwork compiled = network.compile();
+
+        assertEquals(3, compiled.getInputSize());
+        assertEquals(2, compiled.getOutputSize());
+
+        double[][] rows = new double[][]{
+            new double[]{0.1, 0.2, 0.3},
+            new double[]{0.9, -0.5, 0.0},
+            new double[]{1.0, 1.0, 1.0}
+        };
+        for (double[] row : rows) {
+            double[] expected = network.input().set(row).asArray();
+            double[] output = compiled.forward(row);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], output[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testPredict() throws Exception {
+        Network network = Factory.build(new String[]{"a", "b"}, new int[]{3, 4}, new String[]{"x", "y"}, Transfer.SIGMOID, Transfer.TANH);
+
+        // Maior que o bloco interno, para validar a execução parcial do último bloco
+        double[][] rows = new double[150][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new double[]{Math.random(), Math.random() * 2 - 1};
+        }
+
+        double[][] outputs = network.predict(rows, new double[rows.length][2]);
+
+        double[] flat = new double[rows.length * 3];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, flat, i * 3, 2);
+        }
+        double[] flatOut = new double[rows.length * 2];
+        network.compile().predict(flat, 0, 3, rows.length, flatOut, 0, 2);
+
+        for (int i = 0; i < rows.length; i++) {
+            double[] expected = network.input().set(rows[i]).asArray();
+            for (int j = 0; j < expected.length; j++) {
+                assertEquals(expected[j], outputs[i][j], 0.0);
+                assertEquals(expected[j], flatOut[i * 2 + j], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testModelFast() {
+        Network network = Factory.build(new int[]{4, 8, 3}, Transfer.TANH);
+        final Model model = network.freeze();
+        final Model fast = model.fast();
+        final Model.Context context = model.newContext();
+        final Model.Context fastContext = fast.newContext();
+        for (int i = 0; i < 100; i++) {
+            double[] row = new double[]{Math.random(), Math.random(), Math.random(), Math.random()};
+            Assert.assertArrayEquals(model.forward(context, row), fast.forward(fastContext, row), 1e-8);
+        }
+    }
+
+    @Test
+    public void testModelConcurrent() throws Exception {
+        Network network = Factory.build(new int[]{4, 8, 3}, Transfer.SIGMOID);
+        final Model model = network.freeze();
+
+        final double[][] rows = new double[64][];
+        final double[][] expecteds = new double[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new double[]{Math.random(), Math.random(), Math.random(), Math.random()};
+            expecteds[i] = network.input().set(rows[i]).asArray();
+        }
+
+        // O mesmo modelo executado por várias threads, cada uma com seu contexto
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                Model.Context context = model.newContext();
+                try {
+                    for (int n = 0; n < 500; n++) {
+                        for (int i = 0; i < rows.length; i++) {
+                            double[] output = model.forward(context, rows[i]);
+                            for (int j = 0; j < output.length; j++) {
+                                assertEquals(expecteds[i][j], output[j], 0.0);
+                            }
+                        }
+                    }
+                } catch (Throwable ex) {
+                    errors.add(ex);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(errors.isEmpty());
+    }
+
     @Test
     public void testBackPropagation() throws Exception {
         // Baseado nos dados de 3.2. Error Backpropagation
@@ -80,6 +185,180 @@ public class NetworkTest {
         });
     }
 
+    @Test
+    public void testTrainMiniBatch() throws Exception {
+        // Com lote de tamanho 1, o mini-batch deve produzir os mesmos pesos do stochastic gradient descent
+        Network sgd = fixed();
+        Network mini = fixed();
+        mini.setLearningMethod(Network.LEARNING_METHOD.MINI_BATCH_GRADIENT_DESCENT);
+        mini.setBatchSize(1);
+
+        final double[][] dataset = {{0.1, 0.2}, {0.3, 0.9}, {0.5, 0.5}};
+        final double[][] expecteds = {{0.3, 0.1}, {0.9, 0.2}, {0.7, 0.4}};
+
+        // Erro máximo alto, executa somente uma época
+        sgd.train(dataset, expecteds, Double.MAX_VALUE, 1);
+        mini.train(dataset, expecteds, Double.MAX_VALUE, 1);
+
+        double[] a = sgd.input().set(new double[]{0.2, 0.4}).asArray();
+        double[] b = mini.input().set(new double[]{0.2, 0.4}).asArray();
+        assertEquals(a[0], b[0], 1e-12);
+        assertEquals(a[1], b[1], 1e-12);
+
+        // O batch gradient descent deve reduzir o erro ao longo das épocas
+        Network batch = fixed();
+        batch.setLearningMethod(Network.LEARNING_METHOD.BATCH_GRADIENT_DESCENT);
+        batch.setLearningRate(0.5);
+        double before = error(batch, dataset, expecteds);
+        for (int i = 0; i < 50; i++) {
+            batch.train(dataset, expecteds, Double.MAX_VALUE, 1);
+        }
+        Assert.assertTrue(error(batch, dataset, expecteds) < before);
+    }
+
+    @Test
+    public void testTrainParallel() throws Exception {
+        final double[][] dataset = new double[40][];
+        final double[][] expecteds = new double[40][];
+        for (int i = 0; i < dataset.length; i++) {
+            dataset[i] = new double[]{i / 40.0, (40 - i) / 40.0};
+            expecteds[i] = new double[]{i / 80.0, 0.5};
+        }
+
+        Network serial = fixed();
+        serial.setLearningMethod(Network.LEARNING_METHOD.MINI_BATCH_GRADIENT_DESCENT);
+        serial.setBatchSize(16);
+
+        Network parallel = fixed();
+        parallel.setLearningMethod(Network.LEARNING_METHOD.MINI_BATCH_GRADIENT_DESCENT);
+        parallel.setBatchSize(16);
+        parallel.setParallelism(3);
+
+        Network again = fixed();
+        again.setLearningMethod(Network.LEARNING_METHOD.MINI_BATCH_GRADIENT_DESCENT);
+        again.setBatchSize(16);
+        again.setParallelism(3);
+
+        for (int i = 0; i < 5; i++) {
+            serial.train(dataset, expecteds, Double.MAX_VALUE, 1);
+            parallel.train(dataset, expecteds, Double.MAX_VALUE, 1);
+            again.train(dataset, expecteds, Double.MAX_VALUE, 1);
+        }
+
+        double[] a = serial.input().set(new double[]{0.2, 0.4}).asArray();
+        double[] b = parallel.input().set(new double[]{0.2, 0.4}).asArray();
+        double[] c = again.input().set(new double[]{0.2, 0.4}).asArray();
+        for (int j = 0; j < a.length; j++) {
+            assertEquals(a[j], b[j], 1e-12);
+            // Determinístico
+            assertEquals(b[j], c[j], 0.0);
+        }
+    }
+
+    @Test
+    public void testTrainOptimizer() throws Exception {
+        final double[][] dataset = {{0, 0}, {0, 1}, {1, 0}, {1, 1}};
+        final double[][] expecteds = {{0, 0}, {1, 1}, {1, 1}, {0, 0}};
+
+        // Sem momentum, deve produzir os mesmos pesos do gradient descent padrão
+        Network sgd = fixed();
+        Network momentum = fixed();
+        momentum.setOptimizer(new OptimizerMomentum(0));
+        train(sgd, dataset, expecteds, 20);
+        train(momentum, dataset, expecteds, 20);
+        Assert.assertArrayEquals(
+                sgd.input().set(new double[]{0.2, 0.4}).asArray(),
+                momentum.input().set(new double[]{0.2, 0.4}).asArray(),
+                1e-12
+        );
+
+        // Os otimizadores adaptativos devem reduzir o erro mais rápido que o gradient descent padrão
+        final double before = error(sgd, dataset, expecteds);
+        train(sgd, dataset, expecteds, 180);
+        final double sgdError = error(sgd, dataset, expecteds);
+        Assert.assertTrue(sgdError < before);
+        final Optimizer[] optimizers = {new OptimizerMomentum(), new OptimizerRMSProp(), new OptimizerAdam()};
+        for (Optimizer optimizer : optimizers) {
+            Network network = fixed();
+            network.setOptimizer(optimizer);
+            train(network, dataset, expecteds, 200);
+            Assert.assertTrue(error(network, dataset, expecteds) < sgdError);
+        }
+
+        Network batch = fixed();
+        batch.setLearningMethod(Network.LEARNING_METHOD.BATCH_GRADIENT_DESCENT);
+        batch.setOptimizer(new OptimizerAdam());
+        final double batchBefore = error(batch, dataset, expecteds);
+        train(batch, dataset, expecteds, 200);
+        Assert.assertTrue(error(batch, dataset, expecteds) < batchBefore);
+    }
+
+    /**
+     * Executa a quantidade de épocas informada, independente do erro obtido
+     */
+    private static void train(Network network, double[][] dataset, double[][] expecteds, int epochs) throws Exception {
+        // Erro máximo alto, cada chamada executa somente uma época
+        for (int i = 0; i < epochs; i++) {
+            network.train(dataset, expecteds, Double.MAX_VALUE, 1);
+        }
+    }
+
+    @Test
+    public void testTrainHogwild() throws Exception {
+        // XOR, repetido para que cada thread receba várias amostras por época
+        final double[][] dataset = new double[16][];
+        final double[][] expecteds = new double[16][];
+        for (int i = 0; i < dataset.length; i++) {
+            final int a = i & 1;
+            final int b = (i >> 1) & 1;
+            dataset[i] = new double[]{a, b};
+            expecteds[i] = new double[]{a ^ b};
+        }
+
+        Layer h = new Layer(new Neuron[]{
+            new Neuron(new double[]{0.13436424411240122, 0.8474337369372327}, 0.763774618976614, Transfer.SIGMOID),
+            new Neuron(new double[]{-0.2550690257394217, 0.4494910647887381}, -0.651592972722763, Transfer.SIGMOID),
+            new Neuron(new double[]{0.7887233511355132, -0.0938595867742349}, 0.02834747652200631, Transfer.SIGMOID)
+        });
+        Layer o = new Layer(new Neuron[]{
+            new Neuron(new double[]{0.8357651039198697, 0.43276706790505337, -0.762280082457942}, 0.0021060533511106927, Transfer.SIGMOID)
+        });
+        Network network = new Network(new Layer[]{h, o}, new String[]{"a", "b"}, new String[]{"x"});
+        network.setLearningRate(0.5);
+
+        // Lança exceção quando não converge
+        new TrainerHogwild(network, 2).train(dataset, expecteds, 0.05, 20000);
+
+        Assert.assertTrue(error(network, dataset, expecteds) < 0.1);
+        for (int i = 0; i < 4; i++) {
+            double[] output = network.input().set(dataset[i]).asArray();
+            assertEquals(expecteds[i][0], Math.round(output[0]), 0.0);
+        }
+    }
+
+    private static Network fixed() {
+        Layer h = new Layer(new Neuron[]{
+            new Neuron(new double[]{0.13436424411240122, 0.8474337369372327}, 0.763774618976614, Transfer.SIGMOID),
+            new Neuron(new double[]{0.2550690257394217, 0.4494910647887381}, 0.651592972722763, Transfer.SIGMOID)
+        });
+        Layer o = new Layer(new Neuron[]{
+            new Neuron(new double[]{0.2550690257394217, 0.763774618976614}, 0.49543508709194095, Transfer.SIGMOID),
+            new Neuron(new double[]{0.4494910647887381, 0.13436424411240122}, 0.651592972722763, Transfer.SIGMOID)
+        });
+        return new Network(new Layer[]{h, o}, new String[]{"a", "b"}, new String[]{"a", "b"});
+    }
+
+    private static double error(Network network, double[][] dataset, double[][] expecteds) {
+        double error = 0.0;
+        for (int i = 0; i < dataset.length; i++) {
+            double[] output = network.input().set(dataset[i]).asArray();
+            for (int j = 0; j < output.length; j++) {
+                error += Math.pow(expecteds[i][j] - output[j], 2);
+            }
+        }
+        return error;
+    }
+
     /**
      * Teste do treinamento da MLP
      *
@@ -0,0 +1,38 @@
+package com.github.nidorx.jia.mlp;
+
+import com.github.nidorx.jia.util.JiaUtils;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alex Rodin <contato@alexrodin.info>
+ */
+public class OutputTest {
+
+    @Test
+    public void testGet() {
+        Network network = Factory.build(new String[]{"a", "b"}, new int[]{3}, new String[]{"x", "y"}, Transfer.SIGMOID, Transfer.TANH);
+        Output output = network.input().set(new double[]{0.4, 0.6});
+
+        assertEquals(0, output.indexOf("x"));
+        assertEquals(1, output.indexOf("y"));
+        assertEquals(-1, output.indexOf("z"));
+
+        double[] expected = output.asArray();
+        assertEquals(expected[0], output.get(0), 0.0);
+        assertEquals(expected[1], output.get(output.indexOf("y")), 0.0);
+        assertEquals(expected[1], output.asMap().get("y"), 0.0);
+        assertEquals(JiaUtils.unremap(expected[1], -5, 5), output.get(1, -5, 5), 0.0);
+
+        double[] out = new double[2];
+        assertSame(out, output.asArray(out));
+        assertArrayEquals(expected, out, 0.0);
+
+        assertSame(out, output.asArray(out, -5, 5));
+        assertArrayEquals(output.asArray(-5, 5), out, 0.0);
+        assertEquals(JiaUtils.unremap(expected[0], -5, 5), out[0], 0.0);
+    }
+}
@@ -186,6 +186,36 @@ public class TransferTest {
         );
     }
 
+    @Test
+    public void testFast() {
+        final Transfer[] transfers = new Transfer[]{
+            Transfer.SIGMOID, Transfer.TANH, Transfer.ELU, Transfer.SOFTPLUS, Transfer.GAUSSIAN
+        };
+        for (Transfer transfer : transfers) {
+            final Transfer fast = transfer.fast();
+            assertEquals(transfer.name + "_FAST", fast.name);
+            for (double x = -50.0; x <= 50.0; x += 0.0007) {
+                final double output = transfer.activation(x);
+                final double approx = fast.activation(x);
+                assertEquals(output, approx, 1e-9);
+                assertEquals(transfer.derivative(output, x), fast.derivative(approx, x), 1e-9);
+            }
+        }
+
+        assertEquals(Transfer.RELU, Transfer.RELU.fast());
+        assertEquals(Transfer.SIGMOID.fast(), Transfer.SIGMOID.fast().fast());
+    }
+
+    @Test
+    public void testFastExp() {
+        for (double x = -700.0; x <= 700.0; x += 0.0123) {
+            final double expected = Math.exp(x);
+            assertEquals(expected, Transfer.fastExp(x), expected * 1e-9);
+        }
+        assertEquals(0.0, Transfer.fastExp(-800), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, Transfer.fastExp(800), 0.0);
+    }
+
     private void validate(final Transfer transfer, double[][] values) {
         for (double[] value : values) {
             double input = value[0];